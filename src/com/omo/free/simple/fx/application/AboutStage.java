@@ -1,6 +1,5 @@
 package com.omo.free.simple.fx.application;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.time.LocalDate;
@@ -11,12 +10,12 @@ import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.jar.Attributes;
-import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.omo.free.simple.fx.managers.UIPropertiesMgr;
 import com.omo.free.simple.fx.util.Constants;
+import com.omo.free.simple.fx.util.JarResourceIndex;
 
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -475,18 +474,10 @@ class AboutStage extends Stage {
          */
         private Attributes getManifestAttributes() throws IOException {
             myInnerLogger.entering(MY_INNER_CLASS_NAME, "getManifestAttributes");
-            JarFile jar = null;
             Attributes mainAttrs = null;
             // need to make sure we are running as a jar else this blows up!
             if(Constants.IS_JAR){
-                try{
-                    jar = new JarFile(new File(Constants.APP_FILE_LOCATION));
-                    mainAttrs = jar.getManifest().getMainAttributes();
-                }finally{
-                    if(jar != null){
-                        jar.close();
-                    }// end if
-                }// end try/catch/finally
+                mainAttrs = JarResourceIndex.forApplication().getMainAttributes();
             }else{
                 myInnerLogger.info("Application is running as an exploded project within an IDE more than likely. Info will be displayed in DEV mode.");
             }// end if/else
@@ -11,12 +11,21 @@ import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.omo.free.simple.fx.managers.LoggingMgr;
 import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.tools.FXAlertOption;
 import com.omo.free.simple.fx.util.Constants;
 import com.omo.free.simple.fx.util.FXUtil;
+import com.omo.free.simple.fx.util.FileReleaseWaiter;
 import com.omo.free.simple.fx.util.FileUtility;
+import com.omo.free.simple.fx.util.JarDelta;
+import com.omo.free.simple.fx.util.JarResourceIndex;
+import com.omo.free.simple.fx.util.ShareProbe;
 import com.omo.free.util.AppUtil;
 
+import javafx.application.Platform;
+import javafx.scene.control.Alert.AlertType;
+
 /**
  * This class handles the refactoring of an application based on whether or not the SFXApplication implements the {@link Refactorable}.
  *
@@ -42,44 +51,95 @@ public class ApplicationRefactor {
             SFXDialogLauncher.type = SFXDialogLauncher.DialogType.REFACTOR_MESSAGE;
             SFXDialogLauncher.type.showPopUp();
             if(SFXDialogLauncher.update){
-                // 2 commands are going to be needed.
-                FXUtil.closeSplashScreen();// close associated splash screen to this application if it exists
-                String arg = Constants.FRAMEWORK_FILE_LOCATION;//local file
-                String splashStatusFilePath = null;
-                Properties properties = PropertiesMgr.getInstance().getProperties();
-                try{
-                    splashStatusFilePath = setUpdatingSplashScreenAndRun();
-                }catch(Exception e){
-                    myLogger.log(Level.WARNING, "Exception thrown while trying to initialize spash screen used as part of the update process. Error is: " + e.getMessage(), e);
-                }// end try...catch
+                refactor(refactoredApp);
+            }// end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "versionCheck");
+    }//end method
 
-                String extResourceDirPath = null;
-                try{
-                    extResourceDirPath = new File(SFXApplication.getExternalResourcesDirectory()).getParentFile().getCanonicalPath();
-                }catch(IOException e){
-                    myLogger.log(Level.WARNING, "IOException thrown while trying to get external resources directory to delete during the refactoring process.  Path trying to get is: " + String.valueOf(SFXApplication.getExternalResourcesDirectory()) + " Error is: " + e.getMessage(), e);
-                    extResourceDirPath = "./blah";
-                }//end try...catch
+    /**
+     * This method will check to see if the renamed application exists within the shared directory without prompting the user.  Nothing
+     * within this method touches the scene graph so it may be called from a background thread.
+     *
+     * @param refactoredApp the refactorable application instance
+     * @return {@code true} if the application is ready to be refactored {@code false} otherwise
+     */
+    boolean isRefactorAvailable(Refactorable refactoredApp) {
+        myLogger.entering(MY_CLASS_NAME, "isRefactorAvailable", refactoredApp);
+        boolean available = validateValues(refactoredApp);
+        myLogger.exiting(MY_CLASS_NAME, "isRefactorAvailable", available);
+        return available;
+    }//end method
 
-                File sharedJarFile = new File(Constants.APPLICATION_SHARED_DIRECTORY + "/" + refactoredApp.futureJarName());
-                String javaCommand = "java -splash:no -jar " + sharedJarFile.getName() + " REFACTOR \"" + arg + "\" true " + properties.getProperty("debug.isOn") + " \"" + new File(arg).getParent() + "\" \"" + extResourceDirPath + "\"";
-                if(splashStatusFilePath != null){
-                    javaCommand = javaCommand + " \"" + splashStatusFilePath + "\"";
-                }// end if
+    /**
+     * This method will copy the renamed application into the temp.dir.holder directory, start the refactoring process from there and then
+     * exit the running application.  The user must have already agreed to the refactor before this method is called.
+     *
+     * @param refactoredApp the refactorable application instance
+     */
+    void refactor(Refactorable refactoredApp) {
+        myLogger.entering(MY_CLASS_NAME, "refactor", refactoredApp);
+        // 2 commands are going to be needed.
+        FXUtil.closeSplashScreen();// close associated splash screen to this application if it exists
+        String arg = Constants.FRAMEWORK_FILE_LOCATION;//local file
+        String splashStatusFilePath = null;
+        Properties properties = PropertiesMgr.getInstance().getProperties();
+        try{
+            splashStatusFilePath = setUpdatingSplashScreenAndRun();
+        }catch(Exception e){
+            myLogger.log(Level.WARNING, "Exception thrown while trying to initialize spash screen used as part of the update process. Error is: " + e.getMessage(), e);
+        }// end try...catch
 
-                myLogger.info("javaCommand=" + javaCommand);
-                FileUtility.checkDirectories(properties.getProperty("temp.dir.holder"));// create the temp directory
-                FileUtility.copyFileToDir(sharedJarFile, properties.getProperty("temp.dir.holder"));//copy new shared jar file here!!!
-                try{
-                    String canonicalPath = new File(properties.getProperty("temp.dir.holder")).getCanonicalPath();// removes the redundant . or .. from the path...
-                    Runtime.getRuntime().exec(javaCommand, null, new File(canonicalPath));
-                    System.exit(0);
-                }catch(IOException e){
-                    myLogger.log(Level.SEVERE, "IOException while trying to execute java sub process commands " + javaCommand + "Controller.run(). e= " + e.getMessage(), e);
-                }// end try...catch
-            }// end if
+        String extResourceDirPath = null;
+        try{
+            extResourceDirPath = new File(SFXApplication.getExternalResourcesDirectory()).getParentFile().getCanonicalPath();
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException thrown while trying to get external resources directory to migrate during the refactoring process.  Path trying to get is: " + String.valueOf(SFXApplication.getExternalResourcesDirectory()) + " Error is: " + e.getMessage(), e);
+            extResourceDirPath = "./blah";//not a directory so nothing is migrated
+        }//end try...catch
+
+        File sharedJarFile = new File(Constants.APPLICATION_SHARED_DIRECTORY + "/" + refactoredApp.futureJarName());
+        String javaCommand = "java -splash:no -jar " + sharedJarFile.getName() + " REFACTOR \"" + arg + "\" true " + properties.getProperty("debug.isOn") + " \"" + new File(arg).getParent() + "\" \"" + extResourceDirPath + "\"";
+        if(splashStatusFilePath != null){
+            javaCommand = javaCommand + " \"" + splashStatusFilePath + "\"";
+        }// end if
+
+        myLogger.info("javaCommand=" + javaCommand);
+        SplashStatus splashStatus = new SplashStatus(splashStatusFilePath);
+        FileUtility.checkDirectories(properties.getProperty("temp.dir.holder"));// create the temp directory
+        boolean copied = JarDelta.copyToDir(sharedJarFile, new File(Constants.FRAMEWORK_FILE_LOCATION), properties.getProperty("temp.dir.holder"), fraction -> splashStatus.progress((int) (fraction * 80), "Copying the renamed application"));//copy new shared jar file here!!!
+        if(!copied){
+            abandonRefactor(splashStatus, "The renamed application " + sharedJarFile.getName() + " could not be copied into " + properties.getProperty("temp.dir.holder") + " therefore the refactor was not applied.");
+            return;
         }//end if
-        myLogger.exiting(MY_CLASS_NAME, "versionCheck");
+        splashStatus.progress(85, "Starting the renamed application");
+        try{
+            String canonicalPath = new File(properties.getProperty("temp.dir.holder")).getCanonicalPath();// removes the redundant . or .. from the path...
+            JarResourceIndex.closeAll();//no handle of the running jar is left open while it is being replaced
+            Runtime.getRuntime().exec(javaCommand, null, new File(canonicalPath));
+            System.exit(0);
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException while trying to execute java sub process commands " + javaCommand + "Controller.run(). e= " + e.getMessage(), e);
+            abandonRefactor(splashStatus, "The renamed application could not be started therefore the refactor was not applied.");
+        }// end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "refactor");
+    }//end method
+
+    /**
+     * This method is called when the refactor can not go ahead.  The updating splash screen is closed and the user is told on the JavaFX
+     * Application Thread that the application keeps running under its current name.
+     *
+     * @param splashStatus the status of the updating splash screen
+     * @param reason the reason the refactor was not applied
+     */
+    private void abandonRefactor(SplashStatus splashStatus, String reason) {
+        LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
+        myLogger.severe(reason);
+        splashStatus.finish();
+        StringBuffer message = new StringBuffer("The renamed version of the application could not be copied from the shared directory.");
+        message.append(Constants.LINESEPERATOR).append(Constants.LINESEPERATOR);
+        message.append("You may keep using this version.  You will be asked again the next time the application starts.");
+        Platform.runLater(() -> FXAlertOption.showBoldAlert(null, message.toString(), "Refactor Error", "The Refactor Could Not Be Applied", AlertType.ERROR));
     }//end method
 
     /**
@@ -102,7 +162,7 @@ public class ApplicationRefactor {
 
         if(isValid){//shared jar file check
             File sharedJarFile = new File(Constants.APPLICATION_SHARED_DIRECTORY + "/" + refactoredApp.futureJarName());
-            isValid = sharedJarFile.exists();
+            isValid = ShareProbe.exists(sharedJarFile);//answers within the deadline even when the file server is unreachable
             Constants.FUTURE_JAR_NAME = refactoredApp.futureJarName();
         }//end if
 
@@ -170,27 +230,12 @@ public class ApplicationRefactor {
                 File oldApplicationJarFile = new File(args[1]);
                 String parent = oldApplicationJarFile.getParent();
                 if(oldApplicationJarFile.exists()){
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the old application jar " + oldApplicationJarFile.getAbsolutePath(), () -> !oldApplicationJarFile.exists() || oldApplicationJarFile.delete());
                     if("true".equals(args[3])){// debug log
                         bw.write(oldApplicationJarFile.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(oldApplicationJarFile.exists()){
-                                bw.write((i + 1) + " attempts to delete file. Successful: " + oldApplicationJarFile.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(oldApplicationJarFile.exists()){
-                                oldApplicationJarFile.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 String jarPath = ApplicationRefactor.class.getProtectionDomain().getCodeSource().getLocation().getPath().replaceAll("%20", " ");
@@ -204,24 +249,17 @@ public class ApplicationRefactor {
                     bw.flush();
                 }// end if
                 File jar = new File(jarPath);
-                FileUtility.copyFileToDir(jar, parent + "/");// copy file to location
-                String command = "java -Xms128m -Xmx1024m -jar " + jar.getName() + " REFACTOR \"" + jarPath + "\" false " + args[3] + " \"" + args[4] + "\" \"" + args[5] + "\"";
+                if(!FileUtility.copyFileToDir(jar, parent + "/")){// copy file to location
+                    if(args.length == 7){
+                        shutdownSplashScreen(args[6]);//the renamed application keeps running from the temp.dir.holder directory this time
+                    }//end if
+                    throw new IOException("The renamed application " + jar.getName() + " could not be copied to " + parent + " therefore it was not started from there.");
+                }//end if
+                String command = "java -Xms128m -Xmx1024m " + ClassDataSharing.getJvmOptions(new File(parent, jar.getName())) + "-jar " + jar.getName() + " REFACTOR \"" + jarPath + "\" false " + args[3] + " \"" + args[4] + "\" \"" + args[5] + "\"";
                 if(args.length == 7){
                     if(splashAttributeExists(jar)){
                         // shutdown the currently updating splash screen.
-                        shutdownSplashScreen(args[6]);
-                        File oldResources = new File(args[5]);
-                        for(int i = 0;i < 20000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(oldResources.exists()){
-                                FileUtility.deleteDirectory(oldResources);
-                                if("true".equals(args[3])){
-                                    bw.write((i + 1) + " attempts to oldResources dir. Successful: " + !oldResources.exists());
-                                    bw.newLine();
-                                }//end if
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
+                        shutdownSplashScreen(args[6]);//the old resources directory is migrated by the renamed application (refer to ResourceMigration)
                     }else{
                         // new jar does not contain a splash screen attribute so the updating splash will stay.
                         command = command + " \"" + args[6] + "\"";
@@ -240,6 +278,7 @@ public class ApplicationRefactor {
                     bw.close();// make sure to close to free up resources.
                 }// end if
                 try{
+                    JarResourceIndex.closeAll();//no handle of this jar is left open while the relaunched application deletes it
                     Runtime.getRuntime().exec(command, null, new File(parent));
                     System.exit(0);
                 }catch(Exception e){
@@ -256,71 +295,35 @@ public class ApplicationRefactor {
                 }// end if
                 File transferJar = new File(args[1]);// delete transfer jar then transfer location and commence application...
                 if(transferJar.exists()){
-                    if("true".equals(args[3])){
-                        bw.write("jar ");
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the transfer jar " + transferJar.getAbsolutePath(), () -> !transferJar.exists() || transferJar.delete());
+                    if("true".equals(args[3])){// debug log
                         bw.write(transferJar.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(transferJar.exists()){
-                                bw.write((i + 1) + " attempts to delete transfer jar file. Successful: " + transferJar.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(transferJar.exists()){
-                                transferJar.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 File parentDir = new File(transferJar.getParent());
                 if(parentDir.exists()){
-                    if("true".equals(args[3])){
-                        bw.write("directory ");
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the transfer directory " + parentDir.getAbsolutePath(), () -> !parentDir.exists() || parentDir.delete() || FileUtility.hasFilesInDirectory(parentDir));//a directory that still holds other files is not waiting on a release
+                    if("true".equals(args[3])){// debug log
                         bw.write(parentDir.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(parentDir.exists()){
-                                bw.write((i + 1) + " attempts to delete transfer directory. Successful: " + parentDir.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.write("**************************End Debug Log*****************************");
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(parentDir.exists()){
-                                parentDir.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 if(args.length == 7){
                     shutdownSplashScreen(args[6]);
-                    File oldResources = new File(args[5]);
-                    for(int i = 0;i < 20000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                        if(oldResources.exists()){
-                            FileUtility.deleteDirectory(oldResources);
-                            if("true".equals(args[3])){
-                                bw.write((i + 1) + " attempts to oldResources dir. Successful: " + !oldResources.exists());
-                                bw.newLine();
-                            }//end if
-                        }else{
-                            break;
-                        }// end if
-                    }// end for
+                }// end if
+                if(args.length > 5){
+                    ResourceMigration.setSource(new File(args[5]));//moved into the resources location of this application once it is known
+                    if("true".equals(args[3])){
+                        bw.write("Old application directory to migrate " + args[5]);
+                        bw.newLine();
+                        bw.flush();
+                    }//end if
                 }// end if
             }// end if
         }catch(IOException e){
@@ -394,24 +397,7 @@ public class ApplicationRefactor {
      * @param statusFilePath the path to the status file.
      */
     private void shutdownSplashScreen(String statusFilePath) {
-        File statusFile = new File(statusFilePath);
-        if(statusFile.exists()){
-            BufferedWriter bw = null;
-            try{
-                bw = new BufferedWriter(new FileWriter(statusFile));
-                bw.write("FINISHED");
-            }catch(IOException e){
-                System.err.println("IOException trying to write finished to the following file: " + statusFilePath + ". Error is:" + e.getMessage());
-            }finally{
-                if(bw != null){
-                    try{
-                        bw.close();
-                    }catch(IOException e){
-                        System.err.println("IOException trying to close writer. Error is:" + e.getMessage());
-                    }//end...try...catch
-                }//end if
-            }//end try...catch
-        }//end if
+        new SplashStatus(statusFilePath).finish();
 
         try{
             TimeUnit.SECONDS.sleep(3);
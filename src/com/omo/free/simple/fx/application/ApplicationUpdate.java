@@ -7,9 +7,13 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
@@ -18,14 +22,24 @@ import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.omo.free.simple.fx.managers.LoggingMgr;
 import com.omo.free.simple.fx.managers.PropertiesMgr;
 import com.omo.free.simple.fx.managers.UIPropertiesMgr;
+import com.omo.free.simple.fx.tools.FXAlertOption;
 import com.omo.free.simple.fx.util.Constants;
 import com.omo.free.simple.fx.util.FXUtil;
+import com.omo.free.simple.fx.util.FileReleaseWaiter;
 import com.omo.free.simple.fx.util.FileUtility;
+import com.omo.free.simple.fx.util.JarDelta;
+import com.omo.free.simple.fx.util.JarResourceIndex;
+import com.omo.free.simple.fx.util.ShareProbe;
+import com.omo.free.simple.fx.util.VersionCatalog;
 import com.omo.free.util.AppUtil;
 import com.omo.free.util.DateUtil;
 
+import javafx.application.Platform;
+import javafx.scene.control.Alert.AlertType;
+
 /**
  * This class handles updating your application.
  *
@@ -36,6 +50,7 @@ class ApplicationUpdate {
 
     private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.ApplicationUpdate";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final String APPLIER_DIRECTORY = "applier";
 
     /**
      * Default Constructor
@@ -50,6 +65,28 @@ class ApplicationUpdate {
      */
     protected void checkForNewerVersion(Class<?> clazz) {
         myLogger.entering(MY_CLASS_NAME, "versionCheck");
+        File sharedJarFile = findNewerVersion(clazz);
+        if(sharedJarFile != null){
+            myLogger.fine("ask user if he wants the newer version that was found.");
+            SFXDialogLauncher.type = SFXDialogLauncher.DialogType.UPDATE_MESSAGE;
+            //Application.launch(SFXDialogLauncher.class, "");doing this differently here
+            SFXDialogLauncher.type.showPopUp();
+            if(SFXDialogLauncher.update){
+                update(sharedJarFile);
+            }// end if
+        }// end if
+        myLogger.exiting(MY_CLASS_NAME, "versionCheck");
+    }// end versionCheck()
+
+    /**
+     * This method will look for a newer version of the running application within the shared directory without prompting the user.  Nothing
+     * within this method touches the scene graph so it may be called from a background thread.
+     *
+     * @param clazz application class
+     * @return the newer jar file within the shared directory or {@code null} if the running application is the newest version
+     */
+    File findNewerVersion(Class<?> clazz) {
+        myLogger.entering(MY_CLASS_NAME, "findNewerVersion", clazz);
         String jarName = clazz.getProtectionDomain().getCodeSource().getLocation().getPath().replaceAll("%20", " ");
         System.out.println("jarName:"+String.valueOf(jarName));
         Pattern p = Pattern.compile("^(.*)(v\\d+)(\\.\\d+)(\\.jar)$");
@@ -57,57 +94,213 @@ class ApplicationUpdate {
         String version = getVersionName();
         if(AppUtil.isNullOrEmpty(version)){
             myLogger.warning("Format of the version name within manifest is not incompliance with the simple ui framework jars update process, therefore the update process is being skipped.  Path to Jar Name is: " + String.valueOf(jarName) + ".");
-            return;
+            return null;
         }//end if
 
         if(m.find()){
             jarName = m.group(1) + m.group(2);
         }else{
             myLogger.warning("Format of the jar name is not incompliance with the simple ui framework jars update process, therefore the update process is being skipped.  Path to Jar Name is: " + String.valueOf(jarName) + ".");
-            return;
+            return null;
         }
 
         myLogger.fine("The name of the running jar is " + jarName);
-        myLogger.finest("get the shared directory and then getting the shared jar file that is associated with this application.");
         File sharedDir = new File(Constants.APPLICATION_SHARED_DIRECTORY);
-        File sharedJarFile = getSharedJarFile(sharedDir, jarName);//passing in ApplicationUIv
+        if(!ShareProbe.isDirectory(sharedDir)){
+            File failover = SharedLocations.failover(sharedDir);
+            if(failover != null){
+                sharedDir = failover;
+            }//end if
+        }//end if
+        if(UpdateCheckCache.isUpToDate(sharedDir, jarName, version)){
+            myLogger.fine("A recent update check found no newer version and nothing has been published since therefore the shared directory is not searched.");
+            myLogger.exiting(MY_CLASS_NAME, "findNewerVersion", null);
+            return null;
+        }//end if
 
-        myLogger.fine("checking for newer version of myself in the shared location");
-        if(sharedJarFile != null && newerVersionExists(sharedJarFile)){
-            myLogger.fine("ask user if he wants the newer version that was found.");
-            SFXDialogLauncher.type = SFXDialogLauncher.DialogType.UPDATE_MESSAGE;
-            //Application.launch(SFXDialogLauncher.class, "");doing this differently here
-            SFXDialogLauncher.type.showPopUp();
-            if(SFXDialogLauncher.update){
-                // 2 commands are going to be needed.
-                FXUtil.closeSplashScreen();//close associated splash screen to this application if it exists
-                String arg = Constants.FRAMEWORK_FILE_LOCATION;
-                String splashStatusFilePath = null;
-                Properties properties = PropertiesMgr.getInstance().getProperties();
-                try{
-                    splashStatusFilePath = setUpdatingSplashScreenAndRun();
-                }catch(Exception e){
-                    myLogger.log(Level.WARNING, "Exception thrown while trying to initialize spash screen used as part of the update process. Error is: " + e.getMessage(), e);
-                }//end try...catch
-                String javaCommand = "java -splash:no -jar " + sharedJarFile.getName() + " \"" + arg + "\" true " + properties.getProperty("debug.isOn") + " \"" + new File(arg).getParent() + "\"";
-                if(splashStatusFilePath != null){
-                    javaCommand = javaCommand + " \"" + splashStatusFilePath + "\"";
+        File sharedJarFile = null;
+        VersionCatalog catalog = VersionCatalog.find(sharedDir, jarName);
+        if(catalog != null){
+            myLogger.fine("checking for newer version of myself using the published version catalog " + catalog);
+            if(isNewerVersion(catalog.getVersion())){
+                sharedJarFile = new File(sharedDir, catalog.getJarName());
+                if(ShareProbe.length(sharedJarFile) != catalog.getSize()){
+                    myLogger.warning("The version catalog of " + jarName + " does not match the jar it names therefore the shared directory will be searched instead.  The jar is: " + sharedJarFile.getAbsolutePath());
+                    catalog = null;
+                }else if(!UpdateRollout.isOffered(sharedDir, jarName, catalog)){
+                    myLogger.exiting(MY_CLASS_NAME, "findNewerVersion", null);
+                    return null;//keep running the current version and check again later, this is not recorded as being up to date
                 }//end if
+            }else{
+                UpdateCheckCache.recordUpToDate(sharedDir, jarName, version, new File(sharedDir, catalog.getJarName()), catalog.getSize(), catalog.getBuilt());
+            }//end if
+        }//end if
 
-                myLogger.fine("javaCommand=" + javaCommand);
-                FileUtility.checkDirectories(properties.getProperty("temp.dir.holder"));// create the temp directory
-                FileUtility.copyFileToDir(sharedJarFile, properties.getProperty("temp.dir.holder"));
-                try{
-                    String canonicalPath = new File(properties.getProperty("temp.dir.holder")).getCanonicalPath();// removes the redundant . or .. from the path...
-                    Runtime.getRuntime().exec(javaCommand, null, new File(canonicalPath));
-                    System.exit(0);
-                }catch(IOException e){
-                    myLogger.log(Level.SEVERE, "IOException while trying to execute java sub process commands " + javaCommand + "Controller.run(). e= " + e.getMessage(), e);
-                }// end try...catch
+        if(catalog == null){
+            myLogger.finest("get the shared directory and then getting the shared jar file that is associated with this application.");
+            sharedJarFile = getSharedJarFile(sharedDir, jarName);//passing in ApplicationUIv
+
+            myLogger.fine("checking for newer version of myself in the shared location");
+            if(sharedJarFile != null && !newerVersionExists(sharedJarFile)){
+                UpdateCheckCache.recordUpToDate(sharedDir, jarName, version, sharedJarFile, sharedJarFile.length(), sharedJarFile.lastModified());
+                sharedJarFile = null;
             }// end if
-        }// end if
-        myLogger.exiting(MY_CLASS_NAME, "versionCheck");
-    }// end versionCheck()
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "findNewerVersion", sharedJarFile);
+        return sharedJarFile;
+    }// end method
+
+    /**
+     * This method will copy the newer version of the application into the temp.dir.holder directory, start the update applier and then exit
+     * the running application.  The applier puts the newer version in place and relaunches it (refer to {@code splash.AppUpdateApplier}).  A copy that was already staged by {@link UpdateStaging} is moved into place instead.  The user must have already agreed to the update before this method is called.
+     *
+     * <p>When the newer version could not be copied from the shared directory or its failover the application keeps running, the updating
+     * splash screen is closed and the user is told that the update could not be applied.</p>
+     *
+     * @param sharedJarFile the newer jar file within the shared directory
+     */
+    void update(File sharedJarFile) {
+        myLogger.entering(MY_CLASS_NAME, "update", sharedJarFile);
+        // 2 commands are going to be needed.
+        FXUtil.closeSplashScreen();//close associated splash screen to this application if it exists
+        String arg = Constants.FRAMEWORK_FILE_LOCATION;
+        String splashStatusFilePath = null;
+        Properties properties = PropertiesMgr.getInstance().getProperties();
+        try{
+            splashStatusFilePath = setUpdatingSplashScreenAndRun();
+        }catch(Exception e){
+            myLogger.log(Level.WARNING, "Exception thrown while trying to initialize spash screen used as part of the update process. Error is: " + e.getMessage(), e);
+        }//end try...catch
+        String javaCommand = "java -splash:no -jar " + sharedJarFile.getName() + " \"" + arg + "\" true " + properties.getProperty("debug.isOn") + " \"" + new File(arg).getParent() + "\"";
+        if(splashStatusFilePath != null){
+            javaCommand = javaCommand + " \"" + splashStatusFilePath + "\"";
+        }//end if
+
+        myLogger.fine("javaCommand=" + javaCommand);
+        SplashStatus splashStatus = new SplashStatus(splashStatusFilePath);
+        splashStatus.progress(0, "Copying the newer version");
+        FileUtility.checkDirectories(properties.getProperty("temp.dir.holder"));// create the temp directory
+        File copied = new File(properties.getProperty("temp.dir.holder"), sharedJarFile.getName());
+        boolean inPlace = UpdateStaging.moveStagedJar(sharedJarFile, properties.getProperty("temp.dir.holder"));
+        if(!inPlace){
+            copied.delete();//a copy left over from an update that did not finish must not be mistaken for this copy
+            File copyToken = UpdateRollout.acquire(sharedJarFile, true);//copies without a token once the wait is over because the user agreed to the update
+            try{
+                inPlace = JarDelta.copyToDir(sharedJarFile, new File(Constants.FRAMEWORK_FILE_LOCATION), properties.getProperty("temp.dir.holder"), fraction -> splashStatus.progress((int) (fraction * 80), "Copying the newer version"));//only the changed entries are transferred when an entry manifest was published
+            }finally{
+                UpdateRollout.release(copyToken);
+            }//end try...finally
+            if(!inPlace && !ShareProbe.isDirectory(sharedJarFile.getParentFile())){
+                File failover = SharedLocations.failover(sharedJarFile.getParentFile());
+                if(failover != null && new File(failover, sharedJarFile.getName()).isFile()){
+                    inPlace = JarDelta.copyToDir(new File(failover, sharedJarFile.getName()), new File(Constants.FRAMEWORK_FILE_LOCATION), properties.getProperty("temp.dir.holder"), fraction -> splashStatus.progress((int) (fraction * 80), "Copying the newer version"));
+                }//end if
+            }//end if
+        }//end if
+        if(!inPlace || !copied.isFile()){
+            abandonUpdate(splashStatus, "The newer version " + sharedJarFile.getName() + " could not be copied into " + copied.getParent() + " therefore the update was not applied.");
+            return;
+        }//end if
+        splashStatus.progress(85, "Applying the update");
+        try{
+            List<String> applierCommand = getApplierCommand(new File(properties.getProperty("temp.dir.holder"), sharedJarFile.getName()), splashStatusFilePath, properties.getProperty("debug.isOn"));
+            JarResourceIndex.closeAll();//no handle of the running jar is left open while it is being replaced
+            if(applierCommand != null){
+                myLogger.fine("applierCommand=" + applierCommand);
+                Runtime.getRuntime().exec(applierCommand.toArray(new String[applierCommand.size()]), null, new File(arg).getAbsoluteFile().getParentFile());
+            }else{
+                String canonicalPath = new File(properties.getProperty("temp.dir.holder")).getCanonicalPath();// removes the redundant . or .. from the path...
+                Runtime.getRuntime().exec(javaCommand, null, new File(canonicalPath));
+            }//end if
+            System.exit(0);
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException while trying to execute java sub process commands " + javaCommand + "Controller.run(). e= " + e.getMessage(), e);
+            abandonUpdate(splashStatus, "The update could not be started therefore the update was not applied.");
+        }// end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "update");
+    }// end method
+
+    /**
+     * This method is called when the update can not go ahead.  The updating splash screen is closed and the user is told on the JavaFX
+     * Application Thread that the application keeps running the current version.
+     *
+     * @param splashStatus the status of the updating splash screen
+     * @param reason the reason the update was not applied
+     */
+    private void abandonUpdate(SplashStatus splashStatus, String reason) {
+        LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
+        myLogger.severe(reason);
+        splashStatus.finish();
+        StringBuffer message = new StringBuffer("The newer version of the application could not be copied from the shared directory.");
+        message.append(Constants.LINESEPERATOR).append(Constants.LINESEPERATOR);
+        message.append("You may keep using this version.  You will be asked to update again the next time the application starts.");
+        Platform.runLater(() -> FXAlertOption.showBoldAlert(null, message.toString(), "Update Error", "The Update Could Not Be Applied", AlertType.ERROR));
+    }//end method
+
+    /**
+     * This method will extract the update applier ({@code splash.AppUpdateApplier}) into the resources directory and return the command that
+     * starts it.  The applier renames the newer jar into place once this application has exited and then relaunches the application a single
+     * time with the JVM options this application is running with.
+     *
+     * @param newerJarFile the copy of the newer jar within the temp.dir.holder directory
+     * @param splashStatusFilePath the path to the status file of the updating splash screen or {@code null}
+     * @param debug the debug.isOn property value
+     * @return the command or {@code null} if the applier can not be used in which case the newer jar applies the update itself
+     */
+    private List<String> getApplierCommand(File newerJarFile, String splashStatusFilePath, String debug) {
+        myLogger.entering(MY_CLASS_NAME, "getApplierCommand", new Object[]{newerJarFile, splashStatusFilePath, debug});
+        if(!Constants.IS_JAR || !newerJarFile.isFile()){
+            return null;
+        }//end if
+        File runningJarFile = new File(Constants.FRAMEWORK_FILE_LOCATION).getAbsoluteFile();
+        List<String> command = new ArrayList<String>();
+        try{
+            File applierDirectory = new File(SFXApplication.getExternalResourcesDirectory(), APPLIER_DIRECTORY);
+            FileUtility.checkDirectories(applierDirectory.getPath() + "/splash");
+            FileUtility.extractFileFromJar(applierDirectory.getPath() + "/splash", "AppUpdateApplier.class");
+            String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+            command.addAll(Arrays.asList(java, "-cp", applierDirectory.getCanonicalPath(), "splash.AppUpdateApplier"));
+            command.add(runningJarFile.getPath());
+            command.add(newerJarFile.getCanonicalPath());
+            command.add(splashStatusFilePath == null ? "-" : splashStatusFilePath);
+            command.add(String.valueOf(debug));
+            command.add(java);
+            command.addAll(getRelaunchJvmOptions(new File(runningJarFile.getParentFile(), newerJarFile.getName())));
+            command.add("--");//separates the JVM options from the application arguments
+            String[] applicationArgs = SFXApplication.getApplicationParameters();
+            if(applicationArgs != null){
+                command.addAll(Arrays.asList(applicationArgs));
+            }//end if
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not extract the update applier therefore the newer version will apply the update itself. Error message is: " + e.getMessage(), e);
+            command = null;
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "getApplierCommand", command);
+        return command;
+    }//end method
+
+    /**
+     * This method will return the JVM options of this application for relaunching the given jar.  The class data sharing options of this
+     * jar are replaced with the ones of the given jar and a debugger agent is not passed on.
+     *
+     * @param jar the jar that is relaunched
+     * @return the JVM options
+     */
+    private List<String> getRelaunchJvmOptions(File jar) {
+        List<String> options = new ArrayList<String>();
+        List<String> inputArguments = ManagementFactory.getRuntimeMXBean().getInputArguments();
+        for(int i = 0, j = inputArguments.size();i < j;i++){
+            String option = inputArguments.get(i);
+            if(!option.startsWith("-Xshare") && !option.startsWith("-XX:SharedArchiveFile") && !option.startsWith("-XX:SharedClassListFile") && !option.startsWith("-XX:DumpLoadedClassList") && !option.startsWith("-agentlib:jdwp") && !option.startsWith("-Xrunjdwp")){
+                options.add(option);
+            }//end if
+        }//end for
+        String classDataSharing = ClassDataSharing.getJvmOptions(jar).trim();
+        if(!classDataSharing.isEmpty()){
+            options.addAll(Arrays.asList(classDataSharing.split(" ")));
+        }//end if
+        return options;
+    }//end method
 
     /**
      * This method will initialize and start the updating splash screen.
@@ -150,10 +343,10 @@ class ApplicationUpdate {
     private File getSharedJarFile(File dir, String appPrefix) {
         myLogger.entering(MY_CLASS_NAME, "getSharedJarFile() method", new Object[]{dir, appPrefix});
         File jar = null;
-        if(dir.exists()){
+        File[] files = ShareProbe.listFiles(dir, new ApplicationJarFileNameFilter(appPrefix));//null when the directory does not exist or does not answer in time
+        if(files != null){
             try{
                 double sharedJarVerNo = 0.0;
-                File[] files = dir.listFiles(new ApplicationJarFileNameFilter(appPrefix));
                 if(files.length == 1){
                     jar = files[0];
                 }else if(files.length > 1){
@@ -178,10 +371,10 @@ class ApplicationUpdate {
                 myLogger.log(Level.SEVERE, "Exception occurred while trying to obtain the shared jar file. Format of the jar name is not incompliance with the simple ui framework jars update process. Prefix name is: " + String.valueOf(appPrefix) + ". Error Message is: " + e.getMessage(), e);
             }//end try...catch
         }else{
-            myLogger.warning("Shared directory does not exist!!! Either this directory really does not exist or if it does then you do not have permissions to access it.  The directory is: " + dir.getAbsolutePath());
+            myLogger.warning("Shared directory does not exist!!! Either this directory really does not exist, it did not answer in time or if it does then you do not have permissions to access it.  The directory is: " + dir.getAbsolutePath());
         }// end if
 
-        if (dir.exists() && jar == null){
+        if (files != null && jar == null){
             myLogger.warning("No .jar file existed within this shared directory. Update process will not procede.");
         }//end if
         myLogger.exiting(MY_CLASS_NAME, "getSharedJarFile()", jar);
@@ -200,24 +393,50 @@ class ApplicationUpdate {
         boolean isNewer = false;
 
         JarFile sharedJar = null;
-        JarFile runningJar = null;
 
         myLogger.finest("checking to see if version file exists as this is when the application update process was implemented as in the future this valus found within will be checked upon but for now we just need to make sure that this exists before proceeding");
 //        if(versionFileExists(jarFile)){
         try{
-            // create the jar file instance of the shared jar file to extract versioning information from manifest
+            // create the jar file instance of the shared jar file to extract versioning information from manifest, this jar is not indexed so that it is never held open
             myLogger.info("Checking jar version jar inside of the shared directory " + jarFile.getAbsolutePath());
             sharedJar = new JarFile(jarFile);
 
             myLogger.finest("getting the attributes from manifest found within the shared jar file for comparision with running app.");
             Attributes sharedAttr = sharedJar.getManifest().getMainAttributes();
-            String sharedVersion = sharedAttr.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+            isNewer = isNewerVersion(sharedAttr.getValue(Attributes.Name.IMPLEMENTATION_VERSION));
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException while trying to gather manifest data out of jar(s)." + " Cause is: " + e.getMessage(), e);
+        }finally{
+            try{
+                if(sharedJar != null){
+                    sharedJar.close();
+                }// end if
+            }catch(IOException e){
+                myLogger.log(Level.SEVERE, "IOException while trying to closing the jar/zip file streams." + " Cause is: " + e.getMessage(), e);
+            }// end try...catch
+        }// end try...catch
+//        }// end if
+        myLogger.exiting(MY_CLASS_NAME, "newerVersionExists()", isNewer);
+        return isNewer;
+    }// end newerVersionExists()
+
+    /**
+     * This method will check to see if this application is older than the version of the application that is found within the shared
+     * directory.
+     *
+     * @param sharedVersion
+     *        the Implementation-Version of the application within the shared directory
+     * @return boolean value (true|false) depending on whether or not the shared version is newer.
+     */
+    private boolean isNewerVersion(String sharedVersion) {
+        myLogger.entering(MY_CLASS_NAME, "isNewerVersion", sharedVersion);
+        boolean isNewer = false;
+        try{
+            String version = sharedVersion;
             String[] sharedSplit = sharedVersion.split(" ");
 
             myLogger.fine("Checking jar version of " + Constants.FRAMEWORK_FILE_LOCATION);
-            runningJar = new JarFile(Constants.FRAMEWORK_FILE_LOCATION);
-
-            Attributes runningAttr = runningJar.getManifest().getMainAttributes();
+            Attributes runningAttr = JarResourceIndex.forFramework().getMainAttributes();
             String runningVersion = runningAttr.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
             String[] runningSplit = runningVersion.split(" ");
             if(runningVersion.contains("-") && sharedVersion.contains("-")){
@@ -248,7 +467,6 @@ class ApplicationUpdate {
                             myLogger.info("Jar file within the shared directory is newer");
                             //set NEWER_VERSION NM and DATE FIELDS
                             SimpleDateFormat format = new SimpleDateFormat("MM/dd/yyyy HH:mm a");
-                            String version = sharedAttr.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
                             String[] versionSplit = version.split(" ");
                             Constants.NEWER_VERSION_LABEL = versionSplit[1] + "." + version.substring(1, version.lastIndexOf("-"));
 
@@ -266,24 +484,14 @@ class ApplicationUpdate {
                 }// end try...catch
             }//end if
         }catch(IOException e){
-            myLogger.log(Level.SEVERE, "IOException while trying to gather manifest data out of jar(s)." + " Cause is: " + e.getMessage(), e);
-        }finally{
-            try{
-                if(sharedJar != null){
-                    sharedJar.close();
-                }// end if
-                if(runningJar != null){
-                    runningJar.close();
-                }// end if
-            }catch(IOException e){
-                myLogger.log(Level.SEVERE, "IOException while trying to closing the jar/zip file streams." + " Cause is: " + e.getMessage(), e);
-            }// end try...catch
+            myLogger.log(Level.SEVERE, "IOException while trying to gather manifest data out of the running jar." + " Cause is: " + e.getMessage(), e);
+        }catch(RuntimeException e){
+            myLogger.log(Level.SEVERE, "Exception while trying to compare the shared version " + String.valueOf(sharedVersion) + " with the running version." + " Cause is: " + e.getMessage(), e);
         }// end try...catch
-//        }// end if
         myLogger.info("Is the shared jar newer than the currently running version: " + isNewer);
-        myLogger.exiting(MY_CLASS_NAME, "newerVersionExists()", isNewer);
+        myLogger.exiting(MY_CLASS_NAME, "isNewerVersion", isNewer);
         return isNewer;
-    }// end newerVersionExists()
+    }// end method
 
     /**
      * This method will return the formatted version name of this application.
@@ -298,10 +506,8 @@ class ApplicationUpdate {
         }// end if
 
         String versionName = "";
-        JarFile jar = null;
         try{
-            jar = new JarFile(Constants.FRAMEWORK_FILE_LOCATION);
-            Attributes sharedAttr = jar.getManifest().getMainAttributes();
+            Attributes sharedAttr = JarResourceIndex.forFramework().getMainAttributes();
             String version = sharedAttr.getValue(Attributes.Name.IMPLEMENTATION_VERSION);
             String[] versionSplit = version.split(" ");
             versionName = versionSplit[1] + "." + version.substring(1, version.lastIndexOf("-"));
@@ -310,14 +516,6 @@ class ApplicationUpdate {
             myLogger.log(Level.SEVERE, "IOException while trying to see get version from within manifest." + " Exception is: " + e.getMessage(), e);
         }catch(Exception e){
             myLogger.log(Level.SEVERE, "Exception while trying build the version name." + " Exception is: " + e.getMessage(), e);
-        }finally{
-            try{
-                if(jar != null){
-                    jar.close();
-                }// end if
-            }catch(IOException e){
-                myLogger.log(Level.SEVERE, "IOException while trying to close the jar file stream." + " Exception is: " + e.getMessage(), e);
-            }// end try...catch
         }// end try...cathc
         myLogger.exiting(MY_CLASS_NAME, "getVersionName() method", versionName);
         return versionName;
@@ -351,30 +549,18 @@ class ApplicationUpdate {
                 bw.flush();
             }// end if
             if("true".equals(args[1])){ // true if this is update process false if this is copy of transfer to main dir and delete
+                if(args.length == 5){
+                    new SplashStatus(args[4]).progress(90, "Replacing the older version");
+                }//end if
                 File oldApplicationJarFile = new File(args[0]);
                 String parent = oldApplicationJarFile.getParent();
                 if(oldApplicationJarFile.exists()){
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the old application jar " + oldApplicationJarFile.getAbsolutePath(), () -> !oldApplicationJarFile.exists() || oldApplicationJarFile.delete());
                     if("true".equals(args[2])){// debug log
                         bw.write(oldApplicationJarFile.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(oldApplicationJarFile.exists()){
-                                bw.write((i + 1) + " attempts to delete file. Successful: " + oldApplicationJarFile.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(oldApplicationJarFile.exists()){
-                                oldApplicationJarFile.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 String jarPath = ApplicationUpdate.class.getProtectionDomain().getCodeSource().getLocation().getPath().replaceAll("%20", " ");
@@ -388,8 +574,13 @@ class ApplicationUpdate {
                     bw.flush();
                 }// end if
                 File jar = new File(jarPath);
-                FileUtility.copyFileToDir(jar, parent + "/");// copy file to location
-                String command = "java -Xms128m -Xmx1024m -jar " + jar.getName() + " \"" + jarPath + "\" false " + args[2] + " \"" + args[3] + "\"";
+                if(!FileUtility.copyFileToDir(jar, parent + "/")){// copy file to location
+                    if(args.length == 5){
+                        shutdownSplashScreen(args[4]);//the newer version keeps running from the temp.dir.holder directory this time
+                    }//end if
+                    throw new IOException("The newer version " + jar.getName() + " could not be copied to " + parent + " therefore it was not started from there.");
+                }//end if
+                String command = "java -Xms128m -Xmx1024m " + ClassDataSharing.getJvmOptions(new File(parent, jar.getName())) + "-jar " + jar.getName() + " \"" + jarPath + "\" false " + args[2] + " \"" + args[3] + "\"";
                 if(args.length == 5){
                     if(splashAttributeExists(jar)){
                         //shutdown the currently updating splash screen.
@@ -412,6 +603,7 @@ class ApplicationUpdate {
                     bw.close();// make sure to close to free up resources.
                 }// end if
                 try{
+                    JarResourceIndex.closeAll();//no handle of this jar is left open while the relaunched application deletes it
                     Runtime.getRuntime().exec(command, null, new File(parent));
                     System.exit(0);
                 }catch(Exception e){
@@ -428,55 +620,23 @@ class ApplicationUpdate {
                 }// end if
                 File transferJar = new File(args[0]);// delete transfer jar then transfer location and commence application...
                 if(transferJar.exists()){
-                    if("true".equals(args[2])){
-                        bw.write("jar ");
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the transfer jar " + transferJar.getAbsolutePath(), () -> !transferJar.exists() || transferJar.delete());
+                    if("true".equals(args[2])){// debug log
                         bw.write(transferJar.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(transferJar.exists()){
-                                bw.write((i + 1) + " attempts to delete transfer jar file. Successful: " + transferJar.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(transferJar.exists()){
-                            	transferJar.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 File parentDir = new File(transferJar.getParent());
                 if(parentDir.exists()){
-                    if("true".equals(args[2])){
-                        bw.write("directory ");
+                    FileReleaseWaiter.Result deleted = FileReleaseWaiter.await("delete the transfer directory " + parentDir.getAbsolutePath(), () -> !parentDir.exists() || parentDir.delete() || FileUtility.hasFilesInDirectory(parentDir));//a directory that still holds other files is not waiting on a release
+                    if("true".equals(args[2])){// debug log
                         bw.write(parentDir.getAbsolutePath());
-                        bw.write(" exists.");
+                        bw.write(" exists. Delete " + deleted);
                         bw.newLine();
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times.
-                            if(parentDir.exists()){
-                                bw.write((i + 1) + " attempts to delete transfer directory. Successful: " + parentDir.delete());
-                                bw.newLine();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                         bw.write("**************************End Debug Log*****************************");
                         bw.flush();
-                    }else{
-                        for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can;t delete by then no need to try anymore.
-                            if(parentDir.exists()){
-                            	parentDir.delete();
-                            }else{
-                                break;
-                            }// end if
-                        }// end for
                     }// end if
                 }// end if
                 if(args.length == 5){
@@ -554,24 +714,7 @@ class ApplicationUpdate {
      * @param statusFilePath the path to the status file.
      */
     private void shutdownSplashScreen(String statusFilePath) {
-        File statusFile = new File(statusFilePath);
-        if(statusFile.exists()){
-            BufferedWriter bw = null;
-            try{
-                bw = new BufferedWriter(new FileWriter(statusFile));
-                bw.write("FINISHED");
-            }catch(IOException e){
-                System.err.println("IOException trying to write finished to the following file: " + statusFilePath + ". Error is:" + e.getMessage());
-            }finally{
-                if(bw != null){
-                    try{
-                        bw.close();
-                    }catch(IOException e){
-                        System.err.println("IOException trying to close writer. Error is:" + e.getMessage());
-                    }//end...try...catch
-                }//end if
-            }//end try...catch
-        }//end if
+        new SplashStatus(statusFilePath).finish();
     }//end method
 
 }
@@ -0,0 +1,187 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+/**
+ * The BackgroundUpdateCheck class runs the refactor and update checks of a SimpleFX application on a background thread once the primary
+ * stage has been shown.
+ *
+ * <p>Both checks read from the shared directory on the network which can take a long time when the network is slow or the share can not be
+ * reached.  The checks are therefore given a limited amount of time to complete which is configured by the optional
+ * <b>update.check.timeout.seconds</b> property within the application.properties file (30 seconds by default).  When the time runs out the
+ * checks are cancelled: the background thread may still be waiting on the shared directory but it neither stages the newer version nor asks
+ * the user once it is done, and the {@link UpdateWatcher} looks at the shared directory again on its first look.</p>
+ *
+ * <p>If a renamed or newer version of the application is found the user is asked whether to update with a non-modal notification that is
+ * owned by the primary stage.  If the user answers yes the update is started on its own thread so that the copy of the newer jar does not
+ * freeze the window.  When staging is turned on (refer to {@link UpdateStaging}) the newer jar is copied before the user is asked so that
+ * the update can be applied right away.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see ApplicationRefactor
+ * @see ApplicationUpdate
+ */
+final class BackgroundUpdateCheck {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.BackgroundUpdateCheck";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String TIMEOUT_PROPERTY = "update.check.timeout.seconds";
+    private static final long DEFAULT_TIMEOUT_SECONDS = 30;
+    /** Returned by {@link #findPrompt(Stage, Refactorable)} when the newer version is being staged and its prompt is shown afterwards. */
+    static final Runnable PENDING = () -> {};
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private BackgroundUpdateCheck() {}//end constructor
+
+    /**
+     * This method will start the refactor and update checks on a background thread and return immediately.
+     *
+     * @param owner the primary stage which owns the update notification
+     * @param refactorable the refactorable application instance or {@code null} if the application does not implement {@link Refactorable}
+     * @param whenDone action run once the checks have completed, failed or timed out, it is not run on the JavaFX Application Thread
+     */
+    static void start(Stage owner, Refactorable refactorable, Runnable whenDone) {
+        myLogger.entering(MY_CLASS_NAME, "start", new Object[]{owner, refactorable});
+        CompletableFuture<Runnable> check = new CompletableFuture<Runnable>();
+        BooleanSupplier cancelled = () -> check.isCompletedExceptionally();//only the timeout completes the check before the checker does
+        long timeoutSeconds = getTimeoutSeconds();
+
+        Thread checker = new Thread(() -> {
+            try{
+                check.complete(findPrompt(owner, refactorable, cancelled));
+            }catch(Exception e){
+                check.completeExceptionally(e);
+            }//end try...catch
+        }, "SFXUpdateCheck");
+        checker.setDaemon(true);
+        checker.start();
+
+        Timer timer = new Timer("SFXUpdateCheckTimeout", true);
+        timer.schedule(new TimerTask(){
+            @Override public void run() {
+                check.completeExceptionally(new TimeoutException("Update check did not complete within " + timeoutSeconds + " seconds."));
+            }//end method
+        }, TimeUnit.SECONDS.toMillis(timeoutSeconds));
+
+        check.whenComplete((prompt, error) -> {
+            timer.cancel();
+            if(error instanceof TimeoutException){
+                myLogger.warning(error.getMessage() + " The shared directory may be slow or unreachable therefore the application will not be updated at this time.");
+                UpdateWatcher.lookAgain();
+            }else if(error != null){
+                myLogger.log(Level.SEVERE, "Exception occurred while checking for a newer version of the application. Error message is: " + error.getMessage(), error);
+            }else if(prompt != null && prompt != PENDING){
+                Platform.runLater(prompt);
+            }//end if
+            whenDone.run();
+        });
+        myLogger.exiting(MY_CLASS_NAME, "start");
+    }//end method
+
+    /**
+     * This method is run by the {@link UpdateWatcher} when the shared directory changes while the application is open.
+     *
+     * @param owner the primary stage which owns the update notification
+     * @param refactorable the refactorable application instance or {@code null}
+     * @return the prompt to show on the JavaFX Application Thread, {@link #PENDING} if a newer version was found and its prompt is shown once it
+     *         has been staged, or {@code null} if the application is up to date or the newer version is not offered yet
+     */
+    static Runnable findPrompt(Stage owner, Refactorable refactorable) {
+        return findPrompt(owner, refactorable, () -> false);
+    }//end method
+
+    /**
+     * This method runs on a background thread and performs the refactor check followed by the update check.  Only one check runs at a time, a
+     * look of the {@link UpdateWatcher} waits for a check that timed out to finish first.
+     *
+     * @param owner the primary stage which owns the update notification
+     * @param refactorable the refactorable application instance or {@code null}
+     * @param cancelled answers {@code true} once the check has timed out, after which nothing is staged and the user is not asked
+     * @return the prompt to show on the JavaFX Application Thread, {@link #PENDING} if a newer version was found and its prompt is shown once it
+     *         has been staged, or {@code null} if the application is up to date, the newer version is not offered yet or the check was cancelled
+     */
+    private static synchronized Runnable findPrompt(Stage owner, Refactorable refactorable, BooleanSupplier cancelled) {
+        myLogger.entering(MY_CLASS_NAME, "findPrompt", new Object[]{owner, refactorable});
+        Runnable prompt = null;
+        if(refactorable != null){
+            myLogger.fine("checking to see if this application has been refactored.");
+            ApplicationRefactor applicationRefactor = new ApplicationRefactor();
+            StartupProfiler.Timing timing = StartupProfiler.begin("refactor.check");
+            boolean refactorAvailable = applicationRefactor.isRefactorAvailable(refactorable);
+            timing.end();
+            if(refactorAvailable && cancelled.getAsBoolean()){
+                myLogger.info("The renamed application was found after the update check timed out therefore it is not offered now.");
+                return null;
+            }else if(refactorAvailable){
+                prompt = () -> SFXDialogLauncher.DialogType.REFACTOR_MESSAGE.showNotification(owner, () -> applyInBackground(() -> applicationRefactor.refactor(refactorable)));
+            }//end if
+        }//end if
+
+        if(prompt == null){
+            myLogger.fine("checking to see if this application needs to be updated.");
+            ApplicationUpdate applicationUpdate = new ApplicationUpdate();
+            StartupProfiler.Timing timing = StartupProfiler.begin("update.check");
+            File sharedJarFile = applicationUpdate.findNewerVersion(SFXApplicationLauncher.class);
+            timing.end();
+            if(sharedJarFile != null){
+                Runnable updatePrompt = () -> SFXDialogLauncher.DialogType.UPDATE_MESSAGE.showNotification(owner, () -> applyInBackground(() -> applicationUpdate.update(sharedJarFile)));
+                if(cancelled.getAsBoolean()){
+                    myLogger.info("The newer version " + sharedJarFile.getName() + " was found after the update check timed out therefore it is not staged or offered now.");
+                }else if(UpdateStaging.isEnabled()){
+                    myLogger.fine("staging the newer version before the user is asked to update.");
+                    UpdateStaging.stage(sharedJarFile, () -> {
+                        if(cancelled.getAsBoolean()){
+                            UpdateWatcher.lookAgain();//the prompt of a check that timed out is left to the watcher
+                        }else{
+                            Platform.runLater(updatePrompt);
+                        }//end if
+                    });
+                    prompt = PENDING;
+                }else{
+                    prompt = updatePrompt;
+                }//end if
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "findPrompt", prompt);
+        return prompt;
+    }//end method
+
+    /**
+     * This method will run the update that the user agreed to on its own thread.  The update exits the application once the new process
+     * has been started.
+     *
+     * @param update the update to run
+     */
+    private static void applyInBackground(Runnable update) {
+        Thread updater = new Thread(update, "SFXUpdateApply");
+        updater.start();
+    }//end method
+
+    /**
+     * @return the number of seconds the checks are given to complete
+     */
+    private static long getTimeoutSeconds() {
+        long timeoutSeconds = PropertiesMgr.getInstance().getSnapshot().getDuration(TIMEOUT_PROPERTY, TimeUnit.SECONDS, Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS)).getSeconds();
+        if(timeoutSeconds <= 0){
+            timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+        }//end if
+        return timeoutSeconds;
+    }//end method
+
+}//end class
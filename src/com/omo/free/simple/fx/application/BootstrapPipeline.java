@@ -0,0 +1,177 @@
+package com.omo.free.simple.fx.application;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.exception.SimpleFxException;
+
+/**
+ * The BootstrapPipeline class runs the start up phases of the SimpleFX Framework as a small dependency graph.
+ *
+ * <p>Each phase is registered with the names of the phases that must complete before it is allowed to run.  Phases that
+ * do not depend on each other are executed concurrently on a small pool of daemon threads, while a phase that depends on
+ * another phase will not start until all of its dependencies have finished.  If a phase fails then every phase that depends
+ * on it is skipped and the failure is reported by the {@link #run()} method.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     BootstrapPipeline pipeline = new BootstrapPipeline();
+ *     pipeline.addPhase("logging", () -&gt; initializeLogging());
+ *     pipeline.addPhase("application.properties", () -&gt; initializeApplicationProperties(), "logging");
+ *     pipeline.addPhase("simplefx.gui.properties", () -&gt; initializeSimpleFXGUIProperties(), "logging");
+ *     pipeline.run();
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ * @see SFXApplication
+ */
+final class BootstrapPipeline {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.BootstrapPipeline";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final int MAX_THREADS = 3;
+
+    private Map<String, Phase> phases = new LinkedHashMap<String, Phase>();
+
+    /**
+     * Creates an empty BootstrapPipeline.
+     */
+    BootstrapPipeline() {}//end constructor
+
+    /**
+     * This method will register a phase with the pipeline.  Dependencies must be registered before the phases that depend on them.
+     *
+     * @param name the unique name of the phase
+     * @param task the work performed by the phase
+     * @param dependsOn the names of the phases that must complete before this phase runs
+     * @return this pipeline for chaining calls
+     */
+    BootstrapPipeline addPhase(String name, Runnable task, String... dependsOn) {
+        myLogger.entering(MY_CLASS_NAME, "addPhase", new Object[]{name, dependsOn});
+        if(phases.containsKey(name)){
+            throw new IllegalArgumentException("A bootstrap phase named " + String.valueOf(name) + " has already been registered.");
+        }//end if
+        for(int i = 0, j = dependsOn.length;i < j;i++){
+            if(!phases.containsKey(dependsOn[i])){
+                throw new IllegalArgumentException("The bootstrap phase " + String.valueOf(name) + " depends on " + String.valueOf(dependsOn[i]) + " which has not been registered.");
+            }//end if
+        }//end for
+        phases.put(name, new Phase(name, task, dependsOn));
+        myLogger.exiting(MY_CLASS_NAME, "addPhase");
+        return this;
+    }//end method
+
+    /**
+     * This method will run all of the registered phases and will block until every phase has either completed or been skipped.
+     *
+     * @throws SimpleFxException if one of the phases failed; the cause is the exception thrown by the phase
+     */
+    void run() throws SimpleFxException {
+        myLogger.entering(MY_CLASS_NAME, "run");
+        long start = System.currentTimeMillis();
+        StartupProgress.expect(phases.keySet());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(MAX_THREADS, phases.size())), new BootstrapThreadFactory());
+        try{
+            Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<String, CompletableFuture<Void>>();
+            for(Phase phase : phases.values()){
+                futures.put(phase.name, schedule(phase, futures, executor));
+            }//end for
+
+            Throwable failure = null;
+            for(Map.Entry<String, CompletableFuture<Void>> entry : futures.entrySet()){
+                try{
+                    entry.getValue().join();
+                }catch(CompletionException e){
+                    if(failure == null){
+                        failure = e.getCause() == null ? e : e.getCause();
+                    }//end if
+                }//end try...catch
+            }//end for
+
+            if(failure != null){
+                myLogger.log(Level.SEVERE, "Bootstrap pipeline did not complete successfully. Error message is: " + failure.getMessage(), failure);
+                throw new SimpleFxException("Bootstrap pipeline did not complete successfully. " + failure.getMessage(), failure);
+            }//end if
+        }finally{
+            executor.shutdown();
+        }//end try...finally
+        myLogger.info("Bootstrap pipeline completed " + phases.size() + " phases in " + (System.currentTimeMillis() - start) + " ms.");
+        myLogger.exiting(MY_CLASS_NAME, "run");
+    }//end method
+
+    /**
+     * This method will create the future for the phase which only starts once all of its dependencies have completed.
+     *
+     * @param phase the phase to schedule
+     * @param futures the futures of the phases that have already been scheduled
+     * @param executor the executor to run the phase on
+     * @return the future representing the phase
+     */
+    private CompletableFuture<Void> schedule(Phase phase, Map<String, CompletableFuture<Void>> futures, ExecutorService executor) {
+        List<CompletableFuture<Void>> dependencies = new ArrayList<CompletableFuture<Void>>();
+        for(int i = 0, j = phase.dependsOn.length;i < j;i++){
+            dependencies.add(futures.get(phase.dependsOn[i]));
+        }//end for
+        CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[dependencies.size()]));
+        return ready.thenRunAsync(() -> {
+            long phaseStart = System.currentTimeMillis();
+            myLogger.fine("Starting bootstrap phase " + phase.name + " on thread " + Thread.currentThread().getName());
+            StartupProfiler.Timing timing = StartupProfiler.begin(phase.name);
+            try{
+                phase.task.run();
+            }finally{
+                timing.end();
+            }//end try...finally
+            myLogger.fine("Finished bootstrap phase " + phase.name + " in " + (System.currentTimeMillis() - phaseStart) + " ms.");
+        }, executor);
+    }//end method
+
+    /**
+     * A single named unit of start up work along with the names of the phases it depends on.
+     */
+    private static final class Phase {
+        private final String name;
+        private final Runnable task;
+        private final String[] dependsOn;
+
+        /**
+         * Creates a Phase.
+         *
+         * @param name the name of the phase
+         * @param task the work performed by the phase
+         * @param dependsOn the names of the phases this phase depends on
+         */
+        Phase(String name, Runnable task, String[] dependsOn) {
+            this.name = name;
+            this.task = task;
+            this.dependsOn = dependsOn;
+        }//end constructor
+    }//end class
+
+    /**
+     * Thread factory used for naming the bootstrap threads and making sure they never keep the JVM alive.
+     */
+    private static final class BootstrapThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "SFXBootstrap-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }//end method
+    }//end class
+
+}//end class
@@ -0,0 +1,177 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.util.Constants;
+
+/**
+ * The ClassDataSharing class generates and locates the application class data sharing (AppCDS) archive of a SimpleFX application.
+ *
+ * <p>Running the application jar with the <b>TRAIN</b> argument will launch the application a second time with the
+ * <b>TRAIN-RUN</b> argument which starts the application up to the point of showing the primary stage and then exits.  While
+ * doing so the JVM records every class it loaded into a class list file.  The class list is then dumped into an archive which is
+ * written next to the jar and named after it (eg. MyApp_v1.2.jar.jsa).</p>
+ *
+ * <p>The archive is only used while it is newer than the jar it was created from, therefore an archive is ignored as soon as the
+ * jar is replaced by an update.  The {@link #getJvmOptions(File)} method returns the options that the relaunch commands of
+ * {@link ApplicationUpdate} and {@link ApplicationRefactor} add to the java command.</p>
+ *
+ * <p>The JVM options used are understood by the Oracle Java 8 update 40 and later JVMs as well as newer JVMs.  The option
+ * -XX:+IgnoreUnrecognizedVMOptions is always passed so that a JVM that does not support one of them still starts.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see SFXApplication
+ */
+final class ClassDataSharing {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.ClassDataSharing";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    static final String TRAIN = "TRAIN";
+    static final String TRAIN_RUN = "TRAIN-RUN";
+    private static final String ARCHIVE_EXTENSION = ".jsa";
+    private static final String CLASS_LIST_EXTENSION = ".classlist";
+    private static final List<String> UNLOCK_OPTIONS = Arrays.asList("-XX:+IgnoreUnrecognizedVMOptions", "-XX:+UnlockCommercialFeatures", "-XX:+UseAppCDS");
+
+    private static volatile boolean trainingRun;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private ClassDataSharing() {}//end constructor
+
+    /**
+     * This method will generate the class data sharing archive for the given application jar.  The training run and the archive dump are
+     * both executed within the directory of the jar and this method blocks until both of them have completed.
+     *
+     * @param jar the application jar
+     * @return {@code true} if the archive was created {@code false} otherwise
+     */
+    static boolean train(File jar) {
+        myLogger.entering(MY_CLASS_NAME, "train", jar);
+        boolean trained = false;
+        File directory = jar.getAbsoluteFile().getParentFile();
+        File classList = new File(directory, jar.getName() + CLASS_LIST_EXTENSION);
+        File archive = getArchiveFile(jar);
+        try{
+            classList.delete();
+            archive.delete();
+
+            //the relaunch commands use the java executable on the path so the archive must be created by that same JVM.
+            List<String> recordCommand = new ArrayList<String>(UNLOCK_OPTIONS);
+            recordCommand.add(0, "java");
+            recordCommand.add("-XX:DumpLoadedClassList=" + classList.getName());
+            recordCommand.addAll(Arrays.asList("-jar", jar.getName(), TRAIN_RUN));
+            int exitCode = execute(recordCommand, directory);
+            if(exitCode != 0 || !classList.exists()){
+                myLogger.warning("The training run of " + jar.getName() + " did not complete successfully (exit code " + exitCode + ") therefore the class data sharing archive will not be created.");
+                return false;
+            }//end if
+
+            List<String> dumpCommand = new ArrayList<String>(UNLOCK_OPTIONS);
+            dumpCommand.add(0, "java");
+            dumpCommand.addAll(Arrays.asList("-Xshare:dump", "-XX:SharedClassListFile=" + classList.getName(), "-XX:SharedArchiveFile=" + archive.getName(), "-cp", jar.getName()));
+            exitCode = execute(dumpCommand, directory);
+            trained = exitCode == 0 && archive.exists();
+            if(trained){
+                myLogger.info("Class data sharing archive " + archive.getAbsolutePath() + " was created from " + jar.getName() + ".");
+            }else{
+                myLogger.warning("Class data sharing archive could not be created for " + jar.getName() + " (exit code " + exitCode + ").");
+            }//end if
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException occurred while trying to create the class data sharing archive for " + jar.getName() + ". Error message is: " + e.getMessage(), e);
+        }catch(InterruptedException e){
+            myLogger.log(Level.SEVERE, "InterruptedException occurred while waiting on the class data sharing training process. Error message is: " + e.getMessage(), e);
+            Thread.currentThread().interrupt();
+        }finally{
+            classList.delete();
+        }//end try...catch...finally
+        myLogger.exiting(MY_CLASS_NAME, "train", trained);
+        return trained;
+    }//end method
+
+    /**
+     * This method will return the JVM options that enable the class data sharing archive of the given jar.  The options only reference
+     * the archive by name and are meant to be used by commands that run within the directory of the jar.
+     *
+     * @param jar the application jar that is going to be launched
+     * @return the JVM options followed by a trailing space or an empty string if there is no usable archive for the jar
+     */
+    static String getJvmOptions(File jar) {
+        myLogger.entering(MY_CLASS_NAME, "getJvmOptions", jar);
+        String options = "";
+        File archive = getArchiveFile(jar);
+        if(archive.exists()){
+            if(archive.lastModified() >= jar.lastModified()){
+                StringBuilder sb = new StringBuilder();
+                for(String option : UNLOCK_OPTIONS){
+                    sb.append(option).append(' ');
+                }//end for
+                sb.append("-Xshare:auto -XX:SharedArchiveFile=").append(archive.getName()).append(' ');
+                options = sb.toString();
+            }else{
+                myLogger.info("Class data sharing archive " + archive.getName() + " is older than " + jar.getName() + " and will not be used until the application is trained again.");
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "getJvmOptions", options);
+        return options;
+    }//end method
+
+    /**
+     * @param jar the application jar
+     * @return the archive file that belongs to the jar
+     */
+    static File getArchiveFile(File jar) {
+        return new File(jar.getAbsoluteFile().getParentFile(), jar.getName() + ARCHIVE_EXTENSION);
+    }//end method
+
+    /**
+     * @return {@code true} if this JVM was launched with the TRAIN-RUN argument
+     */
+    static boolean isTrainingRun() {
+        return trainingRun;
+    }//end method
+
+    /**
+     * This method will mark this JVM as the training run.  The application will exit as soon as the primary stage has been shown
+     * and will skip the refactor and update checks.
+     */
+    static void markTrainingRun() {
+        trainingRun = true;
+    }//end method
+
+    /**
+     * This method is called once the primary stage has been shown.  If this JVM is the training run then the JVM is exited so that
+     * the class list is written.
+     */
+    static void primaryStageShown() {
+        if(trainingRun){
+            myLogger.info("Training run has reached the primary stage, exiting so that the loaded class list can be archived.");
+            System.exit(0);
+        }//end if
+    }//end method
+
+    /**
+     * This method will run the command and wait for it to complete.
+     *
+     * @param command the command and its arguments
+     * @param directory the working directory of the command
+     * @return the exit code of the command
+     * @throws IOException if the command could not be started
+     * @throws InterruptedException if the current thread was interrupted while waiting on the command
+     */
+    private static int execute(List<String> command, File directory) throws IOException, InterruptedException {
+        myLogger.info("Executing command " + command + " within " + directory.getAbsolutePath());
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.directory(directory);
+        builder.inheritIO();
+        return builder.start().waitFor();
+    }//end method
+
+}//end class
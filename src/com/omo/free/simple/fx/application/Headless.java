@@ -6,6 +6,10 @@ package com.omo.free.simple.fx.application;
 /**
  * The <code>Headless</code> interface is used in the simple ui framework and is used to start a ui application without a user interface.
  *
+ * <p>An application is run headless with the HEADLESS argument.  Many headless jobs can be run within one JVM with the HEADLESS-BATCH
+ * argument (refer to {@link HeadlessBatch}) and short jobs can be forwarded to a warm resident JVM with the HEADLESS-RESIDENT argument
+ * (refer to {@link HeadlessResident}).</p>
+ *
  * @author Richard Salas
  * @since SimpleUI Framework 1.0.0
  */
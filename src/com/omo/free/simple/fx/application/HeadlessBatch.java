@@ -0,0 +1,339 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+
+/**
+ * The HeadlessBatch class runs many {@link Headless} jobs within a single JVM so that the JVM and the SimpleFX Framework are only started once.
+ *
+ * <p>A batch is started with the <b>HEADLESS-BATCH</b> argument followed by the path to a job manifest and optionally the number of worker
+ * threads (eg. {@code java -jar MyApp_v1.2.jar HEADLESS-BATCH nightly.jobs 4}).  Each line of the manifest holds the arguments of one job
+ * separated by spaces; an argument containing spaces may be wrapped in double quotes.  Blank lines and lines that begin with # are skipped.
+ * The word HEADLESS is placed in front of the arguments of every job so that the application receives the same arguments that it would
+ * receive when it is run on its own.</p>
+ *
+ * <p>Every job is validated with {@link Headless#validateHeadlessArgs(String[])} before it is run with
+ * {@link Headless#startHeadlessProcess(String[])}.  Jobs run on a fixed pool of worker threads.  When the number of threads is not given on
+ * the command line the optional <b>headless.batch.threads</b> property within the application.properties file is used and if that is not set
+ * the jobs are run one after the other on a single thread, as {@link Headless} implementations were written for one job per JVM and are not
+ * required to be thread safe.  An application whose {@code startHeadlessProcess} is thread safe can ask for more threads, and jobs that
+ * spend most of their time waiting on files, databases or the network can be given more threads than there are processors.  A job must
+ * never call {@code System.exit} as that would end the whole batch.</p>
+ *
+ * <p>Once every job has completed a summary containing the status and timing of each job followed by the totals and throughput of the batch
+ * is written next to the manifest (eg. nightly.jobs.summary) and to the log.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see Headless
+ */
+final class HeadlessBatch {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.HeadlessBatch";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String HEADLESS_BATCH = "HEADLESS-BATCH";
+    static final String THREADS_PROPERTY = "headless.batch.threads";
+    private static final int DEFAULT_THREADS = 1;
+    private static final String SUMMARY_EXTENSION = ".summary";
+    private static final Pattern ARGUMENT = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    private final Headless headless;
+    private final File manifest;
+    private final int threads;
+
+    /**
+     * Creates a HeadlessBatch.
+     *
+     * @param headless the headless application that runs each job
+     * @param manifest the job manifest
+     * @param threads the number of worker threads or 0 to use the configured default
+     */
+    HeadlessBatch(Headless headless, File manifest, int threads) {
+        this.headless = headless;
+        this.manifest = manifest;
+        this.threads = threads > 0 ? threads : getDefaultThreads();
+    }//end constructor
+
+    /**
+     * This method will parse the HEADLESS-BATCH command line arguments.
+     *
+     * @param headless the headless application that runs each job
+     * @param args the command line arguments starting with HEADLESS-BATCH
+     * @return the batch or {@code null} if the arguments are not valid
+     */
+    static HeadlessBatch fromArgs(Headless headless, String[] args) {
+        if(args.length < 2 || args.length > 3){
+            myLogger.severe("Usage: " + HEADLESS_BATCH + " <job manifest> [threads]");
+            return null;
+        }//end if
+        int threads = 0;
+        if(args.length == 3){
+            try{
+                threads = Integer.parseInt(args[2]);
+            }catch(NumberFormatException e){
+                myLogger.severe("The number of threads " + args[2] + " is not a number.");
+                return null;
+            }//end try...catch
+        }//end if
+        return new HeadlessBatch(headless, new File(args[1]), threads);
+    }//end method
+
+    /**
+     * This method will run every job in the manifest and write the summary.  It blocks until all of the jobs have completed.
+     *
+     * @return the exit code of the batch which is 0 when every job succeeded and 1 otherwise
+     */
+    int run() {
+        myLogger.entering(MY_CLASS_NAME, "run");
+        List<Job> jobs;
+        try{
+            jobs = readManifest();
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException occurred while trying to read the job manifest " + manifest.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+            return 1;
+        }//end try...catch
+        myLogger.info("Starting headless batch of " + jobs.size() + " jobs from " + manifest.getAbsolutePath() + " using " + threads + " threads.");
+
+        long batchStart = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new BatchThreadFactory());
+        try{
+            List<Future<?>> futures = new ArrayList<Future<?>>(jobs.size());
+            for(int i = 0, j = jobs.size();i < j;i++){
+                Job job = jobs.get(i);
+                futures.add(executor.submit(() -> runJob(job, batchStart)));
+            }//end for
+            for(int i = 0, j = futures.size();i < j;i++){
+                try{
+                    futures.get(i).get();
+                }catch(ExecutionException e){
+                    myLogger.log(Level.SEVERE, "Job on line " + jobs.get(i).lineNumber + " could not be run. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end for
+        }catch(InterruptedException e){
+            myLogger.log(Level.SEVERE, "InterruptedException occurred while waiting on the headless batch to complete. Error message is: " + e.getMessage(), e);
+            Thread.currentThread().interrupt();
+        }finally{
+            executor.shutdownNow();
+        }//end try...catch...finally
+        long batchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - batchStart);
+
+        String summary = buildSummary(jobs, batchMillis);
+        myLogger.info(summary);
+        writeSummary(summary);
+
+        int exitCode = 0;
+        for(int i = 0, j = jobs.size();i < j;i++){
+            if(!Job.SUCCEEDED.equals(jobs.get(i).status)){
+                exitCode = 1;
+                break;
+            }//end if
+        }//end for
+        myLogger.exiting(MY_CLASS_NAME, "run", exitCode);
+        return exitCode;
+    }//end method
+
+    /**
+     * This method runs on a worker thread and validates then runs a single job.
+     *
+     * @param job the job to run
+     * @param batchStart the time the batch started in nanoseconds
+     */
+    private void runJob(Job job, long batchStart) {
+        job.threadName = Thread.currentThread().getName();
+        long start = System.nanoTime();
+        job.startOffsetMillis = TimeUnit.NANOSECONDS.toMillis(start - batchStart);
+        try{
+            if(headless.validateHeadlessArgs(job.args)){
+                headless.startHeadlessProcess(job.args);
+                job.status = Job.SUCCEEDED;
+            }else{
+                myLogger.severe("Job on line " + job.lineNumber + " was not run due to invalid arguments " + Arrays.toString(job.args));
+                job.status = Job.INVALID;
+            }//end if
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while running the job on line " + job.lineNumber + " with arguments " + Arrays.toString(job.args) + ". Error message is: " + e.getMessage(), e);
+            job.status = Job.FAILED;
+        }finally{
+            job.wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }//end try...catch...finally
+    }//end method
+
+    /**
+     * @return the jobs listed within the manifest in the order they are listed
+     * @throws IOException if the manifest could not be read
+     */
+    private List<Job> readManifest() throws IOException {
+        List<Job> jobs = new ArrayList<Job>();
+        BufferedReader br = null;
+        try{
+            br = new BufferedReader(new FileReader(manifest));
+            String line;
+            int lineNumber = 0;
+            while((line = br.readLine()) != null){
+                lineNumber++;
+                line = line.trim();
+                if(line.isEmpty() || line.startsWith("#")){
+                    continue;
+                }//end if
+                List<String> args = new ArrayList<String>();
+                args.add("HEADLESS");
+                Matcher m = ARGUMENT.matcher(line);
+                while(m.find()){
+                    args.add(m.group(1) != null ? m.group(1) : m.group(2));
+                }//end while
+                jobs.add(new Job(lineNumber, args.toArray(new String[args.size()])));
+            }//end while
+        }finally{
+            if(br != null){
+                try{
+                    br.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the buffered reader.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...finally
+        return jobs;
+    }//end method
+
+    /**
+     * @param jobs the jobs that were run
+     * @param batchMillis the wall clock time of the whole batch
+     * @return the per job and aggregate summary
+     */
+    private String buildSummary(List<Job> jobs, long batchMillis) {
+        StringBuilder sb = new StringBuilder();
+        String ls = System.lineSeparator();
+        sb.append("Headless batch summary for ").append(manifest.getAbsolutePath()).append(" completed ").append(new SimpleDateFormat("MM/dd/yyyy HH:mm:ss").format(new Date())).append(ls);
+        sb.append(String.format("%-6s %-10s %-24s %10s %10s  %s", "Line", "Status", "Thread", "Start ms", "Wall ms", "Arguments")).append(ls);
+
+        int succeeded = 0;
+        int invalid = 0;
+        int failed = 0;
+        long totalJobMillis = 0;
+        long minMillis = Long.MAX_VALUE;
+        long maxMillis = 0;
+        for(int i = 0, j = jobs.size();i < j;i++){
+            Job job = jobs.get(i);
+            sb.append(String.format("%-6d %-10s %-24s %10d %10d  %s", job.lineNumber, job.status, String.valueOf(job.threadName), job.startOffsetMillis, job.wallMillis, Arrays.toString(Arrays.copyOfRange(job.args, 1, job.args.length)))).append(ls);
+            if(Job.SUCCEEDED.equals(job.status)){
+                succeeded++;
+            }else if(Job.INVALID.equals(job.status)){
+                invalid++;
+            }else{
+                failed++;
+            }//end if
+            totalJobMillis += job.wallMillis;
+            minMillis = Math.min(minMillis, job.wallMillis);
+            maxMillis = Math.max(maxMillis, job.wallMillis);
+        }//end for
+
+        double seconds = batchMillis / 1000.0;
+        sb.append(ls);
+        sb.append("Jobs: ").append(jobs.size()).append(" (succeeded ").append(succeeded).append(", invalid ").append(invalid).append(", failed ").append(failed).append(")").append(ls);
+        sb.append("Threads: ").append(threads).append(ls);
+        sb.append("Batch wall time: ").append(batchMillis).append(" ms").append(ls);
+        sb.append("Sum of job times: ").append(totalJobMillis).append(" ms").append(ls);
+        if(!jobs.isEmpty()){
+            sb.append("Job time min/avg/max: ").append(minMillis).append("/").append(totalJobMillis / jobs.size()).append("/").append(maxMillis).append(" ms").append(ls);
+        }//end if
+        sb.append("Throughput: ").append(String.format("%.2f", seconds > 0 ? jobs.size() / seconds : (double) jobs.size())).append(" jobs/second");
+        return sb.toString();
+    }//end method
+
+    /**
+     * @param summary the summary to write next to the manifest
+     */
+    private void writeSummary(String summary) {
+        File summaryFile = new File(manifest.getAbsoluteFile().getParentFile(), manifest.getName() + SUMMARY_EXTENSION);
+        BufferedWriter bw = null;
+        try{
+            bw = new BufferedWriter(new FileWriter(summaryFile));
+            bw.write(summary);
+            bw.newLine();
+            bw.flush();
+            System.out.println("Headless batch summary written to " + summaryFile.getAbsolutePath());
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to write the headless batch summary to " + summaryFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            if(bw != null){
+                try{
+                    bw.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the buffered writer.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+    }//end method
+
+    /**
+     * @return the number of worker threads configured within the application.properties file or 1 so that jobs run one at a time
+     */
+    private static int getDefaultThreads() {
+        int configured = PropertiesMgr.getInstance().getSnapshot().getInt(THREADS_PROPERTY, DEFAULT_THREADS);
+        return configured > 0 ? configured : DEFAULT_THREADS;
+    }//end method
+
+    /**
+     * A single line of the job manifest along with the outcome of running it.  The outcome fields are written by the worker thread and read
+     * once the job's future has completed.
+     */
+    private static final class Job {
+        private static final String SUCCEEDED = "SUCCEEDED";
+        private static final String INVALID = "INVALID";
+        private static final String FAILED = "FAILED";
+
+        private final int lineNumber;
+        private final String[] args;
+        private volatile String status = FAILED;
+        private volatile String threadName;
+        private volatile long startOffsetMillis;
+        private volatile long wallMillis;
+
+        /**
+         * Creates a Job.
+         *
+         * @param lineNumber the line of the manifest the job was read from
+         * @param args the arguments of the job starting with HEADLESS
+         */
+        Job(int lineNumber, String[] args) {
+            this.lineNumber = lineNumber;
+            this.args = args;
+        }//end constructor
+    }//end class
+
+    /**
+     * Thread factory used for naming the batch worker threads.
+     */
+    private static final class BatchThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public Thread newThread(Runnable r) {
+            return new Thread(r, "SFXHeadlessBatch-" + count.incrementAndGet());
+        }//end method
+    }//end class
+
+}//end class
@@ -0,0 +1,469 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.util.Constants;
+import com.omo.free.util.AppUtil;
+
+/**
+ * The HeadlessResident class keeps a warm JVM running in the background so that short {@link Headless} jobs do not pay for the JVM and
+ * SimpleFX Framework start up on every run.
+ *
+ * <p>Resident mode is opt-in and is requested by running the application jar with the <b>HEADLESS-RESIDENT</b> argument in place of the
+ * HEADLESS argument (eg. {@code java -jar MyApp_v1.2.jar HEADLESS-RESIDENT arg1 arg2}).  The first run starts the resident JVM which
+ * listens on a loopback socket and then forwards its arguments to it.  Every run after that forwards its arguments to the resident JVM
+ * that is already running.  The output the job writes to System.out and System.err is streamed back to the run that forwarded it, which then
+ * exits with the exit code of the job.  The job receives the same arguments (starting with HEADLESS) that it would receive when it is run on
+ * its own.</p>
+ *
+ * <p>The resident JVM runs one job at a time; other runs wait their turn.  It exits once no job has been forwarded to it for the number of
+ * minutes set by the optional <b>headless.resident.idle.minutes</b> property within the application.properties file (30 minutes by default)
+ * and it retires itself as soon as the application jar has been replaced, for example by an update.  A job must never call
+ * {@code System.exit} as that would end the resident JVM.  A job is never forwarded twice: once the resident JVM has accepted a job, a lost
+ * connection ends the forwarding run with exit code 1 instead of starting another resident JVM and running the job again.</p>
+ *
+ * <p>The port of the resident JVM along with a random token are written to the resident.port file within the headless directory of the
+ * external resources directory.  A forwarded run must present the token so that only the user who owns the resources directory can run
+ * jobs.  If the resident JVM can not be reached or started the job is run within the current JVM as a normal HEADLESS run.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see Headless
+ */
+final class HeadlessResident {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.HeadlessResident";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String HEADLESS_RESIDENT = "HEADLESS-RESIDENT";
+    static final String HEADLESS_RESIDENT_SERVER = "HEADLESS-RESIDENT-SERVER";
+    static final String IDLE_PROPERTY = "headless.resident.idle.minutes";
+    static final int NOT_FORWARDED = Integer.MIN_VALUE;
+    static final int CONNECTION_LOST = 1;
+
+    private static final String DIRECTORY = "headless";
+    private static final String PORT_FILE = "resident.port";
+    private static final String LOCK_FILE = "resident.lock";
+    private static final String LOG_FILE = "resident.log";
+    private static final long DEFAULT_IDLE_MINUTES = 30;
+    private static final long START_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final byte ACCEPTED = 'A';
+    private static final byte STDOUT = 'O';
+    private static final byte STDERR = 'E';
+    private static final byte EXIT = 'X';
+    private static final byte RETIRED = 'R';
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private HeadlessResident() {}//end constructor
+
+    /**
+     * This method will forward the job to the resident JVM, starting the resident JVM first if it is not running.  Only
+     * {@link Constants#APP_FILE_LOCATION} and the external resources directory need to be initialized before this method is called.
+     *
+     * @param jobArgs the arguments of the job starting with HEADLESS
+     * @return the exit code of the job or {@link #NOT_FORWARDED} if the job must be run within this JVM
+     */
+    static int forward(String[] jobArgs) {
+        myLogger.entering(MY_CLASS_NAME, "forward", jobArgs);
+        int exitCode = NOT_FORWARDED;
+        if(!Constants.IS_JAR){
+            myLogger.info("Resident mode is only available when the application is packaged as a jar, running the job within this JVM.");
+            return exitCode;
+        }//end if
+        File directory = getDirectory();
+        for(int attempt = 0;attempt < 2 && exitCode == NOT_FORWARDED;attempt++){
+            Properties port = readPortFile(directory);
+            if(port == null){
+                port = startServer(directory);
+                if(port == null){
+                    break;
+                }//end if
+            }//end if
+            try{
+                exitCode = send(port, jobArgs);
+            }catch(IOException e){
+                myLogger.log(Level.FINE, "Could not reach the resident JVM before it accepted the job, it will be started again. Error message is: " + e.getMessage(), e);
+                new File(directory, PORT_FILE).delete();
+            }//end try...catch
+        }//end for
+        myLogger.exiting(MY_CLASS_NAME, "forward", exitCode);
+        return exitCode;
+    }//end method
+
+    /**
+     * This method runs within the resident JVM and serves forwarded jobs until it has been idle for too long or the application jar has been
+     * replaced.
+     *
+     * @param headless the headless application that runs each job
+     * @return the exit code of the resident JVM
+     */
+    static int serve(Headless headless) {
+        myLogger.entering(MY_CLASS_NAME, "serve", headless);
+        File directory = getDirectory();
+        File jar = new File(Constants.APP_FILE_LOCATION);
+        long jarModified = jar.lastModified();
+        RandomAccessFile lockFile = null;
+        ServerSocket serverSocket = null;
+        boolean listening = false;
+        try{
+            lockFile = new RandomAccessFile(new File(directory, LOCK_FILE), "rw");
+            FileLock lock = lockFile.getChannel().tryLock();
+            if(lock == null){
+                myLogger.info("Another resident JVM is already running, exiting.");
+                return 0;
+            }//end if
+
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            serverSocket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(getIdleMinutes()));
+            String token = new BigInteger(130, new SecureRandom()).toString(32);
+            writePortFile(directory, serverSocket.getLocalPort(), token);
+            listening = true;
+            myLogger.info("Resident JVM " + ManagementFactory.getRuntimeMXBean().getName() + " is listening on port " + serverSocket.getLocalPort() + ".");
+
+            while(true){
+                Socket socket;
+                try{
+                    socket = serverSocket.accept();
+                }catch(SocketTimeoutException e){
+                    myLogger.info("Resident JVM has been idle for " + getIdleMinutes() + " minutes, exiting.");
+                    break;
+                }//end try...catch
+                boolean retired = jar.lastModified() != jarModified;
+                try{
+                    handle(socket, headless, token, retired);
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while serving a forwarded job. Error message is: " + e.getMessage(), e);
+                }finally{
+                    socket.close();
+                }//end try...catch...finally
+                if(retired){
+                    myLogger.info("Application jar " + jar.getName() + " has been replaced, the resident JVM is retiring.");
+                    break;
+                }//end if
+            }//end while
+        }catch(IOException e){
+            myLogger.log(Level.SEVERE, "IOException occurred while running the resident JVM. Error message is: " + e.getMessage(), e);
+            return 1;
+        }finally{
+            if(listening){
+                new File(directory, PORT_FILE).delete();
+            }//end if
+            if(serverSocket != null){
+                try{
+                    serverSocket.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the server socket.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+            if(lockFile != null){
+                try{
+                    lockFile.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the lock file.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        myLogger.exiting(MY_CLASS_NAME, "serve");
+        return 0;
+    }//end method
+
+    /**
+     * This method will run a single forwarded job and stream its output back to the forwarding run.
+     *
+     * @param socket the connection of the forwarding run
+     * @param headless the headless application that runs the job
+     * @param token the token the forwarding run must present
+     * @param retired {@code true} if the resident JVM is retiring and must not run the job
+     * @throws IOException if the connection failed
+     */
+    private static void handle(Socket socket, Headless headless, String token, boolean retired) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        if(!token.equals(in.readUTF())){
+            myLogger.warning("A connection presented an invalid token and was refused.");
+            return;
+        }//end if
+        String[] jobArgs = new String[in.readInt()];
+        for(int i = 0, j = jobArgs.length;i < j;i++){
+            jobArgs[i] = in.readUTF();
+        }//end for
+        if(retired){
+            out.writeByte(RETIRED);
+            out.flush();
+            return;
+        }//end if
+        out.writeByte(ACCEPTED);
+        out.flush();
+
+        myLogger.info("Running forwarded job " + Arrays.toString(jobArgs));
+        long start = System.nanoTime();
+        PrintStream originalOut = System.out;
+        PrintStream originalErr = System.err;
+        int exitCode = 1;
+        try{
+            System.setOut(new PrintStream(new FrameOutputStream(out, STDOUT), true));
+            System.setErr(new PrintStream(new FrameOutputStream(out, STDERR), true));
+            if(headless.validateHeadlessArgs(jobArgs)){
+                headless.startHeadlessProcess(jobArgs);
+                exitCode = 0;
+            }else{
+                myLogger.severe("Forwarded job was not run due to invalid arguments " + Arrays.toString(jobArgs));
+            }//end if
+        }catch(Exception e){
+            myLogger.log(Level.SEVERE, "Exception occurred while running the forwarded job " + Arrays.toString(jobArgs) + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            System.out.flush();
+            System.err.flush();
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }//end try...catch...finally
+        synchronized(out){
+            out.writeByte(EXIT);
+            out.writeInt(exitCode);
+            out.flush();
+        }//end synchronized
+        myLogger.info("Forwarded job completed with exit code " + exitCode + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms.");
+    }//end method
+
+    /**
+     * This method will send the job to the resident JVM and copy its output to this JVM's output until the exit code is received.  An
+     * IOException is only thrown while the resident JVM has not accepted the job, so the job may safely be sent again.
+     *
+     * @param port the contents of the port file
+     * @param jobArgs the arguments of the job
+     * @return the exit code of the job, {@link #NOT_FORWARDED} if the resident JVM has retired or {@link #CONNECTION_LOST} if the connection
+     *         was lost after the job was accepted
+     * @throws IOException if the resident JVM could not be reached or the connection was lost before the job was accepted
+     */
+    private static int send(Properties port, String[] jobArgs) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port.getProperty("port")));
+        boolean accepted = false;
+        try{
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF(port.getProperty("token"));
+            out.writeInt(jobArgs.length);
+            for(int i = 0, j = jobArgs.length;i < j;i++){
+                out.writeUTF(jobArgs[i]);
+            }//end for
+            out.flush();
+
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            while(true){
+                byte type = in.readByte();
+                if(type == ACCEPTED){
+                    accepted = true;
+                    continue;
+                }else if(type == EXIT){
+                    return in.readInt();
+                }else if(type == RETIRED){
+                    return NOT_FORWARDED;
+                }//end if
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                PrintStream target = type == STDERR ? System.err : System.out;
+                target.write(bytes);
+                target.flush();
+            }//end while
+        }catch(IOException e){
+            if(!accepted){
+                throw e;
+            }//end if
+            myLogger.log(Level.SEVERE, "The connection to the resident JVM was lost while it was running the job " + Arrays.toString(jobArgs) + ", the job is not run again. Error message is: " + e.getMessage(), e);
+            return CONNECTION_LOST;
+        }finally{
+            socket.close();
+        }//end try...catch...finally
+    }//end method
+
+    /**
+     * This method will start the resident JVM and wait for it to write its port file.
+     *
+     * @param directory the headless directory
+     * @return the contents of the port file or {@code null} if the resident JVM did not start
+     */
+    private static Properties startServer(File directory) {
+        myLogger.entering(MY_CLASS_NAME, "startServer", directory);
+        File jar = new File(Constants.APP_FILE_LOCATION);
+        List<String> command = new ArrayList<String>();
+        command.add("java");
+        String jvmOptions = ClassDataSharing.getJvmOptions(jar).trim();
+        if(!jvmOptions.isEmpty()){
+            command.addAll(Arrays.asList(jvmOptions.split(" ")));
+        }//end if
+        command.addAll(Arrays.asList("-jar", jar.getName(), HEADLESS_RESIDENT_SERVER));
+
+        Properties port = null;
+        try{
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.directory(jar.getAbsoluteFile().getParentFile());
+            builder.redirectErrorStream(true);
+            builder.redirectOutput(ProcessBuilder.Redirect.appendTo(new File(directory, LOG_FILE)));
+            myLogger.info("Starting the resident JVM with command " + command);
+            Process process = builder.start();
+            long deadline = System.currentTimeMillis() + START_TIMEOUT_MILLIS;
+            while(port == null && System.currentTimeMillis() < deadline){
+                TimeUnit.MILLISECONDS.sleep(100);
+                port = readPortFile(directory);
+                if(port == null && !process.isAlive() && process.exitValue() != 0){
+                    myLogger.warning("Resident JVM exited with code " + process.exitValue() + " before it started listening.");
+                    break;
+                }//end if
+            }//end while
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to start the resident JVM. Error message is: " + e.getMessage(), e);
+        }catch(InterruptedException e){
+            myLogger.log(Level.WARNING, "InterruptedException occurred while waiting on the resident JVM to start. Error message is: " + e.getMessage(), e);
+            Thread.currentThread().interrupt();
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "startServer", port != null);
+        return port;
+    }//end method
+
+    /**
+     * @param directory the headless directory
+     * @return the contents of the port file or {@code null} if there is not one
+     */
+    private static Properties readPortFile(File directory) {
+        File portFile = new File(directory, PORT_FILE);
+        if(!portFile.exists()){
+            return null;
+        }//end if
+        Properties port = new Properties();
+        InputStream is = null;
+        try{
+            is = new FileInputStream(portFile);
+            port.load(is);
+        }catch(IOException e){
+            myLogger.log(Level.FINE, "IOException occurred while trying to read " + portFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+            return null;
+        }finally{
+            if(is != null){
+                try{
+                    is.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the input stream.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return AppUtil.isNullOrEmpty(port.getProperty("port")) || AppUtil.isNullOrEmpty(port.getProperty("token")) ? null : port;
+    }//end method
+
+    /**
+     * This method writes the port file to a temporary file first and then moves it into place so that a forwarding run never reads half of it.
+     *
+     * @param directory the headless directory
+     * @param localPort the port the resident JVM is listening on
+     * @param token the token forwarding runs must present
+     * @throws IOException if the port file could not be written
+     */
+    private static void writePortFile(File directory, int localPort, String token) throws IOException {
+        Properties port = new Properties();
+        port.setProperty("port", String.valueOf(localPort));
+        port.setProperty("token", token);
+        port.setProperty("jvm", ManagementFactory.getRuntimeMXBean().getName());
+        File temp = new File(directory, PORT_FILE + ".tmp");
+        OutputStream os = new FileOutputStream(temp);
+        try{
+            port.store(os, "SimpleFX resident JVM, this file is generated do not modify.");
+        }finally{
+            os.close();
+        }//end try...finally
+        Files.move(temp.toPath(), new File(directory, PORT_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }//end method
+
+    /**
+     * @return the headless directory within the external resources directory, it is created if it does not exist
+     */
+    private static File getDirectory() {
+        File directory = new File(SFXApplication.getExternalResourcesDirectory(), DIRECTORY);
+        if(!directory.exists() && !directory.mkdirs()){
+            myLogger.warning("Could not create the directory " + directory.getAbsolutePath());
+        }//end if
+        return directory;
+    }//end method
+
+    /**
+     * @return the number of idle minutes after which the resident JVM exits
+     */
+    private static long getIdleMinutes() {
+        return Math.max(1, PropertiesMgr.getInstance().getSnapshot().getLong(IDLE_PROPERTY, DEFAULT_IDLE_MINUTES));
+    }//end method
+
+    /**
+     * Output stream that sends everything written to it to the forwarding run as frames of the given type.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte type;
+
+        /**
+         * Creates a FrameOutputStream.
+         *
+         * @param out the connection to the forwarding run
+         * @param type the frame type (STDOUT or STDERR)
+         */
+        FrameOutputStream(DataOutputStream out, byte type) {
+            this.out = out;
+            this.type = type;
+        }//end constructor
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }//end method
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public void write(byte[] b, int off, int len) throws IOException {
+            if(len == 0){
+                return;
+            }//end if
+            synchronized(out){
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+            }//end synchronized
+        }//end method
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public void flush() throws IOException {
+            synchronized(out){
+                out.flush();
+            }//end synchronized
+        }//end method
+    }//end class
+
+}//end class
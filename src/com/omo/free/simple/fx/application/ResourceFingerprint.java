@@ -0,0 +1,196 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.util.FileUtility;
+
+/**
+ * The ResourceFingerprint class keeps a small sidecar manifest within the external resources directory which records the application
+ * jar that the external resources were last extracted and compared against.
+ *
+ * <p>The manifest holds the path, size, last modified time and SHA-256 hash of the jar.  When the size and last modified time still
+ * match the jar is treated as unchanged without reading it.  When they do not match the jar is hashed and is only treated as changed
+ * if the hash is different, so copying the same jar again does not force the resources to be compared again.  A changed jar (for example
+ * after an update) invalidates the manifest and it is rebuilt once the resources have been checked.</p>
+ *
+ * <p>The size and last modified time of the tracked external files are recorded as well so that a file which was edited or deleted
+ * outside of the application is still compared against the jar on the next launch.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see SFXApplication
+ */
+final class ResourceFingerprint {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.ResourceFingerprint";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final String FINGERPRINT_FILE = "resources.fingerprint";
+
+    private static final String PATH = "jar.path";
+    private static final String SIZE = "jar.size";
+    private static final String MODIFIED = "jar.modified";
+    private static final String HASH = "jar.sha256";
+    private static final String TRACKED = "file.";
+
+    private final File fingerprintFile;
+    private final File jar;
+    private final File[] trackedFiles;
+    private Properties stored;
+    private String hash;
+    private Boolean unchanged;
+
+    /**
+     * Creates a ResourceFingerprint.
+     *
+     * @param resourcesDirectory the external resources directory
+     * @param jar the application jar
+     * @param trackedFileNames the names of the external files within the resources directory whose size and last modified time are recorded
+     */
+    ResourceFingerprint(String resourcesDirectory, File jar, String... trackedFileNames) {
+        this.fingerprintFile = new File(resourcesDirectory, FINGERPRINT_FILE);
+        this.jar = jar.getAbsoluteFile();
+        this.trackedFiles = new File[trackedFileNames.length];
+        for(int i = 0, j = trackedFileNames.length;i < j;i++){
+            trackedFiles[i] = new File(resourcesDirectory, trackedFileNames[i]);
+        }//end for
+    }//end constructor
+
+    /**
+     * This method will compare the application jar against the stored fingerprint.  The result is calculated once and then cached.
+     *
+     * @return {@code true} if the jar has not changed since the fingerprint was saved {@code false} otherwise
+     */
+    synchronized boolean isUnchanged() {
+        myLogger.entering(MY_CLASS_NAME, "isUnchanged");
+        if(unchanged == null){
+            unchanged = Boolean.valueOf(compare());
+            myLogger.info("Application jar " + jar.getName() + (unchanged.booleanValue() ? " is unchanged" : " has changed") + " since the external resources were last checked.");
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "isUnchanged", unchanged);
+        return unchanged.booleanValue();
+    }//end method
+
+    /**
+     * This method will save the fingerprint of the application jar.  It should only be called once the external resources have been
+     * extracted and compared successfully.
+     */
+    synchronized void save() {
+        myLogger.entering(MY_CLASS_NAME, "save");
+        OutputStream os = null;
+        try{
+            if(hash == null){
+                hash = FileUtility.sha256Hex(jar);
+            }//end if
+            Properties properties = new Properties();
+            properties.setProperty(PATH, jar.getPath());
+            properties.setProperty(SIZE, String.valueOf(jar.length()));
+            properties.setProperty(MODIFIED, String.valueOf(jar.lastModified()));
+            properties.setProperty(HASH, hash);
+            for(int i = 0, j = trackedFiles.length;i < j;i++){
+                properties.setProperty(TRACKED + trackedFiles[i].getName(), trackedFiles[i].length() + "@" + trackedFiles[i].lastModified());
+            }//end for
+            os = new FileOutputStream(fingerprintFile);
+            properties.store(os, "SimpleFX external resources fingerprint, this file is generated do not modify.");
+            stored = properties;
+            unchanged = Boolean.TRUE;
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to save the resource fingerprint " + fingerprintFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            if(os != null){
+                try{
+                    os.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the output stream.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        myLogger.exiting(MY_CLASS_NAME, "save");
+    }//end method
+
+    /**
+     * This method will delete the stored fingerprint so that the external resources are checked again on the next launch.
+     */
+    synchronized void invalidate() {
+        myLogger.entering(MY_CLASS_NAME, "invalidate");
+        if(fingerprintFile.exists() && !fingerprintFile.delete()){
+            myLogger.warning("Could not delete the resource fingerprint " + fingerprintFile.getAbsolutePath());
+        }//end if
+        stored = null;
+        unchanged = Boolean.FALSE;
+        myLogger.exiting(MY_CLASS_NAME, "invalidate");
+    }//end method
+
+    /**
+     * This method performs the actual comparison between the jar and the stored fingerprint.
+     *
+     * @return {@code true} if the jar has not changed {@code false} otherwise
+     */
+    private boolean compare() {
+        stored = load();
+        if(stored == null || !jar.exists() || !jar.getPath().equals(stored.getProperty(PATH))){
+            return false;
+        }//end if
+
+        boolean filesUnchanged = true;
+        for(int i = 0, j = trackedFiles.length;filesUnchanged && i < j;i++){
+            if(!trackedFiles[i].exists() || !(trackedFiles[i].length() + "@" + trackedFiles[i].lastModified()).equals(stored.getProperty(TRACKED + trackedFiles[i].getName()))){
+                myLogger.fine("External file " + trackedFiles[i].getName() + " has changed since the fingerprint was saved.");
+                filesUnchanged = false;
+            }//end if
+        }//end for
+
+        boolean sameContent = String.valueOf(jar.length()).equals(stored.getProperty(SIZE)) && String.valueOf(jar.lastModified()).equals(stored.getProperty(MODIFIED));
+        if(sameContent){
+            hash = stored.getProperty(HASH);
+        }else{
+            try{
+                hash = FileUtility.sha256Hex(jar);
+            }catch(IOException e){
+                myLogger.log(Level.WARNING, "IOException occurred while trying to hash " + jar.getPath() + ". Error message is: " + e.getMessage(), e);
+                return false;
+            }//end try...catch
+            sameContent = hash.equals(stored.getProperty(HASH));
+            if(sameContent && filesUnchanged){
+                myLogger.fine("Application jar was touched but its content is the same, refreshing the fingerprint.");
+                save();
+            }//end if
+        }//end if
+        sameContent = sameContent && filesUnchanged;
+        return sameContent;
+    }//end method
+
+    /**
+     * @return the stored fingerprint or {@code null} if there is not one
+     */
+    private Properties load() {
+        if(!fingerprintFile.exists()){
+            return null;
+        }//end if
+        Properties properties = new Properties();
+        InputStream is = null;
+        try{
+            is = new FileInputStream(fingerprintFile);
+            properties.load(is);
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to load the resource fingerprint " + fingerprintFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+            return null;
+        }finally{
+            if(is != null){
+                try{
+                    is.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the input stream.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return properties;
+    }//end method
+
+}//end class
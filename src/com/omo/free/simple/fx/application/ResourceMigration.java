@@ -0,0 +1,152 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.util.FileReleaseWaiter;
+import com.omo.free.simple.fx.util.FileUtility;
+
+/**
+ * The ResourceMigration class carries the directory of an application over to the new name of the application after a refactor so that the
+ * renamed application starts with the resources, logs and other files the old application left behind.
+ *
+ * <p>The refactoring process records the directory of the old application with {@link #setSource(File)} instead of deleting it.  Once the
+ * renamed application knows its own resources directory {@link #migrate(File)} moves the old directory into its place.  The move is a rename
+ * when the new directory does not exist yet, which is the usual case as both directories sit next to the jar.  When the rename can not be
+ * done, for example because a file is still held by the exiting splash screen or the new directory already exists, every file that the new
+ * directory does not have yet is hard linked into it (or copied when the file system does not support links) and the old directory is
+ * deleted afterwards.</p>
+ *
+ * <p>Nothing is extracted by this class.  The {@link ResourceFingerprint} of the moved directory still names the old jar so the renamed
+ * application compares its external files against its jar on the first launch and only the files whose content changed are extracted
+ * again.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see ApplicationRefactor
+ */
+final class ResourceMigration {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.ResourceMigration";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private static File source;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private ResourceMigration() {}//end constructor
+
+    /**
+     * This method will record the directory of the old application to migrate once the resources directory of the renamed application is known.
+     *
+     * @param oldApplicationDirectory the directory that holds the resources directory of the old application
+     */
+    static synchronized void setSource(File oldApplicationDirectory) {
+        source = oldApplicationDirectory == null ? null : oldApplicationDirectory.getAbsoluteFile();
+    }//end method
+
+    /**
+     * This method will move the directory of the old application into the directory that holds the given resources directory.  Nothing is done
+     * unless a source was recorded by the refactoring process.
+     *
+     * @param resourcesDirectory the external resources directory of the renamed application
+     * @return {@code true} if the directory of the old application was migrated
+     */
+    static synchronized boolean migrate(File resourcesDirectory) {
+        myLogger.entering(MY_CLASS_NAME, "migrate", resourcesDirectory);
+        File oldDirectory = source;
+        source = null;
+        File newDirectory = resourcesDirectory.getAbsoluteFile().getParentFile();
+        if(oldDirectory == null || newDirectory == null || !oldDirectory.isDirectory() || isSameDirectory(oldDirectory, newDirectory)){
+            myLogger.exiting(MY_CLASS_NAME, "migrate", false);
+            return false;
+        }//end if
+
+        boolean migrated = false;
+        if(!newDirectory.exists()){
+            migrated = FileReleaseWaiter.await("move " + oldDirectory.getAbsolutePath() + " to " + newDirectory.getAbsolutePath(), () -> {
+                Files.move(oldDirectory.toPath(), newDirectory.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            }).isSucceeded();
+        }//end if
+
+        if(!migrated){
+            try{
+                Files.walkFileTree(oldDirectory.toPath(), new LinkFileVisitor(oldDirectory.toPath(), newDirectory.toPath()));
+                migrated = true;
+                FileReleaseWaiter.await("delete the old application directory " + oldDirectory.getAbsolutePath(), () -> {
+                    if(oldDirectory.exists()){
+                        FileUtility.deleteDirectory(oldDirectory);
+                    }//end if
+                    return !oldDirectory.exists();
+                });
+            }catch(IOException e){
+                myLogger.log(Level.WARNING, "IOException occurred while trying to link " + oldDirectory.getAbsolutePath() + " into " + newDirectory.getAbsolutePath() + " therefore missing resources will be extracted. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+        myLogger.info("Migration of " + oldDirectory.getAbsolutePath() + " to " + newDirectory.getAbsolutePath() + (migrated ? " succeeded." : " failed."));
+        myLogger.exiting(MY_CLASS_NAME, "migrate", migrated);
+        return migrated;
+    }//end method
+
+    /**
+     * @param oldDirectory the directory of the old application
+     * @param newDirectory the directory of the renamed application
+     * @return {@code true} if both point at the same directory, which is the case when the resources parent directory name did not change
+     */
+    private static boolean isSameDirectory(File oldDirectory, File newDirectory) {
+        try{
+            return oldDirectory.getCanonicalFile().equals(newDirectory.getCanonicalFile());
+        }catch(IOException e){
+            return oldDirectory.equals(newDirectory);
+        }//end try...catch
+    }//end method
+
+    /**
+     * Hard links every file of the old directory that the new directory does not have yet into the new directory.  A file is copied when it
+     * can not be linked.
+     */
+    private static final class LinkFileVisitor extends SimpleFileVisitor<Path> {
+
+        private final Path from;
+        private final Path to;
+
+        /**
+         * @param from the directory of the old application
+         * @param to the directory of the renamed application
+         */
+        LinkFileVisitor(Path from, Path to) {
+            this.from = from;
+            this.to = to;
+        }//end constructor
+
+        @Override public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+            Files.createDirectories(to.resolve(from.relativize(dir)));
+            return FileVisitResult.CONTINUE;
+        }//end method
+
+        @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+            Path target = to.resolve(from.relativize(file));
+            if(Files.exists(target)){
+                return FileVisitResult.CONTINUE;//the renamed application already has its own copy
+            }//end if
+            try{
+                Files.createLink(target, file);
+            }catch(IOException | UnsupportedOperationException e){
+                myLogger.fine("Could not link " + file + " therefore it is copied. Error message is: " + e.getMessage());
+                Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES);
+            }//end try...catch
+            return FileVisitResult.CONTINUE;
+        }//end method
+
+    }//end class
+
+}//end class
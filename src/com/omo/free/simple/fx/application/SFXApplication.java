@@ -24,6 +24,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,16 +32,19 @@ import java.util.logging.Logger;
 import javax.swing.JOptionPane;
 
 import com.omo.free.simple.fx.application.SFXDialogLauncher.DialogType;
+import com.omo.free.simple.fx.exception.SimpleFxException;
 import com.omo.free.simple.fx.managers.LoggingMgr;
 import com.omo.free.simple.fx.managers.PropertiesMgr;
 import com.omo.free.simple.fx.managers.UIPropertiesMgr;
 import com.omo.free.simple.fx.tools.FindAndReplaceRegEx;
 import com.omo.free.simple.fx.util.Constants;
 import com.omo.free.simple.fx.util.FXUtil;
+import com.omo.free.simple.fx.util.FileReleaseWaiter;
 import com.omo.free.simple.fx.util.FileUtility;
 import com.omo.free.util.AppUtil;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 
 /**
  * This {@code SFXApplication} class provides a default JavaFX implementation for your GUI
@@ -149,6 +153,8 @@ public abstract class SFXApplication {
     private static String[] commandLineArgs;
     private Class<?> subclass;
     private static SFXApplication appClass;
+    private static final String PRELOADER_PROPERTY = "javafx.preloader";
+    private ResourceFingerprint fingerprint;
 
 
     /**
@@ -176,6 +182,7 @@ public abstract class SFXApplication {
      * @param sfxViewClass  The Class object that extends {@link SFXViewBuilder} which contains the view logic
      */
     public SFXApplication(String[] args, Class<? extends SFXViewBuilder> sfxViewClass) {
+        StartupProfiler.Timing argumentsTiming = StartupProfiler.begin("arguments");
         updateSplashScreenFunctionality();
         subclass = this.getClass();
         appClass = this;
@@ -194,27 +201,60 @@ public abstract class SFXApplication {
                 myLogger.log(Level.SEVERE, "IOException trying to extract splash screen.");
             }//end try....catch
             System.exit(0);
+        }else if(args.length==1 && args[0].equalsIgnoreCase(ClassDataSharing.TRAIN)){
+            System.out.println("User has ran the application to create a class data sharing archive.");
+            FXUtil.closeSplashScreen();
+            Constants.IS_JAR = AppUtil.isJar(subclass);
+            if(!Constants.IS_JAR){
+                System.out.println("A class data sharing archive can only be created when the application is packaged as a jar.");
+                System.exit(1);
+            }//end if
+            System.exit(ClassDataSharing.train(new File(Constants.APP_FILE_LOCATION)) ? 0 : 1);
+        }else if(args.length==1 && args[0].equalsIgnoreCase(ClassDataSharing.TRAIN_RUN)){
+            ClassDataSharing.markTrainingRun();
         }else if(args.length==1 && args[0].equalsIgnoreCase("PREPARE")){
             System.out.println("User has ran the application only to extract properties files.");
             FXUtil.closeSplashScreen();
             initializeRuntimeConstants();
             initializeFxApplicationResources();
             System.exit(0);
+        }else if(this instanceof Headless && args.length > 0 && args[0].equalsIgnoreCase(HeadlessBatch.HEADLESS_BATCH)){
+            System.out.println("User requested application to run a HEADLESS-BATCH which will run a manifest of headless jobs within this JVM.");
+            FXUtil.closeSplashScreen();
+            initializeRuntimeConstants();
+            initializeFxApplicationResources();
+            HeadlessBatch batch = HeadlessBatch.fromArgs((Headless) this, args);
+            if(batch == null){
+                myLogger.severe("Headless batch could not be ran due to invalid arguments passed into the application.");
+                System.exit(1);
+            }//end if
+            myLogger.info("Starting headless batch ... version " + (Constants.IS_JAR ? new ApplicationUpdate().getVersionName() : ""));
+            int exitCode = batch.run();
+            myLogger.info("Exiting headless batch ...");
+            System.exit(exitCode);
+        }else if(this instanceof Headless && args.length > 0 && args[0].equalsIgnoreCase(HeadlessResident.HEADLESS_RESIDENT_SERVER)){
+            System.out.println("Starting the resident JVM used for running HEADLESS-RESIDENT jobs.");
+            FXUtil.closeSplashScreen();
+            initializeRuntimeConstants();
+            initializeFxApplicationResources();
+            System.exit(HeadlessResident.serve((Headless) this));
+        }else if(this instanceof Headless && args.length > 0 && args[0].equalsIgnoreCase(HeadlessResident.HEADLESS_RESIDENT)){
+            FXUtil.closeSplashScreen();
+            initializeRuntimeConstants();
+            String[] jobArgs = args.clone();
+            jobArgs[0] = "HEADLESS";
+            int exitCode = HeadlessResident.forward(jobArgs);
+            if(exitCode == HeadlessResident.NOT_FORWARDED){
+                initializeFxApplicationResources();
+                exitCode = runHeadless(jobArgs);
+            }//end if
+            System.exit(exitCode);
         }else if(this instanceof Headless && args.length > 0 && args[0].equalsIgnoreCase("HEADLESS")){
             System.out.println("User requested application to run HEADLESS which will run processing logic without a GUI.");
             FXUtil.closeSplashScreen();
             initializeRuntimeConstants();
             initializeFxApplicationResources();
-            Headless headless = (Headless) this;
-            if(headless.validateHeadlessArgs(args)){
-                myLogger.info("Starting headless application ... version " + (Constants.IS_JAR ? new ApplicationUpdate().getVersionName() : ""));
-                headless.startHeadlessProcess(args);
-                myLogger.info("Exiting headless application ...");
-                System.exit(0);
-            }else{
-                myLogger.severe("Headless version of application could not be ran due to invalid arguments passed into the application.");
-                System.exit(1);
-            }// end if
+            System.exit(runHeadless(args));
         }else if(args.length == 3 && args[0].equalsIgnoreCase("DELETE")){
             // args[0]DELETE args[1]FilePath of jar to delete args[2]Folder Name of old version to delete.
             myLogger.info("User has requested the application to delete a previous version be removed due to a major change.");
@@ -231,13 +271,12 @@ public abstract class SFXApplication {
                 if(myLogger.isLoggable(Level.FINEST)){
                     myLogger.finest("Deleting folders left from old application.");
                 }// end if
-                for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can't delete by then no need to try anymore.
+                FileReleaseWaiter.await("delete the folders of the old application " + deleteFolders.getAbsolutePath(), () -> {
                     if(deleteFolders.exists()){
                         FileUtility.deleteDirectory(deleteFolders);
-                    }else{
-                        break;
-                    }// end if/else
-                }// end for
+                    }// end if
+                    return !deleteFolders.exists();
+                });
             }// end if
             FXUtil.closeSplashScreen();
 
@@ -248,18 +287,7 @@ public abstract class SFXApplication {
             boolean deleted = false;
             if(deleteJar.exists()){
                 myLogger.finer("Attempting to delete older version of application located: " + (String.valueOf(args[1]) != null ? String.valueOf(args[1]) : "null"));
-                for(int i = 0;i < 10000;i++){// attempt to delete the file 10000 times if can't delete by then no need to try anymore.
-                    if(deleteJar.exists()){
-                        if(myLogger.isLoggable(Level.FINEST)){
-                            myLogger.finest("Attempting to delete old jar. Attempt number: " + i);
-                        }// end if
-                        deleted = deleteJar.delete();
-                    }else{
-                        deleted = true;
-                        myLogger.finer("Older version removed.");
-                        break;
-                    }// end if/else
-                }// end for
+                deleted = FileReleaseWaiter.await("delete the older version of the application " + deleteJar.getAbsolutePath(), () -> !deleteJar.exists() || deleteJar.delete()).isSucceeded();
             }else{
                 myLogger.finer("Older version already removed.");
             }// end if/else
@@ -284,9 +312,28 @@ public abstract class SFXApplication {
         }//end if
         SFXApplication.commandLineArgs = args;
         SFXApplicationLauncher.fxBuilder = sfxViewClass;
+        argumentsTiming.end();
         run();
     }// end constructor
     
+    /**
+     * This method will validate the arguments and then run the headless version of the application within this JVM.
+     *
+     * @param args the headless arguments starting with HEADLESS
+     * @return the exit code, 0 when the headless process ran and 1 when the arguments are not valid
+     */
+    private int runHeadless(String[] args) {
+        Headless headless = (Headless) this;
+        if(headless.validateHeadlessArgs(args)){
+            myLogger.info("Starting headless application ... version " + (Constants.IS_JAR ? new ApplicationUpdate().getVersionName() : ""));
+            headless.startHeadlessProcess(args);
+            myLogger.info("Exiting headless application ...");
+            return 0;
+        }//end if
+        myLogger.severe("Headless version of application could not be ran due to invalid arguments passed into the application.");
+        return 1;
+    }//end method
+
     /**
      * This method will close the legacy splash screen upon a major update if it is needed.
      *
@@ -294,28 +341,23 @@ public abstract class SFXApplication {
      */
     private void closeLegacySplash(File splashScreenFile) {
         myLogger.entering(MY_CLASS_NAME, "closeLegacySplash", splashScreenFile);
-        BufferedWriter bw = null;
-        if(splashScreenFile.exists()){
-            for(int i = 0; i < 10000; i++){
+        if(splashScreenFile.exists() && !new SplashStatus(splashScreenFile.getPath()).send(SplashStatus.FINISHED)){
+            FileReleaseWaiter.Result written = FileReleaseWaiter.await("write FINISHED to the splash screen file " + splashScreenFile.getAbsolutePath(), () -> {
+                BufferedWriter bw = new BufferedWriter(new FileWriter(splashScreenFile));
                 try{
-                    bw = new BufferedWriter(new FileWriter(splashScreenFile));
                     bw.write("FINISHED");
-                    bw.flush();
-                    bw.close();
-                    TimeUnit.SECONDS.sleep(2);
-                    break;
-                }catch(Exception e){
-                    myLogger.log(Level.SEVERE, "Exception occurred while trying to write FINISHED to the splash screen file.  Error message is: " + e.getMessage(), e);
                 }finally{
-                    if(bw != null){
-                        try{
-                            bw.close();
-                        }catch(IOException e){
-                            myLogger.log(Level.SEVERE, "IOException occurred while trying to close the buffered writer.  Error message is: " + e.getMessage(), e);
-                        }//end try...catch
-                    }//end if
-                }//end try...catch...finally
-            }//end for
+                    bw.close();
+                }//end try...finally
+                return true;
+            });
+            if(written.isSucceeded()){
+                try{
+                    TimeUnit.SECONDS.sleep(2);//give the legacy splash screen time to read the file and close
+                }catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }//end try...catch
+            }//end if
         }//end if
         myLogger.exiting(MY_CLASS_NAME, "closeLegacySplash");
     }//end method
@@ -343,6 +385,9 @@ public abstract class SFXApplication {
      * Also note that this method only runs if there is a splash screen displaying to the user. If there is no splash screen being shown then
      * this method just returns back to the caller.
      *
+     * <p>Once the JavaFX toolkit is running the splash screen is replaced by the {@link SFXPreloader} which displays the same image along with
+     * the progress of the start up phases.</p>
+     *
      * <p><b>Developers Note</b></p>
      * <p>If you are wondering how to utilize a splash screen within your application follow the steps below. There are 2 common ways to achieve this.</p>
      *
@@ -371,34 +416,20 @@ public abstract class SFXApplication {
         if (graphics == null) {
             return;
         }//end if
-        //animate the splash screen.
-        Thread animate = new Thread(){
-            @Override public void run() {
-                String loading = "Application is loading ";
-                String[] dots = {".", ". .", ". . .", ". . . .", ". . . . .", ". . . . . .", ". . . . . . .", ". . . . . . . .", ". . . . . . . . .", ". . . . . . . . . .", ". . . . . . . . . . .", ". . . . . . . . . . . ." , ". . . . . . . . . . . . .", ". . . . . . . . . . . . . .", ". . . . . . . . . . . . . . ."};
-                int pos = 0;
-                while(splash.isVisible()){
-                    try{
-                        splash.update();
-                        if(pos == dots.length){
-                            pos = 0;
-                        }//end if
-                        graphics.setComposite(AlphaComposite.Clear);
-                        graphics.fillRect(80,392,408,20);//this clears the text everytime.
-                        graphics.setPaintMode();
-                        graphics.setColor(Color.WHITE);
-                        graphics.setFont(new Font("Arial", Font.BOLD, 11));
-                        graphics.drawString(loading + dots[pos++], 80, 402);
-                        TimeUnit.MILLISECONDS.sleep(150);
-                    }catch(InterruptedException e){
-                        System.err.println("InterruptedException occurred during the animation of the splash screen. Error message is: " + e.getMessage());
-                    }catch(Exception e){
-                        System.err.println("Exception occurred during the animation of the splash screen. Error message is: " + e.getMessage());
-                    }//end try...catch
-                }//end while
-            }//end run
-        };//end class
-        animate.start();
+        //the message is drawn once, real progress is displayed by the SFXPreloader as soon as the JavaFX toolkit is running.
+        try{
+            graphics.setComposite(AlphaComposite.Clear);
+            graphics.fillRect(80,392,408,20);
+            graphics.setPaintMode();
+            graphics.setColor(Color.WHITE);
+            graphics.setFont(new Font("Arial", Font.BOLD, 11));
+            graphics.drawString("Application is loading . . .", 80, 402);
+            splash.update();
+        }catch(Exception e){
+            System.err.println("Exception occurred while drawing on the splash screen. Error message is: " + e.getMessage());
+        }finally{
+            graphics.dispose();
+        }//end try...catch...finally
     }//end method
 
     /**
@@ -415,7 +446,7 @@ public abstract class SFXApplication {
      * <p><b>Resources</b></p>
      * <p>The External Resources directory for the SimpleFX application is checked to make sure that it exists. If it does not exist then
      * it is created. The value returned by {@link #getResourcesParentDirectoryName} method will determine the parent name of the resources
-     * directory.</p>
+     * directory.  After a refactor the directory of the old application is moved into place first (refer to {@link ResourceMigration}).</p>
      */
     private void initializeRuntimeConstants() {
         myLogger.entering(MY_CLASS_NAME, "initializeRuntimeConstants - initializes resources and constants used by the simplefx framework");
@@ -425,6 +456,7 @@ public abstract class SFXApplication {
         //configuring the external resources directory
         externalResourcesDirectory = AppUtil.isNullOrEmpty(getResourcesParentDirectoryName()) ? Paths.get(Constants.START_IN_DIR_PATH, "FxApplication", "resources").toString() : Paths.get(Constants.START_IN_DIR_PATH, getResourcesParentDirectoryName(), "resources").toString();
         File resources = new File(externalResourcesDirectory);
+        ResourceMigration.migrate(resources);//carries over the directory of the old application after a refactor
         if(!resources.exists()){
             if(!resources.mkdirs()){
                 // resources couldn't be made probably due to permissions issues...
@@ -449,8 +481,9 @@ public abstract class SFXApplication {
      * <p><b>Run Process</b></p>
      * <p>The run process will execute in the following order whenever an application is started.</p>
      * <ol>
-     *  <li>Initialized runtime {@link Constants} and Internal/External Resources</li>
-     *  <li>Initializes and configures application properties and logging</li>
+     *  <li>Initialized runtime {@link Constants}</li>
+     *  <li>The JavaFX toolkit is started along with the {@link SFXPreloader}</li>
+     *  <li>Initializes Internal/External Resources and configures application properties and logging (refer to {@link #initializeResources()})</li>
      *  <li>Checks a shared network directory path to see there is a newer version of the currently running application.
      *  If there is a newer version of the application the user will have the option to update their currently running application.</li>
      *  <li>The JavaFX application is started and a GUI displays</li>
@@ -459,12 +492,12 @@ public abstract class SFXApplication {
     private void run() {
         myLogger.entering(MY_CLASS_NAME, "run");
         if(isJavaVersionValid()){
+            StartupProfiler.Timing timing = StartupProfiler.begin("runtime.constants");
             initializeRuntimeConstants();
-            initializeFxApplicationResources();
-            myLogger.info("Constants.IS_JAR="+String.valueOf(Constants.IS_JAR));
-            myLogger.info("Constants.APP_FILE_LOCATION=" + String.valueOf(Constants.APP_FILE_LOCATION));
-            myLogger.info("Constants.FRAMEWORK_FILE_LOCATION=" + String.valueOf(Constants.FRAMEWORK_FILE_LOCATION));
-            myLogger.info("Constants.START_IN_DIR_PATH="+String.valueOf(Constants.START_IN_DIR_PATH));
+            timing.end();
+            if(System.getProperty(PRELOADER_PROPERTY) == null){
+                System.setProperty(PRELOADER_PROPERTY, SFXPreloader.class.getName());
+            }//end if
             Application.launch(SFXApplicationLauncher.class, commandLineArgs);//launch the simple application!!!
         }else{
             System.exit(1);
@@ -472,6 +505,23 @@ public abstract class SFXApplication {
         myLogger.exiting(MY_CLASS_NAME, "run");
     }// end method
 
+    /**
+     * This method will initialize the Internal/External Resources, logging and properties used by the running application.  It is called from
+     * the {@link SFXApplicationLauncher#init()} method so that the {@link SFXPreloader} is displaying progress while the resources are
+     * being extracted and loaded.
+     */
+    static void initializeResources() {
+        myLogger.entering(MY_CLASS_NAME, "initializeResources");
+        StartupProfiler.Timing timing = StartupProfiler.begin("resources");
+        appClass.initializeFxApplicationResources();
+        timing.end();
+        myLogger.info("Constants.IS_JAR="+String.valueOf(Constants.IS_JAR));
+        myLogger.info("Constants.APP_FILE_LOCATION=" + String.valueOf(Constants.APP_FILE_LOCATION));
+        myLogger.info("Constants.FRAMEWORK_FILE_LOCATION=" + String.valueOf(Constants.FRAMEWORK_FILE_LOCATION));
+        myLogger.info("Constants.START_IN_DIR_PATH="+String.valueOf(Constants.START_IN_DIR_PATH));
+        myLogger.exiting(MY_CLASS_NAME, "initializeResources");
+    }//end method
+
     /**
      * This method is called upon setting up SimpleFX Framework to make sure that the java version is valid.
      *
@@ -562,9 +612,7 @@ public abstract class SFXApplication {
         myLogger.entering(MY_CLASS_NAME, "initializeFxApplicationResources()");
         //checking to see if the application is packaged as a jar.
         if(Constants.IS_JAR){
-            initializeLogging();
-            initializeApplicationProperties();
-            initializeSimpleFXGUIProperties();
+            initializeManagers();
         }else{//application is not packaged as a jar and is in what I call development mode
             myLogger.fine("Developer logic below is used for making sure the proper files are used.");
             //check to see if the SimpleFX properties files exist on class path of where the subclass of this abstract class is located.
@@ -616,14 +664,73 @@ public abstract class SFXApplication {
 
             //start initializing the logging, application properties, gui properties
             if(appPropsExist && logPropsExist && guiPropsExist){
-                initializeLogging();
-                initializeApplicationProperties();
-                initializeSimpleFXGUIProperties();
+                initializeManagers();
             }//end if
         }//end if
         myLogger.exiting(MY_CLASS_NAME, "initializeFxApplicationResources()");
     }// end method
 
+    /**
+     * This method will initialize logging, application properties, SimpleFX gui properties and the resources of the application using a
+     * {@link BootstrapPipeline}.
+     *
+     * <p>Logging is always initialized first.  Once logging is up the application.properties and simplefx.gui.properties files
+     * are extracted, loaded and validated concurrently as they do not depend on each other, and the files of the application are extracted
+     * by {@link #extractResources()} alongside of them.  Any missing properties will still display the same dialogs as before.</p>
+     *
+     * <p>When running as a jar the {@link ResourceFingerprint} of the jar is checked alongside logging.  If the jar has not changed since
+     * the last launch the comparison of the internal and external application.properties files is skipped.</p>
+     */
+    private void initializeManagers() {
+        myLogger.entering(MY_CLASS_NAME, "initializeManagers");
+        BootstrapPipeline pipeline = new BootstrapPipeline();
+        pipeline.addPhase("logging", () -> initializeLogging());
+        if(Constants.IS_JAR){
+            fingerprint = new ResourceFingerprint(externalResourcesDirectory, new File(Constants.APP_FILE_LOCATION), "application.properties");
+            pipeline.addPhase("fingerprint", () -> fingerprint.isUnchanged());
+            pipeline.addPhase("application.properties", () -> initializeApplicationProperties(), "logging", "fingerprint");
+        }else{
+            pipeline.addPhase("application.properties", () -> initializeApplicationProperties(), "logging");
+        }//end if
+        pipeline.addPhase("simplefx.gui.properties", () -> initializeSimpleFXGUIProperties(), "logging");
+        pipeline.addPhase("resources", () -> extractResources(), "logging");
+        try{
+            pipeline.run();
+            if(fingerprint != null && !fingerprint.isUnchanged()){
+                fingerprint.save();
+            }//end if
+        }catch(SimpleFxException e){
+            myLogger.log(Level.SEVERE, "SimpleFxException thrown while initializing the SimpleFX Framework managers. Error message is: " + e.getMessage(), e);
+            if(fingerprint != null){
+                fingerprint.invalidate();
+            }//end if
+            SFXDialogLauncher.exception = e;
+            showDialog(DialogType.FRAMEWORK_EXCEPTION);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "initializeManagers");
+    }//end method
+
+    /**
+     * This method is called during start up to extract the files of the application into the external resources directory.  The default
+     * implementation does nothing.
+     *
+     * <p>The method runs once logging has been initialized and at the same time as the application.properties and simplefx.gui.properties
+     * files are loaded, therefore it must not use the {@link PropertiesMgr} or the {@link UIPropertiesMgr}.  An exception thrown by this method
+     * is displayed within the same dialog as any other exception thrown while the SimpleFX Framework is starting up.</p>
+     *
+     * <p><b>Example</b></p>
+     * <pre><code>
+     * {@literal @Override} protected void extractResources() {
+     *     FileUtility.checkDirectories(getExternalResourcesDirectory() + "/scripts");
+     *     FileListFactory scripts = new FileListFactory("/com/omo/free/getlogs/scripts/", getExternalResourcesDirectory() + "/scripts", "get", "Logs", ".xml", GetLogs.class);
+     *     scripts.synchronize(null, true);
+     * }
+     * </code></pre>
+     */
+    protected void extractResources() {
+        //nothing is extracted by default
+    }//end method
+
     /**
      * This method will initialize and load the logging properties located within the myLoggings.properties file.
      * Once properties are fully loaded then the logging will start.
@@ -686,6 +793,8 @@ public abstract class SFXApplication {
         if(!appProperties.exists()){
             myLogger.info("Extracting the application.properties file from application.");
             copyInternalFileToExternalDestination(subclass, externalResourcesDirectory, "application.properties");
+        }else if(fingerprint != null && fingerprint.isUnchanged()){
+            myLogger.fine("Application jar is unchanged since the last launch therefore the application.properties comparison is skipped.");
         }else{
             // load internal and external then doing a comparison if there are any differences then
             if(propsAreEqual("application.properties")){
@@ -709,24 +818,47 @@ public abstract class SFXApplication {
             showDialog(DialogType.FRAMEWORK_EXCEPTION);
         }//end try...catch
 
-        if(System.getenv("USERDOMAIN").equals("ISU")){
-            Constants.APPLICATION_SHARED_DIRECTORY = PropertiesMgr.getInstance().getProperties().getProperty("isu.shared.location");
-        }else{
-            Constants.APPLICATION_SHARED_DIRECTORY = PropertiesMgr.getInstance().getProperties().getProperty("ads.shared.location");
-        }// end if
-        myLogger.info("Shared directory that was set based on domain is: " + Constants.APPLICATION_SHARED_DIRECTORY);
+        SharedLocations.select();//the domain shared directory unless shared.locations lists directories to choose from
+        myLogger.info("Shared directory that was selected is: " + Constants.APPLICATION_SHARED_DIRECTORY);
         myLogger.exiting(MY_CLASS_NAME, "initializeApplicationProperties");
     }//end method
 
     /**
      * This method will display a custom dialog determined by the {@code DialogType}.  The {@code DialogType} is set within the {@link SFXDialogLauncher}
      * class and then it is launched from the {@code JavaFX Application Thread}.
+     *
+     * <p>This method is synchronized as it may be called from more than one bootstrap phase at the same time and the dialog
+     * can only be launched once.</p>
+     *
+     * <p>If the JavaFX toolkit is already running (the resources are initialized while the {@link SFXPreloader} is showing) the dialog is
+     * displayed on the {@code JavaFX Application Thread} instead and the application exits once it has been closed, the same as it does
+     * when the {@link SFXDialogLauncher} is launched.</p>
      * @param dialogType the {@code DialogType} to display to the user
      */
-    private void showDialog(DialogType dialogType) {
+    private synchronized void showDialog(DialogType dialogType) {
         myLogger.entering(MY_CLASS_NAME, "showDialog", dialogType);
         SFXDialogLauncher.type = dialogType;
-        Application.launch(SFXDialogLauncher.class, commandLineArgs);
+        if(SFXApplicationLauncher.isToolkitRunning()){
+            CountDownLatch closed = new CountDownLatch(1);
+            Platform.runLater(() -> {
+                try{
+                    FXUtil.closeSplashScreen();
+                    dialogType.showPopUp();
+                }finally{
+                    closed.countDown();
+                }//end try...finally
+            });
+            try{
+                closed.await();
+            }catch(InterruptedException e){
+                myLogger.log(Level.WARNING, "InterruptedException occurred while waiting on the dialog to be closed. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+            myLogger.info("Starting to close application");
+            Platform.exit();
+            System.exit(0);
+        }else{
+            Application.launch(SFXDialogLauncher.class, commandLineArgs);
+        }//end if
         myLogger.exiting(MY_CLASS_NAME, "showDialog");
     }//end method
 
@@ -800,6 +932,17 @@ public abstract class SFXApplication {
         return commandLineArgs;
     }//end method
 
+    /**
+     * This method will return the {@link StartupReport} containing the timings of each phase of the application launch.  The report is built
+     * once the background update check has completed or timed out after the primary stage was shown, which may take up to the number of
+     * seconds set by the update.check.timeout.seconds property.
+     *
+     * @return the startup report or {@code null} if the startup has not finished yet
+     */
+    public static StartupReport getStartupReport() {
+        return StartupProfiler.getReport();
+    }//end method
+
     /**
      * This method will return the external resources directory path that was created by the JavaFX application.
      * @return the file path to the external resources directory.
@@ -2,6 +2,7 @@ package com.omo.free.simple.fx.application;
 
 import static com.omo.free.simple.fx.util.Constants.DEFAULT_SIMPLE_FX_ICON;
 
+import java.util.Arrays;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,6 +37,7 @@ public final class SFXApplicationLauncher extends Application {
     private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.SFXApplicationLauncher";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
     static Class<?> fxBuilder;
+    private static volatile boolean toolkitRunning;
     private Properties uiProps;
     private SFXViewBuilder view;
 
@@ -60,17 +62,6 @@ public final class SFXApplicationLauncher extends Application {
     @Override public void start(Stage primaryStage) throws Exception {
         myLogger.entering(MY_CLASS_NAME, "start", primaryStage);
         try{
-            if(Constants.IS_JAR && SFXApplication.getSFXApplicationClass() instanceof Refactorable){//checking to see if this application needs to be updated
-                myLogger.fine("checking to see if this application needs to be updated.");
-                Refactorable refactored = (Refactorable) SFXApplication.getSFXApplicationClass();
-                new ApplicationRefactor().checkForRefactoredApplication(refactored);
-            }//end if
-
-            if(Constants.IS_JAR){
-                myLogger.fine("checking to see if this application needs to be updated.");
-                new ApplicationUpdate().checkForNewerVersion(this.getClass());
-            }// end if
-
             myLogger.fine("setting the primary stage static field witin the SFXViewBuilder.");
             SFXViewBuilder.setPrimaryStage(primaryStage);
 
@@ -113,8 +104,23 @@ public final class SFXApplicationLauncher extends Application {
             primaryStage.initStyle(view.getStyle() == null ? StageStyle.DECORATED : view.getStyle());
             primaryStage.setX(Double.valueOf(uiProps.getProperty("window.location.x")));
             primaryStage.setY(Double.valueOf(uiProps.getProperty("window.location.y")));
+            StartupProfiler.Timing timing = StartupProfiler.begin("stage.show");
             primaryStage.show();
+            timing.end();
             FXUtil.closeSplashScreen();
+            StartupProgress.complete();
+            StartupProfiler.markFirstWindow();
+
+            if(Constants.IS_JAR && !ClassDataSharing.isTrainingRun()){//checking to see if this application needs to be updated without holding up the window
+                Refactorable refactored = SFXApplication.getSFXApplicationClass() instanceof Refactorable ? (Refactorable) SFXApplication.getSFXApplicationClass() : null;
+                BackgroundUpdateCheck.start(primaryStage, refactored, () -> {
+                    StartupProfiler.finish();
+                    UpdateWatcher.start(primaryStage, refactored);//keeps looking for a newer version while the application stays open
+                });
+            }else{
+                StartupProfiler.finish();
+            }//end if
+            ClassDataSharing.primaryStageShown();
         }catch(Exception e){
             SFXDialogLauncher.exception = e;
             SFXDialogLauncher.DialogType.FRAMEWORK_EXCEPTION.showPopUp();
@@ -122,6 +128,13 @@ public final class SFXApplicationLauncher extends Application {
         myLogger.exiting(MY_CLASS_NAME, "start");
     }// end method
 
+    /**
+     * @return {@code true} once the JavaFX toolkit has been started by launching this application
+     */
+    static boolean isToolkitRunning() {
+        return toolkitRunning;
+    }//end method
+
     /**
      * This method will attach an array of style sheets to the GUI window if the given array is not null.
      *
@@ -142,11 +155,17 @@ public final class SFXApplicationLauncher extends Application {
      *
      * <p>The implementation of this method provided by the Application class does nothing.</p>
      *
+     * <p>The SimpleFX implementation of this method initializes the application resources, logging and properties (refer to
+     * {@link SFXApplication#initializeResources()}) while the {@link SFXPreloader} displays their progress.</p>
+     *
      * <p>NOTE: This method is not called on the JavaFX Application Thread. An application must not construct a Scene or a Stage in this method.
      * An application may construct other JavaFX objects in this method.</p>
      */
     @Override public void init() {
         myLogger.entering(MY_CLASS_NAME, "init");
+        toolkitRunning = true;
+        StartupProgress.expect(Arrays.asList("view.build", "stage.show"));
+        SFXApplication.initializeResources();
         uiProps = UIPropertiesMgr.getInstance().getProperties();
         myLogger.exiting(MY_CLASS_NAME, "init");
     }// end method
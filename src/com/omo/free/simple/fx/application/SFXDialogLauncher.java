@@ -36,7 +36,9 @@ import javafx.scene.image.Image;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 
 /**
  * The SFXDialogLauncher class is for launching JavaFX Dialog popup windows on the JavaFX Application Thread.
@@ -118,6 +120,13 @@ public final class SFXDialogLauncher extends Application{
         },
         UPDATE_MESSAGE{
             @Override public void showPopUp() {
+                Optional<ButtonType> choice = createConfirmation().showAndWait();
+                if(choice.isPresent() && choice.get().equals(ButtonType.YES)){
+                    update = true;
+                }//end if
+            }//end method
+
+            @Override Alert createConfirmation() {
                 Alert alert = new Alert(AlertType.CONFIRMATION);
                 alert.getButtonTypes().removeAll(ButtonType.CANCEL, ButtonType.OK);
                 alert.getButtonTypes().addAll(ButtonType.YES, ButtonType.NO);
@@ -127,15 +136,18 @@ public final class SFXDialogLauncher extends Application{
                 alert.setContentText(message.toString());
 
                 addDefaultIcon(alert);
-
-                Optional<ButtonType> choice = alert.showAndWait();
-                if(choice.isPresent() && choice.get().equals(ButtonType.YES)){
-                    update = true;
-                }//end if
+                return alert;
             }//end method
         },
         REFACTOR_MESSAGE{
             @Override public void showPopUp() {
+                Optional<ButtonType> choice = createConfirmation().showAndWait();
+                if(choice.isPresent() && choice.get().equals(ButtonType.YES)){
+                    update = true;
+                }//end if
+            }//end method
+
+            @Override Alert createConfirmation() {
                 Alert alert = new Alert(AlertType.CONFIRMATION);
                 alert.getButtonTypes().removeAll(ButtonType.CANCEL, ButtonType.OK);
                 alert.getButtonTypes().addAll(ButtonType.YES, ButtonType.NO);
@@ -149,10 +161,7 @@ public final class SFXDialogLauncher extends Application{
                         .append("Do you want to update your existing application?");
                 alert.setContentText(message.toString());
                 addDefaultIcon(alert);
-                Optional<ButtonType> choice = alert.showAndWait();
-                if(choice.isPresent() && choice.get().equals(ButtonType.YES)){
-                    update = true;
-                }//end if
+                return alert;
             }//end method
         },
         BUILD_PATH_ISSUE{
@@ -306,6 +315,44 @@ public final class SFXDialogLauncher extends Application{
          */
         public abstract void showPopUp();
 
+        /**
+         * This method will build the yes or no question asked by this popup.
+         *
+         * @return the confirmation alert or {@code null} if this popup does not ask the user a question
+         */
+        Alert createConfirmation() {
+            return null;
+        }//end method
+
+        /**
+         * This method will display the question asked by this popup as a non-modal notification and return immediately so that the owner window
+         * remains usable while the question is showing.  If the user answers yes the {@code onAccept} action is run on the JavaFX Application
+         * Thread.  Popups that do not ask a question are displayed with {@link #showPopUp()} instead.
+         *
+         * <p>NOTE: This method must be called on the JavaFX Application Thread.</p>
+         *
+         * @param owner the window that owns the notification or {@code null}
+         * @param onAccept the action to run when the user answers yes
+         */
+        void showNotification(Window owner, Runnable onAccept) {
+            Alert alert = createConfirmation();
+            if(alert == null){
+                showPopUp();
+                return;
+            }//end if
+            if(owner != null){
+                alert.initOwner(owner);
+            }//end if
+            alert.initModality(Modality.NONE);
+            alert.setOnHidden(e -> {
+                if(ButtonType.YES.equals(alert.getResult())){
+                    update = true;
+                    onAccept.run();
+                }//end if
+            });
+            alert.show();
+        }//end method
+
         /**
          * This method will add the default SimpleFX Framework icon to the window.
          * @param alert the alert to add window to add default icon to
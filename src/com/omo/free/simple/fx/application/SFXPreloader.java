@@ -0,0 +1,139 @@
+package com.omo.free.simple.fx.application;
+
+import java.awt.Rectangle;
+import java.awt.SplashScreen;
+import java.net.URL;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.application.Preloader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * The SFXPreloader class is the JavaFX {@code Preloader} used by every SimpleFX application to display start up progress.
+ *
+ * <p>When the application was started with a splash screen (refer to {@link SFXApplication#updateSplashScreenFunctionality()}) the
+ * preloader takes over as soon as the JavaFX toolkit is running.  The same splash image is displayed in the same location with a progress
+ * bar and a message beneath it and the AWT splash screen is then closed.  The progress and message are driven by {@link StartupProgress}
+ * and are only redrawn when one of them has actually changed.  The preloader hides itself once the primary stage has been shown.</p>
+ *
+ * <p>When there is no splash screen nothing is displayed.</p>
+ *
+ * <p>NOTE: The preloader is registered by the {@link SFXApplication} through the javafx.preloader system property unless the developer
+ * has already set that property to a preloader of their own.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see StartupProgress
+ */
+public final class SFXPreloader extends Preloader {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.SFXPreloader";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private Stage stage;
+    private ProgressBar progressBar;
+    private Label messageLabel;
+
+    /**
+     * Constructs a new {@code SFXPreloader} instance.
+     */
+    public SFXPreloader() {}//end constructor
+
+    /**
+     * This method will replace the AWT splash screen with the preloader stage if there is a splash screen showing.
+     *
+     * <p>NOTE: This method is called on the JavaFX Application Thread.</p>
+     *
+     * @param primaryStage the stage of the preloader
+     */
+    @Override public void start(Stage primaryStage) {
+        myLogger.entering(MY_CLASS_NAME, "start", primaryStage);
+        SplashScreen splash = null;
+        try{
+            splash = SplashScreen.getSplashScreen();
+        }catch(Exception e){
+            myLogger.log(Level.FINE, "Splash screen is not available therefore the preloader will not be displayed. Error message is: " + e.getMessage(), e);
+        }//end try...catch
+
+        if(splash != null && splash.isVisible()){
+            URL imageURL = splash.getImageURL();
+            Rectangle bounds = splash.getBounds();
+
+            progressBar = new ProgressBar(StartupProgress.getProgress());
+            progressBar.setPrefWidth(bounds.getWidth() * 0.75);
+            messageLabel = new Label(StartupProgress.getMessage());
+            messageLabel.setTextFill(Color.WHITE);
+            messageLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 11px;");
+
+            VBox status = new VBox(4, messageLabel, progressBar);
+            status.setAlignment(Pos.BOTTOM_CENTER);
+            status.setPadding(new Insets(0, 0, 12, 0));
+
+            StackPane root = new StackPane(new ImageView(new Image(imageURL.toExternalForm())), status);
+            root.setStyle("-fx-background-color: transparent;");
+            Scene scene = new Scene(root, bounds.getWidth(), bounds.getHeight(), Color.TRANSPARENT);
+
+            stage = primaryStage;
+            stage.initStyle(StageStyle.TRANSPARENT);
+            stage.setScene(scene);
+            stage.setX(bounds.getX());
+            stage.setY(bounds.getY());
+            stage.show();
+            splash.close();
+            StartupProgress.setListener(() -> refresh());
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "start");
+    }//end method
+
+    /**
+     * This method will hide the preloader if the application failed to start.
+     *
+     * @param info the error notification
+     * @return {@code false} so that the default error handling still takes place
+     */
+    @Override public boolean handleErrorNotification(ErrorNotification info) {
+        myLogger.log(Level.SEVERE, "Application failed to start. Error message is: " + info.getDetails(), info.getCause());
+        hide();
+        return false;
+    }//end method
+
+    /**
+     * This method will redraw the progress bar and message.  It is only called on the JavaFX Application Thread.
+     */
+    private void refresh() {
+        if(StartupProgress.isComplete()){
+            hide();
+            return;
+        }//end if
+        double progress = StartupProgress.getProgress();
+        if(progress > progressBar.getProgress()){//never move backwards when more phases are expected
+            progressBar.setProgress(progress);
+        }//end if
+        String message = StartupProgress.getMessage();
+        if(!message.equals(messageLabel.getText())){
+            messageLabel.setText(message);
+        }//end if
+    }//end method
+
+    /**
+     * This method will stop listening to progress and hide the preloader stage.
+     */
+    private void hide() {
+        StartupProgress.setListener(null);
+        if(stage != null){
+            stage.hide();
+        }//end if
+    }//end method
+
+}//end class
@@ -249,7 +249,9 @@ public abstract class SFXViewBuilder {
      */
     private void layoutDevelopersPane() {
         myLogger.entering(MY_CLASS_NAME, "layoutDevelopersPane()");
+        StartupProfiler.Timing timing = StartupProfiler.begin("view.build");
         developerParent = buildParent();
+        timing.end();
 
         if(developerParent == null){
             myLogger.warning("The buildParent() method was not implemented correctly, a default GUI is being built and will be displayed to the developer.");
@@ -0,0 +1,176 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.ConfigSnapshot;
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.util.Constants;
+import com.omo.free.simple.fx.util.ShareProbe;
+
+/**
+ * The SharedLocations class chooses the shared directory that the application checks for and copies newer versions from.
+ *
+ * <p>By default the shared directory is the <b>isu.shared.location</b> when running on the ISU domain and the <b>ads.shared.location</b>
+ * otherwise.  When the optional <b>shared.locations</b> property lists more than one directory (separated by commas) the directories are
+ * probed at the same time and the first one to answer is used for the rest of the session.  A probe that does not answer within
+ * <b>shared.locations.probe.millis</b> milliseconds (2000 by default) is abandoned.  When none of the directories answer in time the first
+ * directory of the list is used.</p>
+ *
+ * <p>When the shared directory stops answering during an update check or an update it is marked as dark for the rest of the session and the
+ * remaining directories are probed again (refer to {@link #failover(File)}).</p>
+ *
+ * @author Richard Salas JCCC
+ * @see Constants#APPLICATION_SHARED_DIRECTORY
+ */
+final class SharedLocations {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.SharedLocations";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String LOCATIONS_PROPERTY = "shared.locations";
+    static final String PROBE_MILLIS_PROPERTY = "shared.locations.probe.millis";
+    private static final long DEFAULT_PROBE_MILLIS = 2000;
+
+    private static final Set<String> dark = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private SharedLocations() {}//end constructor
+
+    /**
+     * This method will choose the shared directory for this session and set it into {@link Constants#APPLICATION_SHARED_DIRECTORY}.
+     *
+     * @return the chosen shared directory
+     */
+    static synchronized String select() {
+        myLogger.entering(MY_CLASS_NAME, "select");
+        List<String> candidates = getCandidates();
+        String selected = candidates.size() > 1 ? probe(candidates) : null;
+        if(selected == null){
+            selected = candidates.isEmpty() ? null : candidates.get(0);
+        }//end if
+        Constants.APPLICATION_SHARED_DIRECTORY = selected;
+        myLogger.exiting(MY_CLASS_NAME, "select", selected);
+        return selected;
+    }//end method
+
+    /**
+     * This method will mark the shared directory that stopped answering as dark and switch to the fastest of the remaining directories.
+     *
+     * @param unreachable the shared directory that stopped answering
+     * @return the shared directory to use instead or {@code null} if there is no other directory that answers
+     */
+    static synchronized File failover(File unreachable) {
+        myLogger.entering(MY_CLASS_NAME, "failover", unreachable);
+        dark.add(unreachable.getAbsolutePath());
+        List<String> candidates = getCandidates();
+        List<String> remaining = new ArrayList<String>();
+        for(int i = 0, j = candidates.size();i < j;i++){
+            if(!dark.contains(new File(candidates.get(i)).getAbsolutePath())){
+                remaining.add(candidates.get(i));
+            }//end if
+        }//end for
+        File failover = null;
+        String selected = remaining.isEmpty() ? null : probe(remaining);
+        if(selected != null){
+            myLogger.warning("The shared directory " + unreachable.getAbsolutePath() + " stopped answering therefore " + selected + " is being used instead.");
+            Constants.APPLICATION_SHARED_DIRECTORY = selected;
+            failover = new File(selected);
+        }else{
+            myLogger.warning("The shared directory " + unreachable.getAbsolutePath() + " stopped answering and there is no other shared directory that answers.");
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "failover", failover);
+        return failover;
+    }//end method
+
+    /**
+     * This method will probe the directories at the same time.
+     *
+     * @param candidates the directories to probe
+     * @return the first directory to answer or {@code null} if none answered in time
+     */
+    private static String probe(List<String> candidates) {
+        myLogger.entering(MY_CLASS_NAME, "probe", candidates);
+        long probeMillis = getProbeMillis();
+        long deadline = System.currentTimeMillis() + probeMillis;
+        ExecutorService executor = Executors.newFixedThreadPool(candidates.size(), r -> {
+            Thread thread = new Thread(r, "SFXSharedProbe");
+            thread.setDaemon(true);//a probe of a dead server can block well past the deadline
+            return thread;
+        });
+        CompletionService<String> probes = new ExecutorCompletionService<String>(executor);
+        for(int i = 0, j = candidates.size();i < j;i++){
+            String candidate = candidates.get(i);
+            probes.submit(() -> {
+                boolean reachable = ShareProbe.isDirectory(new File(candidate), probeMillis);
+                myLogger.fine("Probe of " + candidate + " took " + ShareProbe.getLastLatencyMillis(new File(candidate)) + " ms and it is " + (reachable ? "reachable." : "not reachable."));
+                return reachable ? candidate : null;
+            });
+        }//end for
+        String fastest = null;
+        try{
+            for(int i = 0, j = candidates.size();i < j && fastest == null;i++){
+                Future<String> done = probes.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if(done == null){
+                    break;//deadline passed
+                }//end if
+                fastest = done.get();
+            }//end for
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }catch(ExecutionException e){
+            myLogger.log(Level.WARNING, "Exception while probing the shared directories. Error message is: " + e.getMessage(), e);
+        }finally{
+            executor.shutdownNow();
+        }//end try...catch...finally
+        if(fastest == null){
+            myLogger.warning("None of the shared directories " + candidates + " answered within " + probeMillis + " ms.");
+        }else{
+            myLogger.info("Shared directory " + fastest + " answered first of " + candidates + ".");
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "probe", fastest);
+        return fastest;
+    }//end method
+
+    /**
+     * @return the shared directories listed within the shared.locations property or the shared directory of the domain when it is not set
+     */
+    private static List<String> getCandidates() {
+        ConfigSnapshot config = PropertiesMgr.getInstance().getSnapshot();
+        List<String> candidates = new ArrayList<String>();
+        List<String> locations = config.getList(LOCATIONS_PROPERTY);
+        for(int i = 0, j = locations.size();i < j;i++){
+            if(!candidates.contains(locations.get(i))){
+                candidates.add(locations.get(i));
+            }//end if
+        }//end for
+        if(candidates.isEmpty()){
+            candidates.add(config.getString("ISU".equals(System.getenv("USERDOMAIN")) ? "isu.shared.location" : "ads.shared.location"));
+        }//end if
+        return candidates;
+    }//end method
+
+    /**
+     * @return the number of milliseconds a probe is given
+     */
+    private static long getProbeMillis() {
+        long millis = PropertiesMgr.getInstance().getSnapshot().getDuration(PROBE_MILLIS_PROPERTY, TimeUnit.MILLISECONDS, Duration.ofMillis(DEFAULT_PROBE_MILLIS)).toMillis();
+        return millis <= 0 ? DEFAULT_PROBE_MILLIS : millis;
+    }//end method
+
+}//end class
@@ -0,0 +1,160 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The SplashStatus class sends the progress of an update to the updating splash screen ({@code splash.AppUpdateSplash}) which runs in its
+ * own JVM.
+ *
+ * <p>When the updating splash screen starts it listens on a loopback port and writes <b>PORT:</b><i>port</i> into the updatestatus.dat
+ * file.  Every message is sent as a single line over a short lived connection to that port so that any of the processes that take part in an
+ * update can report to the same splash screen.  The messages are:</p>
+ * <ul>
+ *     <li><b>PROGRESS</b> <i>percent</i> <i>phase</i> - the percentage complete (0 to 100) and the phase being worked on</li>
+ *     <li><b>FINISHED</b> - the update is done and the splash screen closes</li>
+ * </ul>
+ *
+ * <p>A splash screen from an older version of the framework does not listen on a port.  For that splash screen progress is not sent and
+ * FINISHED is written into the updatestatus.dat file as it always has been.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see ApplicationUpdate
+ */
+final class SplashStatus {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.SplashStatus";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String FINISHED = "FINISHED";
+    static final String PROGRESS = "PROGRESS";
+    static final String PORT_PREFIX = "PORT:";
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private final File statusFile;
+    private int port;
+    private int lastPercent = -1;
+    private String lastPhase;
+
+    /**
+     * Creates a SplashStatus for the splash screen that watches the given status file.
+     *
+     * @param statusFilePath the path to the updatestatus.dat file or {@code null} if there is no splash screen
+     */
+    SplashStatus(String statusFilePath) {
+        this.statusFile = statusFilePath == null ? null : new File(statusFilePath);
+    }//end constructor
+
+    /**
+     * This method will send the progress of the update.  Nothing is sent when neither the percentage nor the phase has changed since the
+     * last call.
+     *
+     * @param percent the percentage complete between 0 and 100
+     * @param phase the phase being worked on
+     */
+    void progress(int percent, String phase) {
+        int clamped = Math.max(0, Math.min(100, percent));
+        if(clamped != lastPercent || !phase.equals(lastPhase)){
+            lastPercent = clamped;
+            lastPhase = phase;
+            send(PROGRESS + " " + clamped + " " + phase);
+        }//end if
+    }//end method
+
+    /**
+     * This method will tell the splash screen that the update is done.  FINISHED is written into the status file when the splash screen can
+     * not be reached over its port.
+     */
+    void finish() {
+        if(statusFile != null && statusFile.exists() && !send(FINISHED)){
+            BufferedWriter bw = null;
+            try{
+                bw = new BufferedWriter(new FileWriter(statusFile));
+                bw.write(FINISHED);
+            }catch(IOException e){
+                System.err.println("IOException trying to write finished to the following file: " + statusFile.getPath() + ". Error is:" + e.getMessage());
+            }finally{
+                if(bw != null){
+                    try{
+                        bw.close();
+                    }catch(IOException e){
+                        System.err.println("IOException trying to close writer. Error is:" + e.getMessage());
+                    }//end...try...catch
+                }//end if
+            }//end try...catch
+        }//end if
+    }//end method
+
+    /**
+     * This method will send a message to the splash screen over its port.
+     *
+     * @param message the message to send
+     * @return {@code true} if the message was delivered, {@code false} if the splash screen does not listen on a port or could not be reached
+     */
+    boolean send(String message) {
+        if(port == 0){
+            port = readPort();
+            if(port == 0){
+                return false;
+            }//end if
+        }//end if
+        Socket socket = new Socket();
+        try{
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT_MILLIS);
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(message);
+            writer.write('\n');
+            writer.flush();
+            return true;
+        }catch(IOException e){
+            myLogger.log(Level.FINE, "Could not send " + message + " to the updating splash screen on port " + port + ". Error message is: " + e.getMessage(), e);
+            return false;
+        }finally{
+            try{
+                socket.close();
+            }catch(IOException e){
+                myLogger.log(Level.FINEST, "IOException while closing the splash screen connection. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end try...catch...finally
+    }//end method
+
+    /**
+     * @return the port the splash screen listens on or 0 if it has not written one into the status file
+     */
+    private int readPort() {
+        if(statusFile == null || !statusFile.exists()){
+            return 0;
+        }//end if
+        BufferedReader br = null;
+        try{
+            br = new BufferedReader(new FileReader(statusFile));
+            String line = br.readLine();
+            if(line != null && line.startsWith(PORT_PREFIX)){
+                return Integer.parseInt(line.substring(PORT_PREFIX.length()).trim());
+            }//end if
+        }catch(IOException | NumberFormatException e){
+            myLogger.log(Level.FINE, "Could not read the port of the updating splash screen from " + statusFile.getPath() + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            if(br != null){
+                try{
+                    br.close();
+                }catch(IOException e){
+                    myLogger.log(Level.FINEST, "IOException while closing the status file. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return 0;
+    }//end method
+
+}//end class
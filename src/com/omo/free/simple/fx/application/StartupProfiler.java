@@ -0,0 +1,202 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.util.Constants;
+import com.omo.free.util.AppUtil;
+
+/**
+ * The StartupProfiler class records the wall clock and cpu time of each phase that runs while a SimpleFX application is launching.
+ *
+ * <p>Phases may be recorded from any thread.  Once the primary stage has been shown and the update checks have completed the {@link #finish()}
+ * method will build the {@link StartupReport} and append it to the startupReports.log file located within the startup directory of the external
+ * resources directory.  When the log file grows larger than 256 KB it is rolled over to startupReports.1.log.</p>
+ *
+ * <p>Every phase that begins and ends is also reported to {@link StartupProgress} which drives the progress displayed by the
+ * {@link SFXPreloader}.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     StartupProfiler.Timing timing = StartupProfiler.begin("runtime.constants");
+ *     try{
+ *         initializeRuntimeConstants();
+ *     }finally{
+ *         timing.end();
+ *     }//end try...finally
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ * @see StartupReport
+ */
+final class StartupProfiler {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.StartupProfiler";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final String REPORT_DIRECTORY = "startup";
+    private static final String REPORT_FILE = "startupReports.log";
+    private static final String ROLLED_REPORT_FILE = "startupReports.1.log";
+    private static final long MAX_LOG_BYTES = 256 * 1024;
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_BEAN.isThreadCpuTimeEnabled();
+    private static final long JVM_START_MILLIS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final long JVM_START_NANOS = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() - JVM_START_MILLIS);
+
+    private static final ConcurrentLinkedQueue<StartupReport.Phase> phases = new ConcurrentLinkedQueue<StartupReport.Phase>();
+    private static final AtomicBoolean finished = new AtomicBoolean();
+    private static volatile long firstWindowNanos;
+    private static volatile StartupReport report;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private StartupProfiler() {}//end constructor
+
+    /**
+     * This method will start timing the phase with the given name on the current thread.
+     *
+     * @param name the name of the phase
+     * @return the timing which must be ended by the same thread once the phase has completed
+     */
+    static Timing begin(String name) {
+        StartupProgress.phaseStarted(name);
+        return new Timing(name);
+    }//end method
+
+    /**
+     * This method records the moment the primary stage was shown.  The report may be finished later than this, for example once the background
+     * update checks have completed, but the time to first window is always measured up to this moment.
+     */
+    static void markFirstWindow() {
+        if(firstWindowNanos == 0){
+            firstWindowNanos = System.nanoTime();
+        }//end if
+    }//end method
+
+    /**
+     * This method will build the {@link StartupReport} from every phase recorded so far and then append it to the startupReports.log file.
+     * Only the first call to this method has any effect.
+     */
+    static void finish() {
+        myLogger.entering(MY_CLASS_NAME, "finish");
+        if(finished.compareAndSet(false, true)){
+            List<StartupReport.Phase> recorded = new ArrayList<StartupReport.Phase>(phases);
+            Collections.sort(recorded, Comparator.comparingLong(StartupReport.Phase::getStartOffsetMillis));
+            long jvmStartupMillis = recorded.isEmpty() ? 0 : recorded.get(0).getStartOffsetMillis();
+            long timeToFirstWindowMillis = TimeUnit.NANOSECONDS.toMillis((firstWindowNanos == 0 ? System.nanoTime() : firstWindowNanos) - JVM_START_NANOS);
+            String version = AppUtil.isNullOrEmpty(Constants.CURRENT_VERSION_LABEL) ? "" : Constants.CURRENT_VERSION_LABEL;
+            report = new StartupReport(new Date(JVM_START_MILLIS), version, jvmStartupMillis, timeToFirstWindowMillis, recorded);
+            myLogger.info("Startup completed in " + timeToFirstWindowMillis + " ms. " + report);
+
+            String resourcesDirectory = SFXApplication.getExternalResourcesDirectory();
+            if(resourcesDirectory != null){
+                final StartupReport toWrite = report;
+                Thread writer = new Thread(() -> appendToLog(new File(resourcesDirectory, REPORT_DIRECTORY), toWrite), "SFXStartupReportWriter");
+                writer.setDaemon(true);
+                writer.start();
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "finish");
+    }//end method
+
+    /**
+     * @return the startup report or {@code null} if the startup has not finished yet
+     */
+    static StartupReport getReport() {
+        return report;
+    }//end method
+
+    /**
+     * This method will append the report to the startupReports.log file, rolling the file over first if it has grown too large.
+     *
+     * @param directory the directory the log file is written to
+     * @param startupReport the report to append
+     */
+    private static void appendToLog(File directory, StartupReport startupReport) {
+        myLogger.entering(MY_CLASS_NAME, "appendToLog", new Object[]{directory, startupReport});
+        if(!directory.exists() && !directory.mkdirs()){
+            myLogger.warning("Could not create the startup report directory " + directory.getAbsolutePath() + " therefore the startup report will not be saved.");
+            return;
+        }//end if
+
+        File logFile = new File(directory, REPORT_FILE);
+        BufferedWriter bw = null;
+        try{
+            if(logFile.length() > MAX_LOG_BYTES){
+                Files.move(logFile.toPath(), Paths.get(directory.getPath(), ROLLED_REPORT_FILE), StandardCopyOption.REPLACE_EXISTING);
+            }//end if
+            bw = new BufferedWriter(new FileWriter(logFile, true));
+            bw.write(startupReport.toLogLine());
+            bw.newLine();
+            bw.flush();
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to write the startup report to " + logFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            if(bw != null){
+                try{
+                    bw.close();
+                }catch(IOException e){
+                    myLogger.log(Level.WARNING, "IOException occurred while trying to close the buffered writer.  Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        myLogger.exiting(MY_CLASS_NAME, "appendToLog");
+    }//end method
+
+    /**
+     * @return cpu time of the current thread in nanoseconds or -1 if it is not supported
+     */
+    private static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_BEAN.getCurrentThreadCpuTime() : -1;
+    }//end method
+
+    /**
+     * The timing of a single phase that has started but not yet ended.
+     */
+    static final class Timing {
+        private final String name;
+        private final long startNanos;
+        private final long startCpuNanos;
+
+        /**
+         * Creates a Timing and starts the clock.
+         *
+         * @param name the name of the phase being timed
+         */
+        private Timing(String name) {
+            this.name = name;
+            this.startCpuNanos = currentThreadCpuTime();
+            this.startNanos = System.nanoTime();
+        }//end constructor
+
+        /**
+         * This method will stop the clock and record the phase.
+         */
+        void end() {
+            long wallNanos = System.nanoTime() - startNanos;
+            long cpuMillis = startCpuNanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(currentThreadCpuTime() - startCpuNanos);
+            long startOffsetMillis = TimeUnit.NANOSECONDS.toMillis(startNanos - JVM_START_NANOS);
+            phases.add(new StartupReport.Phase(name, Thread.currentThread().getName(), startOffsetMillis, TimeUnit.NANOSECONDS.toMillis(wallNanos), cpuMillis));
+            StartupProgress.phaseEnded(name);
+        }//end method
+    }//end class
+
+}//end class
@@ -0,0 +1,155 @@
+package com.omo.free.simple.fx.application;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import javafx.application.Platform;
+
+/**
+ * The StartupProgress class tracks how far a SimpleFX application has gotten through its start up phases so that the {@link SFXPreloader}
+ * can display real progress to the user.
+ *
+ * <p>The phases that make up the start up are registered with {@link #expect(Collection)} before they run and the {@link StartupProfiler}
+ * reports each phase as it begins and ends.  Progress is the number of expected phases that have completed divided by the number of
+ * expected phases.  Phases that were not expected still change the message that is displayed but do not move the progress.</p>
+ *
+ * <p>Phase events may arrive from any thread and in quick succession.  The listener is never called directly, instead a single update is
+ * queued onto the JavaFX Application Thread and any events that arrive before it has run are folded into that same update.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see SFXPreloader
+ */
+final class StartupProgress {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.StartupProgress";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    private static final Set<String> expected = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final Set<String> completed = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private static final AtomicBoolean updatePending = new AtomicBoolean();
+    private static volatile String message = "Application is loading";
+    private static volatile boolean complete;
+    private static volatile Runnable listener;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private StartupProgress() {}//end constructor
+
+    /**
+     * This method will register the names of phases that are going to run.
+     *
+     * @param phaseNames the names of the phases
+     */
+    static void expect(Collection<String> phaseNames) {
+        expected.addAll(phaseNames);
+        publish();
+    }//end method
+
+    /**
+     * @param phaseName the name of the phase that has started
+     */
+    static void phaseStarted(String phaseName) {
+        message = describe(phaseName);
+        publish();
+    }//end method
+
+    /**
+     * @param phaseName the name of the phase that has ended
+     */
+    static void phaseEnded(String phaseName) {
+        if(expected.contains(phaseName)){
+            completed.add(phaseName);
+            publish();
+        }//end if
+    }//end method
+
+    /**
+     * This method is called once the primary stage has been shown and marks the start up as complete.
+     */
+    static void complete() {
+        myLogger.fine("Start up is complete, " + completed.size() + " of " + expected.size() + " expected phases were reported.");
+        complete = true;
+        publish();
+    }//end method
+
+    /**
+     * @return the progress between 0 and 1 or -1 if no phases are expected yet
+     */
+    static double getProgress() {
+        if(complete){
+            return 1;
+        }//end if
+        int total = expected.size();
+        return total == 0 ? -1 : Math.min(1, (double) completed.size() / total);
+    }//end method
+
+    /**
+     * @return the message describing the phase that most recently started
+     */
+    static String getMessage() {
+        return message;
+    }//end method
+
+    /**
+     * @return {@code true} once the primary stage has been shown
+     */
+    static boolean isComplete() {
+        return complete;
+    }//end method
+
+    /**
+     * This method will set the listener that is run on the JavaFX Application Thread whenever the progress or message has changed.
+     *
+     * @param progressListener the listener or {@code null} to remove it
+     */
+    static void setListener(Runnable progressListener) {
+        listener = progressListener;
+        publish();
+    }//end method
+
+    /**
+     * This method will queue an update for the listener unless one is already waiting to run.
+     */
+    private static void publish() {
+        if(listener != null && updatePending.compareAndSet(false, true)){
+            Platform.runLater(() -> {
+                updatePending.set(false);
+                Runnable current = listener;
+                if(current != null){
+                    current.run();
+                }//end if
+            });
+        }//end if
+    }//end method
+
+    /**
+     * @param phaseName the name of the phase
+     * @return the message shown to the user while the phase runs
+     */
+    private static String describe(String phaseName) {
+        switch(phaseName){
+            case "resources":
+                return "Extracting application resources";
+            case "logging":
+                return "Starting logging";
+            case "fingerprint":
+                return "Checking application resources";
+            case "application.properties":
+                return "Loading application properties";
+            case "simplefx.gui.properties":
+                return "Loading window settings";
+            case "view.build":
+                return "Building the window";
+            case "stage.show":
+                return "Opening the window";
+            default:
+                return "Application is loading";
+        }//end switch
+    }//end method
+
+}//end class
@@ -0,0 +1,197 @@
+package com.omo.free.simple.fx.application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The StartupReport class contains the wall clock and cpu timings of every phase recorded during the launch of a SimpleFX application.
+ *
+ * <p>A report is created once the primary stage has been shown and the background update check has completed or timed out, and can be obtained
+ * by calling {@link SFXApplication#getStartupReport()}.
+ * Each report is also appended to the startupReports.log file located within the startup directory of the external resources directory so
+ * that launch times can be compared between versions of an application.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     StartupReport report = SFXApplication.getStartupReport();
+ *     if(report != null){
+ *         for(StartupReport.Phase phase : report.getPhases()){
+ *             System.out.println(phase.getName() + " took " + phase.getWallMillis() + " ms");
+ *         }
+ *     }
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ * @see SFXApplication
+ */
+public final class StartupReport {
+
+    private final Date launchDate;
+    private final String version;
+    private final long jvmStartupMillis;
+    private final long timeToFirstWindowMillis;
+    private final List<Phase> phases;
+
+    /**
+     * Creates a StartupReport.
+     *
+     * @param launchDate the date the JVM was started
+     * @param version the version label of the running application
+     * @param jvmStartupMillis milliseconds between the JVM starting and the SimpleFX Framework receiving control
+     * @param timeToFirstWindowMillis milliseconds between the JVM starting and the primary stage being shown
+     * @param phases the recorded phases
+     */
+    StartupReport(Date launchDate, String version, long jvmStartupMillis, long timeToFirstWindowMillis, List<Phase> phases) {
+        this.launchDate = launchDate;
+        this.version = version;
+        this.jvmStartupMillis = jvmStartupMillis;
+        this.timeToFirstWindowMillis = timeToFirstWindowMillis;
+        this.phases = Collections.unmodifiableList(new ArrayList<Phase>(phases));
+    }//end constructor
+
+    /**
+     * @return the date the JVM was started
+     */
+    public Date getLaunchDate() {
+        return new Date(launchDate.getTime());
+    }//end method
+
+    /**
+     * @return the version label of the running application or an empty string if running within a development environment
+     */
+    public String getVersion() {
+        return version;
+    }//end method
+
+    /**
+     * @return milliseconds between the JVM starting and the SimpleFX Framework receiving control
+     */
+    public long getJvmStartupMillis() {
+        return jvmStartupMillis;
+    }//end method
+
+    /**
+     * @return milliseconds between the JVM starting and the primary stage being shown
+     */
+    public long getTimeToFirstWindowMillis() {
+        return timeToFirstWindowMillis;
+    }//end method
+
+    /**
+     * @return an unmodifiable list of phases ordered by the time they started
+     */
+    public List<Phase> getPhases() {
+        return phases;
+    }//end method
+
+    /**
+     * This method will return the phase with the given name.
+     *
+     * @param name the name of the phase
+     * @return the phase or {@code null} if the phase was not recorded
+     */
+    public Phase getPhase(String name) {
+        for(int i = 0, j = phases.size();i < j;i++){
+            if(phases.get(i).getName().equals(name)){
+                return phases.get(i);
+            }//end if
+        }//end for
+        return null;
+    }//end method
+
+    /**
+     * This method will return the report as a single line which is the format used within the startupReports.log file.
+     *
+     * @return single line representation of the report
+     */
+    String toLogLine() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(launchDate.getTime()).append('|').append(version).append('|').append("jvm=").append(jvmStartupMillis).append('|').append("firstWindow=").append(timeToFirstWindowMillis);
+        for(int i = 0, j = phases.size();i < j;i++){
+            Phase phase = phases.get(i);
+            sb.append('|').append(phase.getName()).append('=').append(phase.getWallMillis()).append('/').append(phase.getCpuMillis());
+        }//end for
+        return sb.toString();
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override public String toString() {
+        StringBuilder sb = new StringBuilder("StartupReport [version=").append(version).append(", jvmStartupMillis=").append(jvmStartupMillis).append(", timeToFirstWindowMillis=").append(timeToFirstWindowMillis).append(", phases=").append(phases).append("]");
+        return sb.toString();
+    }//end method
+
+    /**
+     * The timings of a single start up phase.
+     */
+    public static final class Phase {
+        private final String name;
+        private final String threadName;
+        private final long startOffsetMillis;
+        private final long wallMillis;
+        private final long cpuMillis;
+
+        /**
+         * Creates a Phase.
+         *
+         * @param name the name of the phase
+         * @param threadName the name of the thread the phase ran on
+         * @param startOffsetMillis milliseconds between the JVM starting and this phase starting
+         * @param wallMillis the wall clock time of the phase in milliseconds
+         * @param cpuMillis the cpu time of the phase in milliseconds or -1 if cpu time is not supported by the JVM
+         */
+        Phase(String name, String threadName, long startOffsetMillis, long wallMillis, long cpuMillis) {
+            this.name = name;
+            this.threadName = threadName;
+            this.startOffsetMillis = startOffsetMillis;
+            this.wallMillis = wallMillis;
+            this.cpuMillis = cpuMillis;
+        }//end constructor
+
+        /**
+         * @return the name of the phase
+         */
+        public String getName() {
+            return name;
+        }//end method
+
+        /**
+         * @return the name of the thread the phase ran on
+         */
+        public String getThreadName() {
+            return threadName;
+        }//end method
+
+        /**
+         * @return milliseconds between the JVM starting and this phase starting
+         */
+        public long getStartOffsetMillis() {
+            return startOffsetMillis;
+        }//end method
+
+        /**
+         * @return the wall clock time of the phase in milliseconds
+         */
+        public long getWallMillis() {
+            return wallMillis;
+        }//end method
+
+        /**
+         * @return the cpu time of the phase in milliseconds or -1 if cpu time is not supported by the JVM
+         */
+        public long getCpuMillis() {
+            return cpuMillis;
+        }//end method
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override public String toString() {
+            return name + "[start=" + startOffsetMillis + "ms, wall=" + wallMillis + "ms, cpu=" + cpuMillis + "ms, thread=" + threadName + "]";
+        }//end method
+    }//end class
+
+}//end class
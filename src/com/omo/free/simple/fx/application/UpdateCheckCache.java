@@ -0,0 +1,205 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.util.FileUtility;
+import com.omo.free.simple.fx.util.ShareProbe;
+import com.omo.free.simple.fx.util.VersionCatalog;
+import com.omo.free.util.AppUtil;
+
+/**
+ * The UpdateCheckCache class remembers that the running version of the application was found to be the newest version so that the next
+ * launches do not have to search the shared directory and open the shared jar again.
+ *
+ * <p>When an update check finds no newer version the result is written into <i>resources/update/updatecheck.properties</i> along with the
+ * running version and the last modified time of the file that changes when a new version is published.  That file is the version catalog
+ * of the application when one has been published, which the build writes again every time it publishes a jar.  Otherwise it is the shared
+ * directory itself, and as the last modified time of a directory does not change when a jar within it is overwritten in place the path,
+ * size and last modified time of the newest shared jar are recorded as well.  For the next <b>update.check.cache.minutes</b> minutes (60 by
+ * default, 0 turns the cache off) an update check only looks at the last modified time of that one file, and at the size and last modified
+ * time of the recorded shared jar when there is no catalog, and reports that there is no newer version if none of them changed.</p>
+ *
+ * <p>Results that found a newer version are never cached.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see ApplicationUpdate#findNewerVersion(Class)
+ */
+final class UpdateCheckCache {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.UpdateCheckCache";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String TTL_PROPERTY = "update.check.cache.minutes";
+    private static final long DEFAULT_TTL_MINUTES = 60;
+    private static final String CACHE_FILE = "update/updatecheck.properties";
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private UpdateCheckCache() {}//end constructor
+
+    /**
+     * This method will check to see if a recent update check already found that the running version is the newest version.
+     *
+     * @param sharedDirectory the shared directory
+     * @param prefix the prefix of the application jar, for example {@code MyAppv1}
+     * @param runningVersion the version of the running application
+     * @return {@code true} if the cached result is still valid and there is no newer version
+     */
+    static boolean isUpToDate(File sharedDirectory, String prefix, String runningVersion) {
+        myLogger.entering(MY_CLASS_NAME, "isUpToDate", new Object[]{sharedDirectory, prefix, runningVersion});
+        boolean upToDate = false;
+        long ttlMillis = TimeUnit.MINUTES.toMillis(getTtlMinutes());
+        File cacheFile = getCacheFile();
+        if(ttlMillis > 0 && cacheFile != null && cacheFile.isFile()){
+            Properties cache = load(cacheFile);
+            long checked = parseLong(cache.getProperty(prefix + ".checked"));
+            String probe = cache.getProperty(prefix + ".probe");
+            long age = System.currentTimeMillis() - checked;
+            if(runningVersion.equals(cache.getProperty(prefix + ".runningVersion")) && probe != null && age >= 0 && age < ttlMillis){
+                long probeLastModified = ShareProbe.lastModified(new File(probe));//the only look at the shared directory when a catalog was published
+                upToDate = probeLastModified != 0 && probeLastModified == parseLong(cache.getProperty(prefix + ".probe.lastModified"));
+                if(upToDate && !probe.endsWith(VersionCatalog.CATALOG_SUFFIX)){
+                    upToDate = isSharedJarUnchanged(cache, prefix);
+                }//end if
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "isUpToDate", upToDate);
+        return upToDate;
+    }//end method
+
+    /**
+     * This method will record that the running version is the newest version.  The shared jar is only recorded when no catalog has been
+     * published.
+     *
+     * @param sharedDirectory the shared directory
+     * @param prefix the prefix of the application jar, for example {@code MyAppv1}
+     * @param runningVersion the version of the running application
+     * @param sharedJarFile the newest jar within the shared directory
+     * @param sharedJarSize the size of the newest jar
+     * @param sharedJarLastModified the last modified time of the newest jar
+     */
+    static void recordUpToDate(File sharedDirectory, String prefix, String runningVersion, File sharedJarFile, long sharedJarSize, long sharedJarLastModified) {
+        myLogger.entering(MY_CLASS_NAME, "recordUpToDate", new Object[]{sharedDirectory, prefix, runningVersion, sharedJarFile});
+        File cacheFile = getCacheFile();
+        if(getTtlMinutes() <= 0 || cacheFile == null){
+            return;
+        }//end if
+        File probe = new File(sharedDirectory, prefix + VersionCatalog.CATALOG_SUFFIX);
+        long probeLastModified = ShareProbe.lastModified(probe);
+        if(probeLastModified == 0){
+            probe = sharedDirectory;
+            probeLastModified = ShareProbe.lastModified(probe);
+        }//end if
+        if(probeLastModified == 0){
+            return;
+        }//end if
+        Properties cache = cacheFile.isFile() ? load(cacheFile) : new Properties();
+        cache.setProperty(prefix + ".runningVersion", runningVersion);
+        cache.setProperty(prefix + ".checked", String.valueOf(System.currentTimeMillis()));
+        cache.setProperty(prefix + ".probe", probe.getAbsolutePath());
+        cache.setProperty(prefix + ".probe.lastModified", String.valueOf(probeLastModified));
+        if(probe == sharedDirectory){
+            cache.setProperty(prefix + ".shared.jar", sharedJarFile.getAbsolutePath());
+            cache.setProperty(prefix + ".shared.size", String.valueOf(sharedJarSize));
+            cache.setProperty(prefix + ".shared.lastModified", String.valueOf(sharedJarLastModified));
+        }else{
+            cache.remove(prefix + ".shared.jar");
+            cache.remove(prefix + ".shared.size");
+            cache.remove(prefix + ".shared.lastModified");
+        }//end if
+        try{
+            FileUtility.checkDirectories(cacheFile.getParent());
+            File temp = new File(cacheFile.getPath() + ".tmp");
+            OutputStream out = new FileOutputStream(temp);
+            try{
+                cache.store(out, "SimpleFX update check results");
+            }finally{
+                out.close();
+            }//end try...finally
+            Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not write the update check cache " + cacheFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        myLogger.exiting(MY_CLASS_NAME, "recordUpToDate");
+    }//end method
+
+    /**
+     * @param cache the contents of the cache file
+     * @param prefix the prefix of the application jar
+     * @return {@code true} if the shared jar that was recorded still has the size and last modified time it had when it was recorded
+     */
+    private static boolean isSharedJarUnchanged(Properties cache, String prefix) {
+        String sharedJar = cache.getProperty(prefix + ".shared.jar");
+        if(sharedJar == null){
+            return false;
+        }//end if
+        File sharedJarFile = new File(sharedJar);
+        long lastModified = ShareProbe.lastModified(sharedJarFile);
+        return lastModified != 0 && lastModified == parseLong(cache.getProperty(prefix + ".shared.lastModified"))
+                && ShareProbe.length(sharedJarFile) == parseLong(cache.getProperty(prefix + ".shared.size"));
+    }//end method
+
+    /**
+     * @return the update check cache file or {@code null} if the external resources directory is not known
+     */
+    private static File getCacheFile() {
+        String resources = SFXApplication.getExternalResourcesDirectory();
+        return AppUtil.isNullOrEmpty(resources) ? null : new File(resources, CACHE_FILE);
+    }//end method
+
+    /**
+     * @param cacheFile the cache file
+     * @return the contents of the cache file, empty if it could not be read
+     */
+    private static Properties load(File cacheFile) {
+        Properties cache = new Properties();
+        InputStream in = null;
+        try{
+            in = new FileInputStream(cacheFile);
+            cache.load(in);
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not read the update check cache " + cacheFile.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }finally{
+            if(in != null){
+                try{
+                    in.close();
+                }catch(IOException e){
+                    myLogger.log(Level.FINE, "IOException while trying to close the update check cache. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return cache;
+    }//end method
+
+    /**
+     * @param value the value to parse
+     * @return the value as a long or 0 if it is not a number
+     */
+    private static long parseLong(String value) {
+        try{
+            return value == null ? 0 : Long.parseLong(value.trim());
+        }catch(NumberFormatException e){
+            return 0;
+        }//end try...catch
+    }//end method
+
+    /**
+     * @return the number of minutes a result is kept or 0 if the cache is turned off
+     */
+    private static long getTtlMinutes() {
+        return Math.max(0, PropertiesMgr.getInstance().getSnapshot().getLong(TTL_PROPERTY, DEFAULT_TTL_MINUTES));
+    }//end method
+
+}//end class
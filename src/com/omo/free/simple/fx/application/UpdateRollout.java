@@ -0,0 +1,199 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.util.VersionCatalog;
+import com.omo.free.util.AppUtil;
+
+/**
+ * The UpdateRollout class applies the rollout policy published within the version catalog so that the clients of an application do not all
+ * copy a newly published jar from the shared directory at the same time.
+ *
+ * <p>Every client is placed into a bucket from 0 to 99 by hashing its user and computer name with the name of the published jar, so a
+ * client stays in the same bucket for a given jar and lands in a different bucket for the next one.  A client is offered the jar when:</p>
+ * <ul>
+ *     <li>its bucket is below <b>rollout.percent</b> of the catalog (the canary)</li>
+ *     <li>its own point within the <b>rollout.window.minutes</b> of the catalog has passed since the catalog was published (the jitter)</li>
+ *     <li>fewer than <b>rollout.max.concurrent</b> clients hold a copy token within the shared directory</li>
+ * </ul>
+ *
+ * <p>A client that is not offered the jar keeps running its current version and checks again the next time an update check runs.  The
+ * outcome is never cached as being up to date.</p>
+ *
+ * <p>A copy token is an empty file named after the client within <i>&lt;prefix&gt;.copying</i> next to the catalog.  It is created before the
+ * jar is copied and deleted right after.  Tokens older than {@link #TOKEN_STALE_MINUTES} minutes are left over from clients that did not
+ * finish and are removed by the next client that counts them.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see VersionCatalog
+ * @see ApplicationUpdate#findNewerVersion(Class)
+ */
+final class UpdateRollout {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.UpdateRollout";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final long TOKEN_STALE_MINUTES = 15;
+    private static final String TOKEN_DIRECTORY_SUFFIX = ".copying";
+    private static final String TOKEN_SUFFIX = ".token";
+    private static final long TOKEN_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(60);
+    private static final long TOKEN_POLL_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    /** Returned by {@link #acquire(File, boolean)} when the catalog does not limit how many clients copy at once. */
+    static final File NO_LIMIT = new File("");
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private UpdateRollout() {}//end constructor
+
+    /**
+     * This method will check to see if this client is offered the jar named within the catalog at this time.
+     *
+     * @param sharedDirectory the shared directory
+     * @param prefix the prefix of the application jar, for example {@code MyAppv1}
+     * @param catalog the version catalog of the application
+     * @return {@code true} if this client may update now, {@code false} if it has to keep running its current version for now
+     */
+    static boolean isOffered(File sharedDirectory, String prefix, VersionCatalog catalog) {
+        myLogger.entering(MY_CLASS_NAME, "isOffered", new Object[]{sharedDirectory, prefix, catalog});
+        boolean offered = true;
+        int bucket = bucket(catalog.getJarName() + ":canary");
+        if(bucket >= catalog.getRolloutPercent()){
+            myLogger.info("The rollout of " + catalog.getJarName() + " is limited to " + catalog.getRolloutPercent() + "% of clients and this client is in bucket " + bucket + " therefore it is not offered yet.");
+            offered = false;
+        }//end if
+
+        long windowMillis = TimeUnit.MINUTES.toMillis(catalog.getRolloutWindowMinutes());
+        if(offered && windowMillis > 0){
+            long offerAt = catalog.getPublished() + (windowMillis * bucket(catalog.getJarName() + ":window") / 100);
+            if(System.currentTimeMillis() < offerAt){
+                myLogger.info("The rollout of " + catalog.getJarName() + " reaches this client in " + TimeUnit.MILLISECONDS.toMinutes(offerAt - System.currentTimeMillis() + 59999) + " minute(s) therefore it is not offered yet.");
+                offered = false;
+            }//end if
+        }//end if
+
+        if(offered && catalog.getRolloutMaxConcurrent() > 0){
+            int copying = countTokens(getTokenDirectory(sharedDirectory, prefix), null);
+            if(copying >= catalog.getRolloutMaxConcurrent()){
+                myLogger.info(copying + " client(s) are copying " + catalog.getJarName() + " which is the most allowed at once therefore it is not offered yet.");
+                offered = false;
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "isOffered", offered);
+        return offered;
+    }//end method
+
+    /**
+     * This method will take a copy token for the shared jar when its catalog limits how many clients copy at once.  When the limit has been
+     * reached the method either gives up right away or waits up to a minute for a token to free up.  It is up to the caller whether to copy
+     * without a token, an update the user has agreed to goes ahead while staging does not.
+     *
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param wait {@code true} to wait for a token to free up, {@code false} to give up right away
+     * @return the token to pass to {@link #release(File)} once the copy is done, {@link #NO_LIMIT} if the catalog does not limit the copies
+     *         or {@code null} if the limit has been reached and no token was taken
+     */
+    static File acquire(File sharedJarFile, boolean wait) {
+        myLogger.entering(MY_CLASS_NAME, "acquire", new Object[]{sharedJarFile, wait});
+        File sharedDirectory = sharedJarFile.getParentFile();
+        String prefix = VersionCatalog.getPrefix(sharedJarFile.getName());
+        VersionCatalog catalog = VersionCatalog.find(sharedDirectory, prefix);
+        if(catalog == null || catalog.getRolloutMaxConcurrent() <= 0 || !sharedJarFile.getName().equals(catalog.getJarName())){
+            myLogger.exiting(MY_CLASS_NAME, "acquire", NO_LIMIT);
+            return NO_LIMIT;
+        }//end if
+        File tokenDirectory = getTokenDirectory(sharedDirectory, prefix);
+        File token = new File(tokenDirectory, getClientName() + TOKEN_SUFFIX);
+        long deadline = System.currentTimeMillis() + (wait ? TOKEN_WAIT_MILLIS : 0);
+        try{
+            while(true){
+                if((tokenDirectory.isDirectory() || tokenDirectory.mkdir() || tokenDirectory.isDirectory()) && countTokens(tokenDirectory, token) < catalog.getRolloutMaxConcurrent()){
+                    if(token.createNewFile() || token.setLastModified(System.currentTimeMillis())){
+                        myLogger.exiting(MY_CLASS_NAME, "acquire", token);
+                        return token;
+                    }//end if
+                }//end if
+                if(System.currentTimeMillis() >= deadline){
+                    break;
+                }//end if
+                TimeUnit.MILLISECONDS.sleep(TOKEN_POLL_MILLIS);
+            }//end while
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not create the copy token " + token.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+        }//end try...catch
+        myLogger.warning("No copy token for " + sharedJarFile.getName() + " could be taken within " + tokenDirectory.getAbsolutePath() + ".");
+        myLogger.exiting(MY_CLASS_NAME, "acquire", null);
+        return null;
+    }//end method
+
+    /**
+     * This method will give back a copy token.
+     *
+     * @param token the token returned by {@link #acquire(File, boolean)}, {@link #NO_LIMIT} or {@code null}
+     */
+    static void release(File token) {
+        if(token != null && token != NO_LIMIT && !token.delete() && token.exists()){
+            myLogger.warning("Could not delete the copy token " + token.getAbsolutePath() + ", it will be removed once it is stale.");
+        }//end if
+    }//end method
+
+    /**
+     * @param tokenDirectory the directory that holds the copy tokens
+     * @param ownToken the token of this client which is not counted or {@code null}
+     * @return the number of tokens held by other clients, stale tokens are removed
+     */
+    private static int countTokens(File tokenDirectory, File ownToken) {
+        File[] tokens = tokenDirectory.listFiles();
+        if(tokens == null){
+            return 0;
+        }//end if
+        long staleBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(TOKEN_STALE_MINUTES);
+        int count = 0;
+        for(int i = 0, j = tokens.length;i < j;i++){
+            if(!tokens[i].getName().endsWith(TOKEN_SUFFIX) || tokens[i].equals(ownToken)){
+                continue;
+            }//end if
+            if(tokens[i].lastModified() < staleBefore){
+                tokens[i].delete();
+            }else{
+                count++;
+            }//end if
+        }//end for
+        return count;
+    }//end method
+
+    /**
+     * @param sharedDirectory the shared directory
+     * @param prefix the prefix of the application jar
+     * @return the directory that holds the copy tokens of the application
+     */
+    private static File getTokenDirectory(File sharedDirectory, String prefix) {
+        return new File(sharedDirectory, prefix + TOKEN_DIRECTORY_SUFFIX);
+    }//end method
+
+    /**
+     * @param salt the value that makes the bucket differ between jars and between uses
+     * @return the bucket from 0 to 99 of this client
+     */
+    private static int bucket(String salt) {
+        return ((getClientName() + "|" + salt).hashCode() & 0x7fffffff) % 100;
+    }//end method
+
+    /**
+     * @return the user and computer name of this client with any characters that can not be used within a file name replaced
+     */
+    private static String getClientName() {
+        String computer = System.getenv("COMPUTERNAME");
+        if(AppUtil.isNullOrEmpty(computer)){
+            computer = System.getenv("HOSTNAME");
+        }//end if
+        String name = System.getProperty("user.name") + "@" + (AppUtil.isNullOrEmpty(computer) ? "unknown" : computer);
+        return name.toLowerCase().replaceAll("[^a-z0-9@._-]", "_");
+    }//end method
+
+}//end class
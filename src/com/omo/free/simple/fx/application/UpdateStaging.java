@@ -0,0 +1,256 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.util.FileUtility;
+import com.omo.free.simple.fx.util.VerifiedCopy;
+import com.omo.free.simple.fx.util.VersionCatalog;
+
+/**
+ * The UpdateStaging class copies a newer version of the application into the temp.dir.holder directory while the application is running so
+ * that applying the update later on is only a local rename and relaunch.
+ *
+ * <p>Staging is turned on by setting the optional <b>update.prestage</b> property within the application.properties file to true.  The
+ * newer jar is copied into <i>temp.dir.holder/staged</i> on a low priority background thread and the copy is throttled to
+ * <b>update.prestage.kbps</b> kilobytes per second (512 by default, 0 for no limit) so that it does not compete with the application for
+ * the network.  The copy is made by {@link VerifiedCopy} which checks its SHA-256 checksum against the version catalog of the application
+ * when one has been published, otherwise the size of the copy is checked against the shared jar.</p>
+ *
+ * <p>A staged jar is described by a <i>staged.properties</i> file that records the size and last modified time of the shared jar it was
+ * copied from.  The staged jar is only used while the shared jar is unchanged and it stays in place across launches so that an update the
+ * user declined does not have to be copied again the next time the application starts.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see BackgroundUpdateCheck
+ * @see ApplicationUpdate#update(File)
+ */
+final class UpdateStaging {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.UpdateStaging";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String ENABLED_PROPERTY = "update.prestage";
+    static final String KBPS_PROPERTY = "update.prestage.kbps";
+    private static final long DEFAULT_KBPS = 512;
+    private static final String STAGED_DIRECTORY = "staged";
+    private static final String MARKER_FILE = "staged.properties";
+
+    private static Thread stager;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private UpdateStaging() {}//end constructor
+
+    /**
+     * @return {@code true} if the update.prestage property is set to true
+     */
+    static boolean isEnabled() {
+        return PropertiesMgr.getInstance().getSnapshot().getBoolean(ENABLED_PROPERTY, false);
+    }//end method
+
+    /**
+     * This method will stage the shared jar on a low priority background thread unless it has already been staged.  The action is run once
+     * the staging has finished whether or not it was successful, an update that could not be staged is still copied in full when applied.
+     * Nothing is done while an earlier staging is still copying, the action of that staging is run once it has finished.  When the most
+     * clients allowed by the rollout are already copying the jar is not staged and the action is not run, the next update check tries again.
+     *
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param whenStaged the action to run once staging has finished
+     */
+    static synchronized void stage(File sharedJarFile, Runnable whenStaged) {
+        myLogger.entering(MY_CLASS_NAME, "stage", sharedJarFile);
+        File stagedDirectory = getStagedDirectory();
+        if(stager != null && stager.isAlive()){
+            myLogger.info("An earlier staging of " + sharedJarFile.getName() + " is still copying therefore it is not staged again.");
+        }else if(findStagedJar(sharedJarFile, stagedDirectory) != null){
+            myLogger.info(sharedJarFile.getName() + " has already been staged.");
+            whenStaged.run();
+        }else{
+            stager = new Thread(() -> {
+                boolean copied = true;
+                try{
+                    copied = copy(sharedJarFile, stagedDirectory);
+                }catch(Exception e){
+                    myLogger.log(Level.WARNING, "Could not stage " + sharedJarFile.getName() + " therefore it will be copied when the update is applied. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+                if(copied){
+                    whenStaged.run();
+                }else{
+                    UpdateWatcher.lookAgain();
+                }//end if
+            }, "SFXUpdateStage");
+            stager.setDaemon(true);
+            stager.setPriority(Thread.MIN_PRIORITY);
+            stager.start();
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "stage");
+    }//end method
+
+    /**
+     * This method will move the staged copy of the shared jar into the given directory.
+     *
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param copyToDirectory the directory to move the staged jar into
+     * @return {@code true} if a staged copy was moved, {@code false} if the shared jar must be copied
+     */
+    static boolean moveStagedJar(File sharedJarFile, String copyToDirectory) {
+        myLogger.entering(MY_CLASS_NAME, "moveStagedJar", new Object[]{sharedJarFile, copyToDirectory});
+        boolean moved = false;
+        File stagedDirectory = getStagedDirectory();
+        File stagedJar = findStagedJar(sharedJarFile, stagedDirectory);
+        if(stagedJar != null){
+            try{
+                String sha256 = FileUtility.sha256Hex(stagedJar);//a local read, checks the staged jar was not damaged since it was staged
+                if(!sha256.equals(readMarker(stagedDirectory).getProperty("sha256"))){
+                    throw new IOException("Checksum of the staged copy " + sha256 + " does not match the checksum recorded when it was staged.");
+                }//end if
+                Files.move(stagedJar.toPath(), new File(copyToDirectory, stagedJar.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+                moved = true;
+                myLogger.info("Moved the staged copy of " + sharedJarFile.getName() + " into " + copyToDirectory);
+            }catch(IOException e){
+                myLogger.log(Level.WARNING, "Could not move the staged copy of " + sharedJarFile.getName() + " therefore it will be copied. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+        if(stagedDirectory.exists()){
+            FileUtility.deleteDirectory(stagedDirectory);//the updater removes temp.dir.holder only when it is empty
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "moveStagedJar", moved);
+        return moved;
+    }//end method
+
+    /**
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param stagedDirectory the staged directory
+     * @return the staged copy of the shared jar or {@code null} if the shared jar has not been staged or has changed since it was staged
+     */
+    private static File findStagedJar(File sharedJarFile, File stagedDirectory) {
+        File stagedJar = new File(stagedDirectory, sharedJarFile.getName());
+        if(!new File(stagedDirectory, MARKER_FILE).isFile() || !stagedJar.isFile()){
+            return null;
+        }//end if
+        Properties properties = null;
+        try{
+            properties = readMarker(stagedDirectory);
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not read the " + MARKER_FILE + " file within " + stagedDirectory.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+            return null;
+        }//end try...catch
+        boolean current = sharedJarFile.getName().equals(properties.getProperty("jar"))
+                && String.valueOf(sharedJarFile.length()).equals(properties.getProperty("shared.size"))
+                && String.valueOf(sharedJarFile.lastModified()).equals(properties.getProperty("shared.lastModified"))
+                && String.valueOf(stagedJar.length()).equals(properties.getProperty("shared.size"));
+        return current ? stagedJar : null;
+    }//end method
+
+    /**
+     * @param stagedDirectory the staged directory
+     * @return the contents of the staged.properties file
+     * @throws IOException if the file could not be read
+     */
+    private static Properties readMarker(File stagedDirectory) throws IOException {
+        Properties properties = new Properties();
+        InputStream in = new FileInputStream(new File(stagedDirectory, MARKER_FILE));
+        try{
+            properties.load(in);
+        }finally{
+            in.close();
+        }//end try...finally
+        return properties;
+    }//end method
+
+    /**
+     * This method will copy the shared jar into the staged directory, verify it and then record it within the staged.properties file.  A
+     * staging that was interrupted by the application being closed is resumed from where it stopped.
+     *
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param stagedDirectory the staged directory
+     * @return {@code false} if nothing was copied because the most clients allowed by the rollout are already copying the jar
+     * @throws IOException if the jar could not be copied or did not verify
+     */
+    private static boolean copy(File sharedJarFile, File stagedDirectory) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "copy", new Object[]{sharedJarFile, stagedDirectory});
+        File copyToken = UpdateRollout.acquire(sharedJarFile, false);
+        if(copyToken == null){
+            myLogger.info("The most clients allowed are copying " + sharedJarFile.getName() + " therefore it is not staged at this time.");
+            myLogger.exiting(MY_CLASS_NAME, "copy", false);
+            return false;
+        }//end if
+        try{
+            copyAndRecord(sharedJarFile, stagedDirectory);
+        }finally{
+            UpdateRollout.release(copyToken);
+        }//end try...finally
+        myLogger.exiting(MY_CLASS_NAME, "copy", true);
+        return true;
+    }//end method
+
+    /**
+     * This method will copy the shared jar into the staged directory while the copy token is held and record it within the staged.properties
+     * file.
+     *
+     * @param sharedJarFile the newer jar within the shared directory
+     * @param stagedDirectory the staged directory
+     * @throws IOException if the jar could not be copied or did not verify
+     */
+    private static void copyAndRecord(File sharedJarFile, File stagedDirectory) throws IOException {
+        File[] files = stagedDirectory.listFiles();
+        if(files != null){
+            for(int i = 0, j = files.length;i < j;i++){
+                if(files[i].isDirectory()){
+                    FileUtility.deleteDirectory(files[i]);
+                }else if(!files[i].getName().startsWith(sharedJarFile.getName() + VerifiedCopy.PART_SUFFIX)){
+                    files[i].delete();//only one update is ever staged, a partial copy of this jar is kept to be resumed
+                }//end if
+            }//end for
+        }//end if
+        FileUtility.checkDirectories(stagedDirectory.getPath());
+        long sharedSize = sharedJarFile.length();
+        long sharedLastModified = sharedJarFile.lastModified();
+
+        String expectedSha256 = null;
+        VersionCatalog catalog = VersionCatalog.find(sharedJarFile.getParentFile(), VersionCatalog.getPrefix(sharedJarFile.getName()));
+        if(catalog != null && sharedJarFile.getName().equals(catalog.getJarName())){
+            expectedSha256 = catalog.getSha256();
+        }//end if
+        String sha256 = VerifiedCopy.copy(sharedJarFile, new File(stagedDirectory, sharedJarFile.getName()), expectedSha256, getKbps() * 1024, null);
+
+        Properties properties = new Properties();
+        properties.setProperty("jar", sharedJarFile.getName());
+        properties.setProperty("shared.size", String.valueOf(sharedSize));
+        properties.setProperty("shared.lastModified", String.valueOf(sharedLastModified));
+        properties.setProperty("sha256", sha256);
+        OutputStream markerOut = new FileOutputStream(new File(stagedDirectory, MARKER_FILE));
+        try{
+            properties.store(markerOut, "SimpleFX staged update");
+        }finally{
+            markerOut.close();
+        }//end try...finally
+    }//end method
+
+    /**
+     * @return the directory that updates are staged in
+     */
+    private static File getStagedDirectory() {
+        return new File(PropertiesMgr.getInstance().getSnapshot().getString("temp.dir.holder"), STAGED_DIRECTORY);
+    }//end method
+
+    /**
+     * @return the maximum number of kilobytes per second to copy or 0 for no limit
+     */
+    private static long getKbps() {
+        long kbps = PropertiesMgr.getInstance().getSnapshot().getLong(KBPS_PROPERTY, DEFAULT_KBPS);
+        return kbps < 0 ? DEFAULT_KBPS : kbps;
+    }//end method
+
+}//end class
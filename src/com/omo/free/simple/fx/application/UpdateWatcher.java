@@ -0,0 +1,237 @@
+package com.omo.free.simple.fx.application;
+
+import java.io.File;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.omo.free.simple.fx.managers.PropertiesMgr;
+import com.omo.free.simple.fx.util.Constants;
+import com.omo.free.simple.fx.util.ShareProbe;
+import com.omo.free.simple.fx.util.VersionCatalog;
+import com.omo.free.util.AppUtil;
+
+import javafx.application.Platform;
+import javafx.scene.input.InputEvent;
+import javafx.stage.Stage;
+
+/**
+ * The UpdateWatcher class keeps looking for a newer version of the application for as long as the application stays open.
+ *
+ * <p>Every <b>update.watch.minutes</b> minutes (60 by default, 0 turns the watcher off) the watcher reads the last modified time and size of
+ * the version catalog of the application within the shared directory, or the last modified time of the shared directory itself when no
+ * catalog has been published.  No jar is opened for this.  Only when that changed since the last look is the full check of
+ * {@link BackgroundUpdateCheck} run, and the user is asked to update with the same non-modal notification when it finds a renamed or newer
+ * version.</p>
+ *
+ * <p>While the primary stage is iconified or nobody has used the application for {@link #IDLE_MINUTES} minutes the watcher does not look at
+ * the shared directory and doubles the time until its next look, up to {@link #MAX_BACKOFF} times the interval.  It goes back to the
+ * interval and looks again a few seconds after the window is restored or used.</p>
+ *
+ * @author Richard Salas JCCC
+ * @see BackgroundUpdateCheck
+ */
+final class UpdateWatcher {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.application.UpdateWatcher";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    static final String INTERVAL_PROPERTY = "update.watch.minutes";
+    private static final long DEFAULT_INTERVAL_MINUTES = 60;
+    static final long IDLE_MINUTES = 15;
+    static final int MAX_BACKOFF = 8;
+    private static final long WAKE_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static UpdateWatcher watcher;
+    private static boolean lookAgainOnStart;
+
+    private final Stage owner;
+    private final Refactorable refactorable;
+    private final long intervalMillis;
+    private final String runningJarName;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean iconified;
+    private volatile long lastInput = System.currentTimeMillis();
+    private long delayMillis;
+    private String signature;
+    private ScheduledFuture<?> next;
+
+    /**
+     * Creates an UpdateWatcher.
+     *
+     * @param owner the primary stage which owns the update notification
+     * @param refactorable the refactorable application instance or {@code null}
+     * @param intervalMillis the number of milliseconds between looks at the shared directory
+     */
+    private UpdateWatcher(Stage owner, Refactorable refactorable, long intervalMillis) {
+        this.owner = owner;
+        this.refactorable = refactorable;
+        this.intervalMillis = intervalMillis;
+        this.delayMillis = intervalMillis;
+        this.runningJarName = new File(Constants.FRAMEWORK_FILE_LOCATION).getName();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "SFXUpdateWatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }//end constructor
+
+    /**
+     * This method will start watching for a newer version once the update check of the launch has completed.  Calling it again does nothing.
+     *
+     * @param owner the primary stage which owns the update notification
+     * @param refactorable the refactorable application instance or {@code null} if the application does not implement {@link Refactorable}
+     */
+    static synchronized void start(Stage owner, Refactorable refactorable) {
+        myLogger.entering(MY_CLASS_NAME, "start", new Object[]{owner, refactorable});
+        long minutes = getIntervalMinutes();
+        if(watcher != null || minutes <= 0){
+            myLogger.exiting(MY_CLASS_NAME, "start");
+            return;
+        }//end if
+        watcher = new UpdateWatcher(owner, refactorable, TimeUnit.MINUTES.toMillis(minutes));
+        Platform.runLater(() -> watcher.watchStage());
+        boolean lookAgain = lookAgainOnStart;
+        watcher.scheduler.execute(() -> watcher.signature = lookAgain ? null : watcher.readSignature());//the launch has just checked what is there now
+        watcher.schedule(watcher.intervalMillis);
+        myLogger.info("Watching for a newer version every " + minutes + " minute(s).");
+        myLogger.exiting(MY_CLASS_NAME, "start");
+    }//end method
+
+    /**
+     * This method will make the next look run the full check even though the shared directory has not changed.  It is called when a newer
+     * version was found but could not be staged yet.
+     */
+    static synchronized void lookAgain() {
+        if(watcher == null){
+            lookAgainOnStart = true;//the update check of the launch is still staging
+        }else{
+            watcher.scheduler.execute(() -> watcher.signature = null);
+        }//end if
+    }//end method
+
+    /**
+     * This method will follow the iconified state of the primary stage and the last time it was used.  It runs on the JavaFX Application Thread.
+     */
+    private void watchStage() {
+        iconified = owner.isIconified();
+        owner.iconifiedProperty().addListener((observable, wasIconified, isIconified) -> {
+            iconified = isIconified.booleanValue();
+            if(!iconified){
+                wake();
+            }//end if
+        });
+        owner.addEventFilter(InputEvent.ANY, e -> {
+            boolean wasIdle = isIdle();
+            lastInput = System.currentTimeMillis();
+            if(wasIdle){
+                wake();
+            }//end if
+        });
+    }//end method
+
+    /**
+     * This method will bring a backed off watcher back to its interval and look again shortly.
+     */
+    private synchronized void wake() {
+        if(delayMillis > intervalMillis){
+            myLogger.fine("The application is in use again therefore the watcher goes back to its interval.");
+            delayMillis = intervalMillis;
+            schedule(WAKE_DELAY_MILLIS);
+        }//end if
+    }//end method
+
+    /**
+     * @param delay the number of milliseconds until the next look
+     */
+    private synchronized void schedule(long delay) {
+        if(next != null){
+            next.cancel(false);
+        }//end if
+        next = scheduler.schedule(() -> tick(), delay, TimeUnit.MILLISECONDS);
+    }//end method
+
+    /**
+     * This method runs on the watcher thread, it either looks at the shared directory or backs off.
+     */
+    private void tick() {
+        boolean look;
+        synchronized(this){
+            look = !iconified && !isIdle();
+            delayMillis = look ? intervalMillis : Math.min(delayMillis * 2, intervalMillis * MAX_BACKOFF);
+        }//end synchronized
+        if(look){
+            try{
+                check();
+            }catch(Exception e){
+                myLogger.log(Level.SEVERE, "Exception occurred while watching for a newer version of the application. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }else{
+            myLogger.fine("The application is " + (iconified ? "iconified" : "idle") + " therefore the next look is in " + TimeUnit.MILLISECONDS.toMinutes(delayMillis) + " minute(s).");
+        }//end if
+        schedule(delayMillis);
+    }//end method
+
+    /**
+     * This method will run the full check when the shared directory changed since the last look.
+     */
+    private void check() {
+        myLogger.entering(MY_CLASS_NAME, "check");
+        String current = readSignature();
+        if(current == null){
+            myLogger.fine("The shared directory " + Constants.APPLICATION_SHARED_DIRECTORY + " did not answer therefore it is looked at again next time.");
+        }else if(!current.equals(signature)){
+            myLogger.info("The shared directory changed since the last look (" + current + ") therefore checking for a newer version.");
+            Runnable prompt = BackgroundUpdateCheck.findPrompt(owner, refactorable);
+            signature = prompt == null && isDeferred() ? null : current;//a deferred rollout is looked at again even though nothing changed
+            if(prompt != null && prompt != BackgroundUpdateCheck.PENDING){//a pending prompt is shown by the staging once it has finished
+                Platform.runLater(prompt);
+            }//end if
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "check");
+    }//end method
+
+    /**
+     * @return the last modified time and size of the catalog, or the last modified time of the shared directory when there is no catalog, or
+     *         {@code null} if the shared directory did not answer
+     */
+    private String readSignature() {
+        File sharedDirectory = new File(Constants.APPLICATION_SHARED_DIRECTORY);
+        File catalog = new File(sharedDirectory, VersionCatalog.getPrefix(runningJarName) + VersionCatalog.CATALOG_SUFFIX);
+        long lastModified = ShareProbe.lastModified(catalog);
+        String read = lastModified != 0 ? catalog.getPath() + "@" + lastModified + ":" + ShareProbe.length(catalog) : null;
+        if(read == null){
+            lastModified = ShareProbe.lastModified(sharedDirectory);
+            read = lastModified != 0 ? sharedDirectory.getPath() + "@" + lastModified : null;
+        }//end if
+        if(read != null && refactorable != null && !AppUtil.isNullOrEmpty(refactorable.futureJarName())){
+            read = read + "|" + ShareProbe.lastModified(new File(sharedDirectory, refactorable.futureJarName()));
+        }//end if
+        return read;
+    }//end method
+
+    /**
+     * @return {@code true} if the catalog names another jar than the running one but it was not offered to this client yet
+     */
+    private boolean isDeferred() {
+        VersionCatalog catalog = VersionCatalog.find(new File(Constants.APPLICATION_SHARED_DIRECTORY), VersionCatalog.getPrefix(runningJarName));//read from the cache unless the catalog changed
+        return catalog != null && !runningJarName.equals(catalog.getJarName());
+    }//end method
+
+    /**
+     * @return {@code true} if nobody has used the application for {@link #IDLE_MINUTES} minutes
+     */
+    private boolean isIdle() {
+        return System.currentTimeMillis() - lastInput > TimeUnit.MINUTES.toMillis(IDLE_MINUTES);
+    }//end method
+
+    /**
+     * @return the number of minutes between looks at the shared directory, 0 when the watcher is turned off
+     */
+    private static long getIntervalMinutes() {
+        return PropertiesMgr.getInstance().getSnapshot().getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MINUTES);
+    }//end method
+
+}//end class
@@ -20,7 +20,7 @@ public abstract class AbstractPropertiesMgr {
 
     private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.managers.AbstractPropertiesMgr";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
-    protected Properties properties;
+    protected volatile Properties properties;
     protected File propertiesFile;
     protected StringBuffer propertyErrorMsgs;
 
@@ -0,0 +1,261 @@
+package com.omo.free.simple.fx.managers;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.omo.free.util.AppUtil;
+
+/**
+ * The ConfigSnapshot class is an immutable copy of the application properties as they were when the application.properties file was last
+ * loaded.
+ *
+ * <p>A snapshot is never changed once it has been created.  The {@link PropertiesMgr} publishes a new snapshot when the properties file
+ * changes, so a caller that holds on to a snapshot keeps reading one consistent set of values and a caller that asks
+ * {@link PropertiesMgr#getSnapshot()} again sees the reload.  Reading a snapshot does not take a lock.</p>
+ *
+ * <p>The typed accessors parse a value the first time it is asked for and keep the result within the snapshot, so a value that is read in a
+ * loop is only parsed once.  A value that can not be parsed is logged once and the default given by the caller is returned.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     ConfigSnapshot config = PropertiesMgr.getInstance().getSnapshot();
+ *     Duration timeout = config.getDuration("update.check.timeout.seconds", TimeUnit.SECONDS, Duration.ofSeconds(30));
+ *     List&lt;String&gt; locations = config.getList("shared.locations");
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ * @see PropertiesMgr
+ */
+public final class ConfigSnapshot {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.managers.ConfigSnapshot";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final Object NOT_SET = new Object();
+    private static final Pattern DURATION_PATTERN = Pattern.compile("^(\\d+)\\s*(ms|s|m|h|d)?$", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, String> values;
+    private final ConcurrentMap<String, Object> parsed = new ConcurrentHashMap<String, Object>();
+    private final long loaded = System.currentTimeMillis();
+
+    /**
+     * Creates a ConfigSnapshot holding a copy of the given properties.
+     *
+     * @param properties the properties to copy
+     */
+    public ConfigSnapshot(Properties properties) {
+        Map<String, String> copy = new HashMap<String, String>();
+        for(String name : properties.stringPropertyNames()){
+            copy.put(name, properties.getProperty(name));
+        }//end for
+        this.values = Collections.unmodifiableMap(copy);
+    }//end constructor
+
+    /**
+     * @param key the name of the property
+     * @return the value of the property or {@code null} if it is not set
+     */
+    public String getString(String key) {
+        return values.get(key);
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @param defaultValue the value to return when the property is not set
+     * @return the value of the property or the default value
+     */
+    public String getString(String key, String defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : value;
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @param defaultValue the value to return when the property is not set or is not {@code true} or {@code false}
+     * @return the value of the property as a boolean
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Boolean value = parse("boolean", key, v -> {
+            if(!"true".equalsIgnoreCase(v) && !"false".equalsIgnoreCase(v)){
+                throw new IllegalArgumentException(v);
+            }//end if
+            return Boolean.valueOf(v);
+        });
+        return value == null ? defaultValue : value.booleanValue();
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @param defaultValue the value to return when the property is not set or is not a number
+     * @return the value of the property as an int
+     */
+    public int getInt(String key, int defaultValue) {
+        Integer value = parse("int", key, v -> Integer.valueOf(v));
+        return value == null ? defaultValue : value.intValue();
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @param defaultValue the value to return when the property is not set or is not a number
+     * @return the value of the property as a long
+     */
+    public long getLong(String key, long defaultValue) {
+        Long value = parse("long", key, v -> Long.valueOf(v));
+        return value == null ? defaultValue : value.longValue();
+    }//end method
+
+    /**
+     * This method will return the value of the property as a duration.  A plain number is read in the given unit, a number may also end with
+     * ms, s, m, h or d, and an ISO-8601 duration such as {@code PT30S} is accepted as well.
+     *
+     * @param key the name of the property
+     * @param unit the unit of a plain number
+     * @param defaultValue the value to return when the property is not set or is not a duration
+     * @return the value of the property as a duration
+     */
+    public Duration getDuration(String key, TimeUnit unit, Duration defaultValue) {
+        Duration value = parse("duration", "duration." + unit.name(), key, v -> {
+            if(v.startsWith("P") || v.startsWith("p")){
+                return Duration.parse(v);
+            }//end if
+            Matcher m = DURATION_PATTERN.matcher(v);
+            if(!m.matches()){
+                throw new IllegalArgumentException(v);
+            }//end if
+            long amount = Long.parseLong(m.group(1));
+            String suffix = m.group(2) == null ? "" : m.group(2).toLowerCase();
+            switch(suffix){
+                case "ms":
+                    return Duration.ofMillis(amount);
+                case "s":
+                    return Duration.ofSeconds(amount);
+                case "m":
+                    return Duration.ofMinutes(amount);
+                case "h":
+                    return Duration.ofHours(amount);
+                case "d":
+                    return Duration.ofDays(amount);
+                default:
+                    return Duration.ofNanos(unit.toNanos(amount));
+            }//end switch
+        });
+        return value == null ? defaultValue : value;
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @return the value of the property as a path or {@code null} if it is not set or is not a valid path
+     */
+    public Path getPath(String key) {
+        return parse("path", key, v -> Paths.get(v));
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @return the comma separated values of the property with the blanks around them removed, an empty list if it is not set
+     */
+    public List<String> getList(String key) {
+        List<String> value = parse("list", key, v -> {
+            List<String> list = new ArrayList<String>();
+            String[] split = v.split(",");
+            for(int i = 0, j = split.length;i < j;i++){
+                if(!split[i].trim().isEmpty()){
+                    list.add(split[i].trim());
+                }//end if
+            }//end for
+            return Collections.unmodifiableList(list);
+        });
+        return value == null ? Collections.<String>emptyList() : value;
+    }//end method
+
+    /**
+     * @param key the name of the property
+     * @return {@code true} if the property is set
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }//end method
+
+    /**
+     * @return the names of the properties within this snapshot
+     */
+    public Set<String> getKeys() {
+        return values.keySet();
+    }//end method
+
+    /**
+     * @return the time this snapshot was created in milliseconds
+     */
+    public long getLoaded() {
+        return loaded;
+    }//end method
+
+    /**
+     * @return a new {@code Properties} holding the values of this snapshot which the caller may change
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.putAll(values);
+        return properties;
+    }//end method
+
+    /**
+     * @param type the type the value is parsed into
+     * @param key the name of the property
+     * @param parser parses the trimmed value and throws a runtime exception when the value is not valid
+     * @param <T> the type the value is parsed into
+     * @return the parsed value or {@code null} if the property is not set or is not valid
+     */
+    private <T> T parse(String type, String key, Function<String, T> parser) {
+        return parse(type, type, key, parser);
+    }//end method
+
+    /**
+     * This method will parse a value once and keep the result within this snapshot.
+     *
+     * @param type the type the value is parsed into
+     * @param variant the type along with anything else the parsing depends on, part of the key the result is kept under
+     * @param key the name of the property
+     * @param parser parses the trimmed value and throws a runtime exception when the value is not valid
+     * @param <T> the type the value is parsed into
+     * @return the parsed value or {@code null} if the property is not set or is not valid
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T parse(String type, String variant, String key, Function<String, T> parser) {
+        String parsedKey = variant + ":" + key;
+        Object result = parsed.get(parsedKey);
+        if(result == null){
+            String value = values.get(key);
+            if(AppUtil.isNullOrEmpty(value) || value.trim().isEmpty()){
+                result = NOT_SET;
+            }else{
+                try{
+                    result = parser.apply(value.trim());
+                }catch(RuntimeException e){
+                    myLogger.warning("The " + key + " property value of " + value + " is not a valid " + type + " therefore the default is being used.");
+                    result = NOT_SET;
+                }//end try...catch
+            }//end if
+            Object raced = parsed.putIfAbsent(parsedKey, result);
+            if(raced != null){
+                result = raced;
+            }//end if
+        }//end if
+        return result == NOT_SET ? null : (T) result;
+    }//end method
+
+}//end class
@@ -7,11 +7,11 @@ import java.io.FileNotFoundException;
 import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.omo.free.simple.fx.util.Constants;
-import com.omo.free.util.AppUtil;
 
 /**
  * The class is used for loading required and user added application properties used during the runtime of a JavaFX application.
@@ -30,6 +30,13 @@ import com.omo.free.util.AppUtil;
  * <p>Note that if the application.properties file does not exist on the classpath the SimpleFX Framework
  * will create the application.properties for you and also place it onto your classpath.</p>
  *
+ * <p><b>Snapshots</b></p>
+ * <p>Every time the application.properties file is loaded, at startup and whenever the file changes, an immutable {@link ConfigSnapshot}
+ * of it is published by swapping a single volatile reference.  Code that reads its settings often should read them from
+ * {@link #getSnapshot()} with the typed accessors of the snapshot which take no lock and parse each value only once.  A relative
+ * <b>temp.dir.holder</b> is resolved against the start in directory before the snapshot is published.  {@link #getProperties()} still returns
+ * the loaded {@code Properties} for existing callers.</p>
+ *
  * @author unascribed
  * @author Joseph Burris JCCC
  * @author Richard Salas modified for simple fx.
@@ -39,6 +46,7 @@ public class PropertiesMgr extends AbstractPropertiesMgr implements FileChangeLi
     private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.managers.PropertiesMgr";
     private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
     private static PropertiesMgr propertiesMgr;
+    private volatile ConfigSnapshot snapshot;
 
     /**
      * Creates an instance of PropertiesMgr.
@@ -90,8 +98,9 @@ public class PropertiesMgr extends AbstractPropertiesMgr implements FileChangeLi
      */
     private void loadProperties() throws Exception {
         myLogger.entering(MY_CLASS_NAME, "loadProperties");
+        Properties loaded = null;
         try{
-            properties = loadExternalPropertiesFileWithEncryptedValues(propertiesFile.getParent(), propertiesFile.getName());
+            loaded = loadExternalPropertiesFileWithEncryptedValues(propertiesFile.getParent(), propertiesFile.getName());
         }catch(Exception e){
             LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.CONFIG);
             myLogger.log(Level.SEVERE, "Unable to load properties. Exception: " + e.getMessage(), e);
@@ -101,16 +110,43 @@ public class PropertiesMgr extends AbstractPropertiesMgr implements FileChangeLi
         // Set a default check time period
         long checkPeriod = 80000L;
         // If these properties do not exist, make defaults
-        if(properties != null){
+        if(loaded != null){
+            resolveTempDirectory(loaded);
+            ConfigSnapshot loadedSnapshot = new ConfigSnapshot(loaded);
+            properties = loaded;
+            snapshot = loadedSnapshot;//readers see either the old or the new snapshot, never a mix of both
             // If a default check time period exists, use it instead
-            if(!AppUtil.isNullOrEmpty(properties.getProperty("checkPeriod"))){//currently i did not add this property to the list of required properties...
-                checkPeriod = Long.parseLong(properties.getProperty("checkPeriod"));
-            } // end if
+            checkPeriod = loadedSnapshot.getLong("checkPeriod", checkPeriod);//currently i did not add this property to the list of required properties...
         } // end if
         setCheckPeriod(checkPeriod, propertiesFile.getPath());
         myLogger.exiting(MY_CLASS_NAME, "loadProperties");
     }
 
+    /**
+     * This method will resolve a temp.dir.holder that starts with ./ or .\ against the start in directory.
+     *
+     * @param loaded the properties that were just loaded
+     */
+    private void resolveTempDirectory(Properties loaded) {
+        String tempDirectory = loaded.getProperty("temp.dir.holder");
+        if(tempDirectory != null && Constants.START_IN_DIR_PATH != null){
+            if(tempDirectory.startsWith("./")){
+                loaded.setProperty("temp.dir.holder", Paths.get(Constants.START_IN_DIR_PATH, tempDirectory.replace("./", "")).toString());
+            }else if(tempDirectory.startsWith(".\\")){
+                loaded.setProperty("temp.dir.holder", Paths.get(Constants.START_IN_DIR_PATH, tempDirectory.replace(".\\", "")).toString());
+            }// end else...if
+        }//end if
+    }//end method
+
+    /**
+     * This method returns the snapshot of the application properties that was published when the application.properties file was last loaded.
+     *
+     * @return the current snapshot, it never changes once it has been returned
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }//end method
+
     /**
      * Method gets an instance of a file change listener to watch the internal application.properties file for changes.
      *
@@ -138,55 +174,49 @@ public class PropertiesMgr extends AbstractPropertiesMgr implements FileChangeLi
     @Override public boolean validateRequiredPropertiesExist() {
         myLogger.entering(MY_CLASS_NAME, "propertyCheck");
         boolean checkPassed = true;
-        if(properties.getProperty("temp.dir.holder") == null){
+        ConfigSnapshot properties = snapshot;//validated as one consistent set of values, a relative temp.dir.holder was resolved when it was loaded
+        if(properties.getString("temp.dir.holder") == null){
             appendMissingPropertyMsg("Missing 'temp.dir.holder' in properties file.");
             checkPassed = false;
-        }else if(properties.getProperty("temp.dir.holder").startsWith("./")){
-            //resetting the property in memory to be the Start in directory as this needed
-            String newDirectory = properties.getProperty("temp.dir.holder");
-            properties.setProperty("temp.dir.holder", Paths.get(Constants.START_IN_DIR_PATH, newDirectory.replace("./", "")).toString());
-        }else if(properties.getProperty("temp.dir.holder").startsWith(".\\")){
-            String newDirectory = properties.getProperty("temp.dir.holder");
-            properties.setProperty("temp.dir.holder", Paths.get(Constants.START_IN_DIR_PATH, newDirectory.replace(".\\", "")).toString());
-        }// end else...if
-
-        if(properties.getProperty("ads.shared.location") == null){
+        }// end if
+
+        if(properties.getString("ads.shared.location") == null){
             appendMissingPropertyMsg("Missing 'ads.shared.location' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("isu.shared.location") == null){
+        if(properties.getString("isu.shared.location") == null){
             appendMissingPropertyMsg("Missing 'isu.shared.location' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("debug.isOn") == null){
+        if(properties.getString("debug.isOn") == null){
             appendMissingPropertyMsg("Missing 'debug.isOn' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.host") == null){
+        if(properties.getString("email.host") == null){
             appendMissingPropertyMsg("Missing 'email.host' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.from") == null){
+        if(properties.getString("email.from") == null){
             appendMissingPropertyMsg("Missing 'email.from' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.to") == null){
+        if(properties.getString("email.to") == null){
             appendMissingPropertyMsg("Missing 'email.to' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.bugs.to") == null){
+        if(properties.getString("email.bugs.to") == null){
             appendMissingPropertyMsg("Missing 'email.bugs.to' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.subject") == null){
+        if(properties.getString("email.subject") == null){
             appendMissingPropertyMsg("Missing 'email.subject' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.cc") == null){
+        if(properties.getString("email.cc") == null){
             appendMissingPropertyMsg("Missing 'email.cc' in properties file.");
             checkPassed = false;
         } // end if
-        if(properties.getProperty("email.bcc") == null){
+        if(properties.getString("email.bcc") == null){
             appendMissingPropertyMsg("Missing 'email.bcc' in properties file.");
             checkPassed = false;
         } // end if
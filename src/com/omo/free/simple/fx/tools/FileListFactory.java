@@ -11,16 +11,14 @@ import java.io.OutputStream;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
-import java.util.Iterator;
 import java.util.List;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.omo.free.simple.fx.util.Constants;
 import com.omo.free.simple.fx.util.FileUtility;
+import com.omo.free.simple.fx.util.JarResourceIndex;
 import com.omo.free.util.AppUtil;
 
 /**
@@ -317,15 +315,13 @@ public class FileListFactory {
      */
     private List<String> extractFileListFromJar() {
         myLogger.entering(MY_CLASS_NAME, "extractFileListFromJar()");
-        JarFile jar = null;
         JarEntry entry = null;
         List<String> fileList = new ArrayList<String>();
 
         try{
-            jar = new JarFile(Constants.APP_FILE_LOCATION);
-            Enumeration<JarEntry> entries = jar.entries();
-            outer:while(entries.hasMoreElements()){
-                entry = entries.nextElement();
+            List<JarEntry> entries = JarResourceIndex.forApplication().getEntries();
+            outer:for(int k = 0, l = entries.size();k < l;k++){
+                entry = entries.get(k);
                 if(entry.getName().contains(internalFilesLocation) && entry.getName().endsWith(fileExtension)){
                     for(int i = 0, j = filteredFilesList.size(); i < j; i++){
                         if(!entry.getName().contains(filteredFilesList.get(i))){
@@ -335,17 +331,9 @@ public class FileListFactory {
                     }//end for
                     fileList.add(entry.getName());//add file to the list
                 }//end if
-            }// end while
+            }// end for
         }catch(IOException e){
             myLogger.log(Level.SEVERE, "IOException while extracting file list from jar." + e.getMessage(), e);
-        }finally{
-            try{
-                if(jar != null){
-                    jar.close();
-                }// end if
-            }catch(IOException e){
-                myLogger.log(Level.SEVERE, "IOException while extracting file list from jar." + e.getMessage(), e);
-            }// end try...catch
         }// end try...catch
         myLogger.exiting(MY_CLASS_NAME, "extractFileListFromJar()", fileList);
         return fileList;
@@ -393,29 +381,21 @@ public class FileListFactory {
         myLogger.entering(MY_CLASS_NAME, "extractFilesFromJarToDestination()");
 
         myLogger.finest("initializing local variables to null here for use in this method.");
-        JarFile jar = null;
+        JarResourceIndex jar = null;
         JarEntry entry = null;
         InputStream in = null;
         OutputStream out = null;
 
         try{
-            myLogger.finest("create an instance of this jar file");
-            jar = new JarFile(Constants.APP_FILE_LOCATION);
-            Enumeration<JarEntry> entries = jar.entries();
+            myLogger.finest("obtain the shared index of this jar file");
+            jar = JarResourceIndex.forApplication();
+            List<String> entryNames = extractFileListFromJar();
             String fileName = null;
             File destinationFile = null;
-            myLogger.finest("looping through the entries in the jar filtering out the files that are being requested");
-            outer:while(entries.hasMoreElements()){
-                entry = entries.nextElement();
-
-                if(entry.getName().contains(internalFilesLocation) && entry.getName().endsWith(fileExtension)){
-                    Iterator<String> it = filteredFilesList.iterator();
-                    while(it.hasNext()){
-                        if(!entry.getName().contains(it.next())){
-                            continue outer;
-                        }//end if
-                    }//end while
-
+            myLogger.finest("looping through the entries in the jar that are being requested");
+            for(int k = 0, l = entryNames.size();k < l;k++){
+                entry = jar.getEntry(entryNames.get(k));
+                if(entry != null){
                     myLogger.finest("make sure to close streams to free up resources before next iteration.");
                     if(in != null){
                         in.close();
@@ -438,7 +418,7 @@ public class FileListFactory {
                     } // end while
                     out.flush();// flush the output.
                 }// end if
-            }// end while
+            }// end for
         }catch(IOException e){
             myLogger.log(Level.SEVERE, "IOException while extracting files from jar." + e.getMessage(), e);
         }finally{
@@ -450,9 +430,6 @@ public class FileListFactory {
                 if(out != null){
                     out.close();
                 }// end if
-                if(jar != null){
-                    jar.close();
-                }// end if
             }catch(IOException e){
                 myLogger.log(Level.SEVERE, "IOException while extracting files from jar." + e.getMessage(), e);
             }// end try...catch
@@ -0,0 +1,295 @@
+package com.omo.free.simple.fx.util;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ClasspathIndex class - An index of the file names within a class path directory which is used while an application is running in
+ * development mode (not packaged as a jar).
+ *
+ * <p>The directory is walked once when the index is first requested and every file is mapped by its name to its path.  Each directory is
+ * then registered with a {@code WatchService} and a daemon thread keeps the index current as files and directories are created or deleted,
+ * so that looking up a resource no longer walks the whole output directory.  Directories whose name contains CVS are skipped the same way
+ * they always have been.</p>
+ *
+ * <p>A lookup that misses first applies the events that are waiting within the watch service and then looks again, so a file that was
+ * created just before the watcher thread processed its event is still found without walking the directory.  If the directory can not be
+ * watched the whole index is rebuilt on every lookup that misses instead.</p>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class ClasspathIndex {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.ClasspathIndex";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final Map<Path, ClasspathIndex> indexes = new ConcurrentHashMap<Path, ClasspathIndex>();
+
+    private final Path root;
+    private final Map<String, List<Path>> pathsByName = new HashMap<String, List<Path>>();
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+    private WatchService watchService;
+
+    /**
+     * Creates a ClasspathIndex and starts watching the root directory.
+     *
+     * @param root the root directory of the class path
+     */
+    private ClasspathIndex(Path root) {
+        this.root = root;
+        try{
+            watchService = FileSystems.getDefault().newWatchService();
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to create a watch service for " + root + " therefore the index will be rebuilt when a lookup misses. Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        rebuild();
+        if(watchService != null){
+            Thread watcher = new Thread(() -> watch(), "SFXClasspathWatcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }//end if
+    }//end constructor
+
+    /**
+     * This method will return the index of the given class path directory, creating it if this is the first time it was requested.
+     *
+     * @param rootDirectory the root directory of the class path
+     * @return the shared index of the directory
+     */
+    public static ClasspathIndex forDirectory(File rootDirectory) {
+        Path root = rootDirectory.toPath().toAbsolutePath().normalize();
+        ClasspathIndex index = indexes.get(root);
+        if(index == null){
+            synchronized(indexes){
+                index = indexes.get(root);
+                if(index == null){
+                    index = new ClasspathIndex(root);
+                    indexes.put(root, index);
+                }//end if
+            }//end synchronized
+        }//end if
+        return index;
+    }//end method
+
+    /**
+     * This method will return the path of a file with the given name.
+     *
+     * @param fileName the name of the file to find
+     * @return the path to the file or {@code null} if the directory does not contain a file with that name
+     */
+    public String find(String fileName) {
+        myLogger.entering(MY_CLASS_NAME, "find", fileName);
+        String path = lookup(fileName);
+        if(path == null && watchService == null){
+            rebuild();
+            path = lookup(fileName);
+        }else if(path == null){
+            processPendingEvents();
+            path = lookup(fileName);
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "find", path);
+        return path;
+    }//end method
+
+    /**
+     * This method will look up the file within the index, removing any paths that no longer exist which can happen when a file is deleted
+     * right before the watcher has processed the event.
+     *
+     * @param fileName the name of the file to find
+     * @return the path to the file or {@code null}
+     */
+    private synchronized String lookup(String fileName) {
+        List<Path> paths = pathsByName.get(fileName);
+        if(paths == null){
+            return null;
+        }//end if
+        Iterator<Path> it = paths.iterator();
+        while(it.hasNext()){
+            Path path = it.next();
+            if(Files.isRegularFile(path)){
+                return path.toString();
+            }//end if
+            it.remove();
+        }//end while
+        pathsByName.remove(fileName);
+        return null;
+    }//end method
+
+    /**
+     * This method will apply the events that are waiting within the watch service without waiting for the watcher thread.
+     */
+    private synchronized void processPendingEvents() {
+        WatchKey key;
+        while((key = watchService.poll()) != null){
+            process(key);
+        }//end while
+    }//end method
+
+    /**
+     * This method will clear the index and walk the whole root directory again.
+     */
+    private synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        pathsByName.clear();
+        for(WatchKey key : watchedDirectories.keySet()){
+            key.cancel();
+        }//end for
+        watchedDirectories.clear();
+        addTree(root);
+        myLogger.fine("Indexed the class path directory " + root + " in " + (System.currentTimeMillis() - start) + " ms.");
+    }//end method
+
+    /**
+     * This method will add every file below the given directory to the index and register each directory with the watch service.
+     *
+     * @param directory the directory to add
+     */
+    private synchronized void addTree(Path directory) {
+        try{
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>(){
+                @Override public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if(!dir.equals(root) && dir.getFileName().toString().contains("CVS")){
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }//end if
+                    register(dir);
+                    return FileVisitResult.CONTINUE;
+                }//end method
+
+                @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if(attrs.isRegularFile()){
+                        addFile(file);
+                    }//end if
+                    return FileVisitResult.CONTINUE;
+                }//end method
+
+                @Override public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                    myLogger.fine("Could not visit " + file + " while indexing the class path. Error message is: " + e.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }//end method
+            });
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to index " + directory + ". Error message is: " + e.getMessage(), e);
+        }//end try...catch
+    }//end method
+
+    /**
+     * @param file the file to add to the index
+     */
+    private synchronized void addFile(Path file) {
+        String name = file.getFileName().toString();
+        List<Path> paths = pathsByName.get(name);
+        if(paths == null){
+            paths = new ArrayList<Path>(1);
+            pathsByName.put(name, paths);
+        }//end if
+        if(!paths.contains(file)){
+            paths.add(file);
+        }//end if
+    }//end method
+
+    /**
+     * This method will remove the path from the index.  If the path was a directory every file below it is removed as well.
+     *
+     * @param path the path that was deleted
+     */
+    private synchronized void removePath(Path path) {
+        Iterator<Map.Entry<String, List<Path>>> entries = pathsByName.entrySet().iterator();
+        while(entries.hasNext()){
+            List<Path> paths = entries.next().getValue();
+            Iterator<Path> it = paths.iterator();
+            while(it.hasNext()){
+                if(it.next().startsWith(path)){
+                    it.remove();
+                }//end if
+            }//end while
+            if(paths.isEmpty()){
+                entries.remove();
+            }//end if
+        }//end while
+    }//end method
+
+    /**
+     * @param directory the directory to register with the watch service
+     */
+    private void register(Path directory) {
+        if(watchService == null){
+            return;
+        }//end if
+        try{
+            watchedDirectories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE), directory);
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "IOException occurred while trying to watch " + directory + ". Error message is: " + e.getMessage(), e);
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method runs on the watcher thread and applies the created and deleted events to the index until the watch service is closed.
+     */
+    private void watch() {
+        myLogger.entering(MY_CLASS_NAME, "watch");
+        while(true){
+            WatchKey key;
+            try{
+                key = watchService.take();
+            }catch(InterruptedException e){
+                myLogger.fine("Class path watcher was interrupted and is stopping.");
+                break;
+            }//end try...catch
+
+            process(key);
+        }//end while
+        myLogger.exiting(MY_CLASS_NAME, "watch");
+    }//end method
+
+    /**
+     * This method will apply the created and deleted events of one watched directory to the index.
+     *
+     * @param key the signalled key of the watched directory
+     */
+    private synchronized void process(WatchKey key) {
+        Path directory = watchedDirectories.get(key);
+        if(directory != null){
+            for(WatchEvent<?> event : key.pollEvents()){
+                if(event.kind() == OVERFLOW){
+                    myLogger.fine("Class path watcher overflowed, rebuilding the index of " + root);
+                    rebuild();
+                    break;
+                }//end if
+                Path path = directory.resolve((Path) event.context());
+                if(event.kind() == ENTRY_CREATE){
+                    if(Files.isDirectory(path)){
+                        addTree(path);
+                    }else{
+                        addFile(path);
+                    }//end if
+                }else if(event.kind() == ENTRY_DELETE){
+                    removePath(path);
+                }//end if
+            }//end for
+        }//end if
+        if(!key.reset()){
+            watchedDirectories.remove(key);
+        }//end if
+    }//end method
+
+}//end class
@@ -0,0 +1,202 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * FileReleaseWaiter class - Waits for a file that is held by another process to be released so that it can be deleted or rewritten.
+ *
+ * <p>The update, refactor and delete processes are started by a JVM that exits right after starting them and that JVM holds a lock on its
+ * jar until it has exited.  The waiter first tries the action once.  If it did not succeed the waiter then waits for the parent JVM to exit
+ * by watching for the end of its own standard input; the pipe that feeds standard input is closed by the operating system when the parent
+ * JVM exits.  After that the action is retried with an exponentially growing pause between attempts until it succeeds or the deadline
+ * passes.</p>
+ *
+ * <p>Every wait returns a {@link Result} that reports how many attempts were made and how long was spent waiting.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     FileReleaseWaiter.Result result = FileReleaseWaiter.await("delete " + jar, () -&gt; !jar.exists() || jar.delete());
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class FileReleaseWaiter {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.FileReleaseWaiter";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The default number of milliseconds to keep trying. */
+    public static final long DEFAULT_DEADLINE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long INITIAL_PAUSE_MILLIS = 10;
+    private static final long MAX_PAUSE_MILLIS = 1000;
+    private static final long MAX_PARENT_WAIT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final CountDownLatch parentExited = new CountDownLatch(1);
+    private static final AtomicBoolean watchingParent = new AtomicBoolean();
+
+    /**
+     * An action that succeeds once the file it works on has been released.
+     */
+    @FunctionalInterface
+    public interface Attempt {
+
+        /**
+         * @return {@code true} if the action succeeded
+         * @throws Exception if the action failed, the failure is treated the same as returning {@code false}
+         */
+        boolean attempt() throws Exception;
+
+    }//end interface
+
+    /**
+     * The outcome of a wait.
+     */
+    public static final class Result {
+
+        private final boolean succeeded;
+        private final int attempts;
+        private final long waitedMillis;
+
+        /**
+         * @param succeeded whether the action succeeded
+         * @param attempts the number of attempts made
+         * @param waitedMillis the total time spent in milliseconds
+         */
+        private Result(boolean succeeded, int attempts, long waitedMillis) {
+            this.succeeded = succeeded;
+            this.attempts = attempts;
+            this.waitedMillis = waitedMillis;
+        }//end constructor
+
+        /**
+         * @return {@code true} if the action succeeded before the deadline
+         */
+        public boolean isSucceeded() {
+            return succeeded;
+        }//end method
+
+        /**
+         * @return the number of attempts made
+         */
+        public int getAttempts() {
+            return attempts;
+        }//end method
+
+        /**
+         * @return the total time spent in milliseconds
+         */
+        public long getWaitedMillis() {
+            return waitedMillis;
+        }//end method
+
+        @Override public String toString() {
+            return (succeeded ? "Succeeded" : "Gave up") + " after " + attempts + " attempt(s) and " + waitedMillis + " ms.";
+        }//end method
+
+    }//end class
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private FileReleaseWaiter() {}//end constructor
+
+    /**
+     * This method will keep trying the action until it succeeds or the default deadline of {@link #DEFAULT_DEADLINE_MILLIS} passes.
+     *
+     * @param description what the action does, used for logging
+     * @param action the action to try
+     * @return the outcome of the wait
+     */
+    public static Result await(String description, Attempt action) {
+        return await(description, DEFAULT_DEADLINE_MILLIS, action);
+    }//end method
+
+    /**
+     * This method will keep trying the action until it succeeds or the deadline passes.
+     *
+     * @param description what the action does, used for logging
+     * @param deadlineMillis the number of milliseconds to keep trying
+     * @param action the action to try
+     * @return the outcome of the wait
+     */
+    public static Result await(String description, long deadlineMillis, Attempt action) {
+        myLogger.entering(MY_CLASS_NAME, "await", new Object[]{description, deadlineMillis});
+        long start = System.currentTimeMillis();
+        long deadline = start + deadlineMillis;
+        int attempts = 0;
+        boolean succeeded = false;
+        long pause = INITIAL_PAUSE_MILLIS;
+        try{
+            while(true){
+                attempts++;
+                succeeded = tryOnce(description, action);
+                long remaining = deadline - System.currentTimeMillis();
+                if(succeeded || remaining <= 0){
+                    break;
+                }//end if
+                if(attempts == 1 && awaitParentExit(Math.min(remaining, MAX_PARENT_WAIT_MILLIS))){
+                    continue;//the parent has just released everything it held so try again right away
+                }//end if
+                TimeUnit.MILLISECONDS.sleep(Math.min(pause, Math.max(1, deadline - System.currentTimeMillis())));
+                pause = Math.min(pause * 2, MAX_PAUSE_MILLIS);
+            }//end while
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            myLogger.warning("Interrupted while waiting to " + description + ".");
+        }//end try...catch
+        Result result = new Result(succeeded, attempts, System.currentTimeMillis() - start);
+        myLogger.log(succeeded ? Level.INFO : Level.WARNING, "Wait to " + description + ": " + result);
+        myLogger.exiting(MY_CLASS_NAME, "await", result);
+        return result;
+    }//end method
+
+    /**
+     * This method will wait for the JVM that started this process to exit.  Nothing is waited on when this process was started from a console
+     * because standard input then belongs to the user.
+     *
+     * @param timeoutMillis the maximum number of milliseconds to wait
+     * @return {@code true} if the parent JVM has exited
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static boolean awaitParentExit(long timeoutMillis) throws InterruptedException {
+        if(System.console() != null){
+            return false;
+        }//end if
+        if(watchingParent.compareAndSet(false, true)){
+            Thread watcher = new Thread(() -> {
+                try{
+                    byte[] buffer = new byte[512];
+                    while(System.in.read(buffer) != -1){
+                        //the parent does not write to standard input, anything that arrives is ignored
+                    }//end while
+                }catch(IOException e){
+                    myLogger.log(Level.FINE, "Standard input was closed with an error which is treated as the parent having exited. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+                parentExited.countDown();
+            }, "SFXParentWatch");
+            watcher.setDaemon(true);
+            watcher.start();
+        }//end if
+        return parentExited.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }//end method
+
+    /**
+     * @param description what the action does, used for logging
+     * @param action the action to try
+     * @return {@code true} if the action succeeded
+     */
+    private static boolean tryOnce(String description, Attempt action) {
+        try{
+            return action.attempt();
+        }catch(Exception e){
+            myLogger.log(Level.FINEST, "Attempt to " + description + " failed. Error message is: " + e.getMessage(), e);
+            return false;
+        }//end try...catch
+    }//end method
+
+}//end class
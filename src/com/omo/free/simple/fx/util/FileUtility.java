@@ -17,15 +17,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
 import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -165,32 +163,25 @@ public class FileUtility {
         myLogger.info("checking to see if this a jar file and if it happens to be then we will extract a file from within the jar to a location.");
         if(isJar){
             myLogger.info("this is a jar file");
-            JarFile jarFile = null;
-            JarEntry jarEntry = null;
             try{
-                jarFile = new JarFile(fileLocation);
-                Enumeration<JarEntry> entries = jarFile.entries();
-                while(entries.hasMoreElements()){
-                    jarEntry = entries.nextElement();
-                    if(jarEntry.getName().contains(propertiesFile)){
-                        myLogger.info("found the properties file" + propertiesFile + " which will be loaded.");
-                        break;// we have the correct one so lets break;
-                    }// end if
-                }// end while
-                fis = jarFile.getInputStream(jarEntry);
+                JarResourceIndex index = JarResourceIndex.forJar(fileLocation);
+                JarEntry jarEntry = index.findByFileName(propertiesFile);
+                if(jarEntry == null){
+                    jarEntry = index.findContaining(propertiesFile);
+                }// end if
+                if(jarEntry == null){
+                    throw new FileNotFoundException("File " + propertiesFile + " not found within " + fileLocation);
+                }// end if
+                myLogger.info("found the properties file" + propertiesFile + " which will be loaded.");
+                fis = index.getInputStream(jarEntry);
                 properties.load(fis);
                 fis.close();
-                jarFile.close();
             }catch(IOException e){
                 myLogger.log(Level.SEVERE, "IOException while attempting to load internal properties file " + propertiesFile + " file. Error is: " + e.getMessage(), e);
             }catch(Exception e){
                 myLogger.log(Level.SEVERE, "Exception while attempting to load internal properties file " + propertiesFile + " file. Error is: " + e.getMessage(), e);
             }finally{
                 try{
-                    if(jarFile != null){
-                        jarFile.close();
-                    }// end if
-
                     if(fis != null){
                         fis.close();
                     }// end if
@@ -298,37 +289,13 @@ public class FileUtility {
     public static void extractFileFromJar(String destination, String nameOfFile) throws IOException {
         myLogger.entering(MY_CLASS_NAME, "extractFileFromJar", new Object[]{destination, nameOfFile});
 
-        JarFile jarFile = new JarFile(Constants.FRAMEWORK_FILE_LOCATION);
-        Enumeration<JarEntry> entries = jarFile.entries();
-        JarEntry jarEntry = null;
-        boolean found = false;
-        while(entries.hasMoreElements()){
-            jarEntry = entries.nextElement();
-            if((jarEntry.getName().contains("gov/") || jarEntry.getName().contains("splash/")) && jarEntry.getName().endsWith(nameOfFile)){
-                myLogger.info("found the " + nameOfFile + " within standard isu location which will be extracted...");
-                found = true;
-                break;// we have the correct one so lets break;
-            }// end if
-        }// end while
-
-        if(!found){//this was added due to user that does not know that standard location of resource files
-            entries = jarFile.entries();
-            while(entries.hasMoreElements()){
-                jarEntry = entries.nextElement();
-                if(jarEntry.getName().endsWith(nameOfFile)){
-                  myLogger.info("found the " + nameOfFile + " not within the standard isu location which will be extracted...");
-                  found= true;
-                  break;// we have the correct one so lets break;
-                }// end if
-            }//end while
-        }//end if
-
-        if(!found){//if still not found then just throw exception!
-            if(jarFile != null){
-                jarFile.close();
-            }// end if
+        JarResourceIndex index = JarResourceIndex.forFramework();
+        //entries within the standard isu location are preferred, otherwise the first entry with the same name is used for users that do not know the standard location of resource files
+        JarEntry jarEntry = index.findByFileName(nameOfFile, "gov/", "splash/");
+        if(jarEntry == null){//if not found then just throw exception!
             throw new FileNotFoundException("The file with the name of \"" + String.valueOf(nameOfFile) + "\" could not be found.");
         }//end if
+        myLogger.info("found the " + jarEntry.getName() + " which will be extracted...");
 
         String pathToFile = destination.endsWith("/") || destination.endsWith("\\") ? destination + nameOfFile : destination + "\\" + nameOfFile;
 
@@ -339,7 +306,7 @@ public class FileUtility {
         OutputStream out = null;
 
         try{
-            in = new BufferedInputStream(jarFile.getInputStream(jarEntry));
+            in = new BufferedInputStream(index.getInputStream(jarEntry));
             out = new BufferedOutputStream(new FileOutputStream(destinationFile));
             byte[] buffer = new byte[2048];
             int i = 0;
@@ -358,9 +325,6 @@ public class FileUtility {
             if(out != null){
                 out.close();
             } // end if
-            if(jarFile != null){
-                jarFile.close();
-            }// end if
         } // end finally
         myLogger.exiting(MY_CLASS_NAME, "extractFileFromJar");
     } // end method
@@ -379,16 +343,15 @@ public class FileUtility {
     public static void extractFileFromJar(String destination, String nameOfFile, String theFileRenamed) throws IOException {
         myLogger.entering(MY_CLASS_NAME, "extractFileFromJar", new Object[]{destination, nameOfFile});
 
-        JarFile jarFile = new JarFile(Constants.FRAMEWORK_FILE_LOCATION);
-        Enumeration<JarEntry> entries = jarFile.entries();
-        JarEntry jarEntry = null;
-        while(entries.hasMoreElements()){
-            jarEntry = entries.nextElement();
-            if((jarEntry.getName().contains("gov/") || jarEntry.getName().contains("splash/")) && jarEntry.getName().contains(nameOfFile)){
-                myLogger.info("found the " + nameOfFile + " which will be extracted...");
-                break;// we have the correct one so lets break;
-            }// end if
-        }// end while
+        JarResourceIndex index = JarResourceIndex.forFramework();
+        JarEntry jarEntry = index.findByFileName(nameOfFile, "gov/", "splash/");
+        if(jarEntry == null){
+            jarEntry = index.findContaining(nameOfFile);
+        }// end if
+        if(jarEntry == null){
+            throw new FileNotFoundException("The file with the name of \"" + String.valueOf(nameOfFile) + "\" could not be found.");
+        }// end if
+        myLogger.info("found the " + jarEntry.getName() + " which will be extracted...");
 
         String pathToFile = destination.endsWith("/") || destination.endsWith("\\") ? destination + theFileRenamed : destination + "\\" + theFileRenamed;
 
@@ -399,7 +362,7 @@ public class FileUtility {
         OutputStream out = null;
 
         try{
-            in = new BufferedInputStream(jarFile.getInputStream(jarEntry));
+            in = new BufferedInputStream(index.getInputStream(jarEntry));
             out = new BufferedOutputStream(new FileOutputStream(destinationFile));
             byte[] buffer = new byte[2048];
             int i = 0;
@@ -418,9 +381,6 @@ public class FileUtility {
             if(out != null){
                 out.close();
             } // end if
-            if(jarFile != null){
-                jarFile.close();
-            }// end if
         } // end finally
         myLogger.exiting(MY_CLASS_NAME, "extractFileFromJar");
     } // end method
@@ -488,58 +448,24 @@ public class FileUtility {
     }// end directoryExists
 
     /**
-     * This method will copy a file to a directory.
+     * This method will copy a file to a directory.  The file is copied by {@link VerifiedCopy} which writes a partial copy first, resumes it
+     * if the copy is interrupted and only moves it into place once its size matches the file.
      *
      * @param fileToCopy
      *        the file to copy
      * @param copyToDirectory
      *        directory to copy the file to
+     * @return {@code true} if the copy is in place, {@code false} if the file could not be copied
      */
-    public static void copyFileToDir(File fileToCopy, String copyToDirectory) {
+    public static boolean copyFileToDir(File fileToCopy, String copyToDirectory) {
         myLogger.entering(MY_CLASS_NAME, "copyFileToDir()", new Object[]{fileToCopy, copyToDirectory});
 
-        byte[] bytes = new byte[0];
         myLogger.log(Level.FINE, "Path to " + fileToCopy.getName() + " file for copying to the following location: " + copyToDirectory);
         String location = fileToCopy.getAbsolutePath();
         File fileCopy = new File(location.replaceAll("%20", " ").replaceAll("%23", "#"));
-        InputStream is = null;
-        try{
-            is = new FileInputStream(fileCopy);
-
-            long length = fileCopy.length();
-            if(length > Integer.MAX_VALUE){
-                throw new Exception();
-            } // end if
-            bytes = new byte[(int) length];
-            int offset = 0;
-            int numRead = is.read(bytes, offset, bytes.length - offset);
-            while(offset < bytes.length && numRead >= 0){
-                offset += numRead;
-                numRead = is.read(bytes, offset, bytes.length - offset);
-            }// end while
-            String fileName = fileToCopy.getName();
-            writeFile(bytes, copyToDirectory, fileName);
-            myLogger.exiting(MY_CLASS_NAME, "copyFileToDirectory");
-        }catch(FileNotFoundException e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-            myLogger.log(Level.SEVERE, "FileNotFoundException while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToDirectory + " . Error is: " + e.getMessage(), e);
-        }catch(IOException e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-            myLogger.log(Level.SEVERE, "IOException while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToDirectory + " . Error is: " + e.getMessage(), e);
-        }catch(Exception e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-            myLogger.log(Level.SEVERE, "Exception while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToDirectory + " . Error is: ", e);
-        }finally{
-            try{
-                // check to see if the input stream is null before trying to close it.
-                if(is != null){
-                    is.close();
-                }// end if
-            }catch(IOException e){
-                LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-                myLogger.log(Level.SEVERE, "IOException while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToDirectory + " . Error is: " + e.getMessage(), e);
-            }// end if
-        }// end try...catch
+        boolean copied = verifiedCopy(fileCopy, new File(copyToDirectory, fileToCopy.getName()));
+        myLogger.exiting(MY_CLASS_NAME, "copyFileToDirectory", copied);
+        return copied;
     }// end copyJarToTransferDir
 
     /**
@@ -557,15 +483,15 @@ public class FileUtility {
         myLogger.finest("initialize local variables to null ");
         File external = null;
         String internalName = null;
-        JarFile jar = null;
+        JarResourceIndex jar = null;
         InputStream in1 = null;
         InputStream in2 = null;
 
         boolean areEqual = true;
 
         try{
-            myLogger.finest("create instance of the jar file");
-            jar = new JarFile(Constants.APP_FILE_LOCATION);
+            myLogger.finest("obtain the shared index of the jar file");
+            jar = JarResourceIndex.forApplication();
 
             myLogger.finest("naming this loop outer so that i can break out of it when need be (ie within the inner loop below.)");
             outer:for(int i = 0, j = externalFilePaths.size();i < j;i++){
@@ -616,9 +542,6 @@ public class FileUtility {
                 if(in2 != null){
                     in2.close();
                 }// end if
-                if(jar != null){
-                    jar.close();
-                }// end if
             }catch(IOException e){
                 myLogger.log(Level.SEVERE, "IOException while trying to close input streams during the comparing of internal files and external files. e=" + e.getMessage(), e);
             }// end try...catch
@@ -744,7 +667,8 @@ public class FileUtility {
     }// end copyInternalFileToExternalDestination
 
     /**
-     * This method will return a files path based upon the filename.
+     * This method will return a files path based upon the filename.  The path is looked up within the {@link ClasspathIndex} of the root
+     * directory which is built once and then kept current while the application is running.
      *
      * @param rootDirectory
      *        the root directory to start searching
@@ -755,19 +679,10 @@ public class FileUtility {
      */
     private static void findFile(File rootDirectory, String nameOfFileToCopy, String[] pathToRequestedFile) {
         myLogger.entering(MY_CLASS_NAME, "findFile()", new Object[]{rootDirectory, nameOfFileToCopy, pathToRequestedFile});
-        File[] dirlist = rootDirectory.listFiles();
-        for(int i = 0, j = dirlist.length;i < j;i++){
-            if(pathToRequestedFile[0] != null){
-                break;
-            }// end if
-            if(dirlist[i].isDirectory() && !dirlist[i].getName().contains("CVS")){
-                findFile(dirlist[i], nameOfFileToCopy, pathToRequestedFile);
-            }else if(dirlist[i].isFile() && dirlist[i].getName().equals(nameOfFileToCopy)){
-                pathToRequestedFile[0] = dirlist[i].getPath();
-                break;
-            }// end if
-        }// end for
-        myLogger.exiting(MY_CLASS_NAME, "copyFileToDirectory");
+        if(rootDirectory.isDirectory()){
+            pathToRequestedFile[0] = ClasspathIndex.forDirectory(rootDirectory).find(nameOfFileToCopy);
+        }// end if
+        myLogger.exiting(MY_CLASS_NAME, "findFile()", pathToRequestedFile[0]);
     }// end findFile
 
     /**
@@ -779,29 +694,18 @@ public class FileUtility {
      */
     public static String extractFilePathFromJar(String fileName) {
         myLogger.entering(MY_CLASS_NAME, "extractFilePathFromJar()", fileName);
-        JarFile jar = null;
-        JarEntry entry = null;
         String internalFilePath = "";
         try{
-            jar = new JarFile(Constants.FRAMEWORK_FILE_LOCATION);
-            Enumeration<JarEntry> entries = jar.entries();
-            while(entries.hasMoreElements()){
-                entry = entries.nextElement();
-                if(entry.getName().contains(fileName)){
-                    internalFilePath = entry.getName();
-                    break;
-                }// end if
-            }// end while
+            JarResourceIndex jar = JarResourceIndex.forFramework();
+            JarEntry entry = jar.findByFileName(fileName);
+            if(entry == null){
+                entry = jar.findContaining(fileName);
+            }// end if
+            if(entry != null){
+                internalFilePath = entry.getName();
+            }// end if
         }catch(IOException e){
             myLogger.log(Level.SEVERE, "IOException while extracting file list from jar." + e.getMessage(), e);
-        }finally{
-            try{
-                if(jar != null){
-                    jar.close();
-                }// end if
-            }catch(IOException e){
-                myLogger.log(Level.SEVERE, "IOException while extracting file list from jar." + e.getMessage(), e);
-            }// end try...catch
         }// end try...catch
         myLogger.exiting(MY_CLASS_NAME, "extractFilePathFromJar()", internalFilePath);
         return internalFilePath;
@@ -821,7 +725,7 @@ public class FileUtility {
 
         myLogger.finest("initialize local variables to null ");
         File external = null;
-        JarFile jar = null;
+        JarResourceIndex jar = null;
         InputStream in1 = null;
         InputStream in2 = null;
 
@@ -837,7 +741,7 @@ public class FileUtility {
 
             if(isEqual){
                 myLogger.finest("create input stream instances one from the external file and one from the internal file");
-                jar = new JarFile(Constants.APP_FILE_LOCATION);
+                jar = JarResourceIndex.forApplication();
                 in1 = new BufferedInputStream(jar.getInputStream(jar.getEntry(internalFilePath)));
                 in2 = new BufferedInputStream(new FileInputStream(external));
 
@@ -867,9 +771,6 @@ public class FileUtility {
                 if(in2 != null){
                     in2.close();
                 }// end if
-                if(jar != null){
-                    jar.close();
-                }// end if
             }catch(IOException e){
                 myLogger.log(Level.SEVERE, "IOException while trying to close input streams during the comparing of internal files and external files. e=" + e.getMessage(), e);
             }// end try...catch
@@ -1052,14 +953,16 @@ public class FileUtility {
     }// end copyInternalFileToExternalDestination
 
     /**
-     * This method will copy a file to a directory.
+     * This method will copy a file to another file.  The file is copied by {@link VerifiedCopy} which writes a partial copy first, resumes it
+     * if the copy is interrupted and only moves it over the destination once its size matches the file.
      *
      * @param fileToCopy
      *        the file to copy
      * @param copyToFile
      *        absolute destination path to copy the file to
+     * @return {@code true} if the copy is in place, {@code false} if the file could not be copied
      */
-    public static void copyFile(File fileToCopy, File copyToFile) {
+    public static boolean copyFile(File fileToCopy, File copyToFile) {
         myLogger.entering(MY_CLASS_NAME, "copyFile()", new Object[]{fileToCopy, copyToFile});
 
         // do necessar checks before proceeding to copy
@@ -1081,52 +984,30 @@ public class FileUtility {
             throw new IllegalArgumentException(errorMessage);
         }// end if
 
-        FileInputStream inputStream = null;
-        FileOutputStream outputStream = null;
-        FileChannel inChannel = null;
-        FileChannel outChannel = null;
+        boolean copied = verifiedCopy(fileToCopy, copyToFile);
+        myLogger.exiting(MY_CLASS_NAME, "copyFile()", copied);
+        return copied;
+    }// end copyJarToTransferDir
+
+    /**
+     * This method will copy the file through {@link VerifiedCopy} and log the reason the copy failed.  The update and refactor processes copy
+     * jars before logging has been initialized therefore the {@link LoggingMgr} is not used here.
+     *
+     * @param fileToCopy
+     *        the file to copy
+     * @param copyToFile
+     *        the file to write
+     * @return {@code true} if the copy is in place, {@code false} if the file could not be copied
+     */
+    private static boolean verifiedCopy(File fileToCopy, File copyToFile) {
         try{
-            inputStream = new FileInputStream(fileToCopy);
-            outputStream = new FileOutputStream(copyToFile);
-            inChannel = inputStream.getChannel();
-            outChannel = outputStream.getChannel();
-
-            ByteBuffer myBuffer = ByteBuffer.allocate(1024);
-            int read = inChannel.read(myBuffer);
-            while(read != -1){
-                myBuffer.flip();
-                outChannel.write(myBuffer);
-                myBuffer.clear();
-                read = inChannel.read(myBuffer);
-            }// end while
-        }catch(FileNotFoundException e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-            myLogger.log(Level.SEVERE, "FileNotFoundException while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToFile.getAbsolutePath() + " . Error is: " + e.getMessage(), e);
+            VerifiedCopy.copy(fileToCopy, copyToFile, null);
+            return true;
         }catch(IOException e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
             myLogger.log(Level.SEVERE, "IOException while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToFile.getAbsolutePath() + " . Error is: " + e.getMessage(), e);
-        }catch(Exception e){
-            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
-            myLogger.log(Level.SEVERE, "Exception while attempting to copy " + fileToCopy.getName() + " file to the following location: " + copyToFile.getAbsolutePath() + " . Error is: " + e.getMessage(), e);
-        }finally{
-            try{
-                if(inChannel != null){
-                    inChannel.close();
-                }// end if
-                if(outChannel != null){
-                    outChannel.close();
-                }// end if
-                if(outputStream != null){
-                    outputStream.close();
-                }// end if
-                if(inputStream != null){
-                    inputStream.close();
-                }// end if
-            }catch(IOException e){
-                myLogger.log(Level.SEVERE, "Exception while attempting to close streams and channels. . Error is: " + e.getMessage(), e);
-            }// end if
+            return false;
         }// end try...catch
-    }// end copyJarToTransferDir
+    }// end verifiedCopy
 
     /**
      * This method is a convenience method used to write to an existing file by appending a line to the end of the file.
@@ -1239,6 +1120,58 @@ public class FileUtility {
         return exists;
     }// end method
 
+    /**
+     * This method will calculate the SHA-256 hash of a file's content.
+     *
+     * @param file
+     *        the file to hash
+     * @return the hash as a lower case hexadecimal string
+     * @throws IOException
+     *         if the file could not be read
+     */
+    public static String sha256Hex(File file) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "sha256Hex", file);
+        MessageDigest digest = null;
+        try{
+            digest = MessageDigest.getInstance("SHA-256");
+        }catch(NoSuchAlgorithmException e){
+            throw new IOException("SHA-256 is not supported by this JVM.", e);
+        }// end try...catch
+        InputStream is = null;
+        try{
+            is = new FileInputStream(file);
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while((read = is.read(buffer)) != -1){
+                digest.update(buffer, 0, read);
+            }// end while
+        }finally{
+            if(is != null){
+                is.close();
+            }// end if
+        }// end try...finally
+        String hex = toHex(digest.digest());
+        myLogger.exiting(MY_CLASS_NAME, "sha256Hex", hex);
+        return hex;
+    }// end method
+
+    /**
+     * This method will convert bytes into a lower case hexadecimal string.
+     *
+     * @param bytes
+     *        the bytes to convert
+     * @return the hexadecimal string
+     */
+    public static String toHex(byte[] bytes) {
+        char[] digits = "0123456789abcdef".toCharArray();
+        char[] hex = new char[bytes.length * 2];
+        for(int i = 0, j = bytes.length;i < j;i++){
+            hex[i * 2] = digits[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = digits[bytes[i] & 0xF];
+        }// end for
+        return new String(hex);
+    }// end method
+
     /**
      * This method will delete a directory from the bottom up.
      *
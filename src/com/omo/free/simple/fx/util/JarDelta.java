@@ -0,0 +1,545 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import com.omo.free.simple.fx.managers.LoggingMgr;
+
+/**
+ * JarDelta class - Rebuilds a newer version of a jar locally by transferring only the entries that have changed.
+ *
+ * <p>When a jar is published to the shared directory the build also publishes an entry manifest next to it named
+ * {@code <jar name>.entries} (refer to {@link #main(String[])}).  The entry manifest lists the SHA-256 hash, size and name of every entry
+ * within the jar in the order they are stored.  When an update is applied the entry manifest is compared against the entries of the running
+ * jar and only the entries that differ are read out of the shared jar.  Everything else is copied out of the running jar on the local disk.
+ * Every entry that is written is hashed and checked against the entry manifest before the rebuilt jar is moved into place.</p>
+ *
+ * <p>A rebuilt jar holds the same entries as the shared jar but is not the same file byte for byte because its entries are compressed again,
+ * so it is never compared with the SHA-256 checksum of the jar within the version catalog.  It is verified entry by entry only.  To tie that
+ * verification to the published jar the entry manifest is only used when its own checksum matches the <b>entries.sha256</b> recorded
+ * within the version catalog (refer to {@link VersionCatalog#getEntriesSha256()}).  When a catalog names the jar but did not record the entry
+ * manifest, or the checksums differ, the whole jar is copied and checked against the catalog instead.  Without a catalog the entry manifest
+ * is trusted as it is.</p>
+ *
+ * <p>The build may also publish a packed companion next to the jar named {@code <jar name>.packed}.  It holds the content of every entry in
+ * the order of the entry manifest, stored without the compression of the jar and then compressed as a whole with the strongest deflate level
+ * so that the text and class files of the jar compress together.  It is only published when it is smaller than the jar.  When the jar can
+ * not be rebuilt from the running jar the packed companion is streamed from the shared directory and decompressed while each entry is
+ * written into the new jar, and every entry is checked against the entry manifest exactly as it is when the jar is rebuilt.</p>
+ *
+ * <p>If the entry manifest does not exist or anything at all goes wrong the whole shared jar is copied instead by {@link VerifiedCopy} and
+ * checked against the checksum within the version catalog when one has been published.</p>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class JarDelta {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.JarDelta";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The suffix of the entry manifest that is published next to a jar. */
+    public static final String MANIFEST_SUFFIX = ".entries";
+
+    /** The suffix of the packed companion that is published next to a jar. */
+    public static final String PACKED_SUFFIX = ".packed";
+
+    private static final String HEADER = "#SimpleFX jar entries";
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private JarDelta() {}//end constructor
+
+    /**
+     * This method is called by the build to write the entry manifest and the packed companion of a jar.  The packed companion is written to
+     * {@code <jar>.packed} and is only kept when it is smaller than the jar.
+     *
+     * <p>args[0] = the jar, args[1] = the entry manifest to write (optional, defaults to {@code <jar>.entries})</p>
+     *
+     * @param args the command line arguments
+     * @throws IOException if the jar could not be read or the entry manifest or packed companion could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 1){
+            System.err.println("Usage: JarDelta <jar> [entry manifest]");
+            System.exit(1);
+        }//end if
+        File jar = new File(args[0]);
+        File manifest = new File(args.length > 1 ? args[1] : args[0] + MANIFEST_SUFFIX);
+        writeManifest(jar, manifest);
+        System.out.println("Wrote entry manifest " + manifest.getAbsolutePath());
+        File packed = new File(jar.getPath() + PACKED_SUFFIX);
+        if(writePacked(jar, packed)){
+            System.out.println("Wrote packed companion " + packed.getAbsolutePath() + " (" + packed.length() + " of " + jar.length() + " bytes)");
+        }else{
+            System.out.println("The packed companion of " + jar.getName() + " would not be smaller than the jar therefore it was not written.");
+        }//end if
+    }//end method
+
+    /**
+     * This method will write the entry manifest of a jar.
+     *
+     * @param jar the jar to describe
+     * @param manifest the entry manifest to write
+     * @throws IOException if the jar could not be read or the entry manifest could not be written
+     */
+    public static void writeManifest(File jar, File manifest) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "writeManifest", new Object[]{jar, manifest});
+        ZipFile zip = null;
+        BufferedWriter writer = null;
+        try{
+            zip = new ZipFile(jar);
+            writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(manifest), StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.newLine();
+            byte[] buffer = new byte[64 * 1024];
+            for(Enumeration<? extends ZipEntry> e = zip.entries();e.hasMoreElements();){
+                ZipEntry entry = e.nextElement();
+                MessageDigest digest = newDigest();
+                long size = copy(zip.getInputStream(entry), null, digest, buffer);
+                writer.write(FileUtility.toHex(digest.digest()) + " " + size + " " + entry.getName());
+                writer.newLine();
+            }//end for
+        }finally{
+            if(writer != null){
+                writer.close();
+            }//end if
+            if(zip != null){
+                zip.close();
+            }//end if
+        }//end try...finally
+        myLogger.exiting(MY_CLASS_NAME, "writeManifest");
+    }//end method
+
+    /**
+     * This method will write the packed companion of a jar.  The content of every entry is written in the order the entries are stored within
+     * the jar, which is the order of the entry manifest, and compressed as one stream.  The packed companion is deleted again when it is not
+     * smaller than the jar.
+     *
+     * @param jar the jar to pack
+     * @param packed the packed companion to write
+     * @return {@code true} if the packed companion was kept
+     * @throws IOException if the jar could not be read or the packed companion could not be written
+     */
+    public static boolean writePacked(File jar, File packed) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "writePacked", new Object[]{jar, packed});
+        ZipFile zip = null;
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        OutputStream out = null;
+        try{
+            zip = new ZipFile(jar);
+            out = new DeflaterOutputStream(new FileOutputStream(packed), deflater, 64 * 1024);
+            byte[] buffer = new byte[64 * 1024];
+            for(Enumeration<? extends ZipEntry> e = zip.entries();e.hasMoreElements();){
+                copy(zip.getInputStream(e.nextElement()), out, null, buffer);
+            }//end for
+        }finally{
+            if(out != null){
+                out.close();
+            }//end if
+            deflater.end();
+            if(zip != null){
+                zip.close();
+            }//end if
+        }//end try...finally
+        boolean kept = packed.length() < jar.length();
+        if(!kept){
+            packed.delete();
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "writePacked", kept);
+        return kept;
+    }//end method
+
+    /**
+     * This method will place a copy of the shared jar within the given directory.  The copy is rebuilt from the running jar and the changed
+     * entries of the shared jar when an entry manifest was published, then from the packed companion when one was published, otherwise the
+     * whole shared jar is copied.
+     *
+     * @param sharedJar the newer jar within the shared directory
+     * @param runningJar the jar of the running application
+     * @param copyToDirectory the directory to place the copy in
+     * @return {@code true} if the copy is in place, {@code false} if neither the rebuild nor the copy of the whole jar succeeded
+     */
+    public static boolean copyToDir(File sharedJar, File runningJar, String copyToDirectory) {
+        return copyToDir(sharedJar, runningJar, copyToDirectory, null);
+    }//end method
+
+    /**
+     * This method will place a copy of the shared jar within the given directory reporting how far along the rebuild is.
+     *
+     * @param sharedJar the newer jar within the shared directory
+     * @param runningJar the jar of the running application
+     * @param copyToDirectory the directory to place the copy in
+     * @param progress receives the fraction (0 to 1) of the jar that has been written or {@code null}
+     * @return {@code true} if the copy is in place, {@code false} if neither the rebuild nor the copy of the whole jar succeeded
+     */
+    public static boolean copyToDir(File sharedJar, File runningJar, String copyToDirectory, DoubleConsumer progress) {
+        myLogger.entering(MY_CLASS_NAME, "copyToDir", new Object[]{sharedJar, runningJar, copyToDirectory});
+        File manifest = new File(sharedJar.getPath() + MANIFEST_SUFFIX);
+        File packed = new File(sharedJar.getPath() + PACKED_SUFFIX);
+        boolean published = manifest.isFile() && isPublishedManifest(sharedJar, manifest);
+        boolean rebuilt = false;
+        if(published && runningJar != null && runningJar.isFile()){
+            try{
+                rebuild(sharedJar, manifest, runningJar, new File(copyToDirectory, sharedJar.getName()), progress);
+                rebuilt = true;
+            }catch(Exception e){
+                myLogger.log(Level.WARNING, "Could not rebuild " + sharedJar.getName() + " from its changed entries. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }else if(!published){
+            myLogger.fine("No entry manifest was published for " + sharedJar.getName() + " therefore the whole jar will be copied.");
+        }//end if
+        if(!rebuilt && published && packed.isFile() && packed.length() < sharedJar.length()){
+            try{
+                unpack(packed, manifest, new File(copyToDirectory, sharedJar.getName()), progress);
+                rebuilt = true;
+            }catch(Exception e){
+                myLogger.log(Level.WARNING, "Could not unpack " + packed.getName() + " therefore the whole jar will be copied. Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+        boolean copied = rebuilt || copyWhole(sharedJar, new File(copyToDirectory, sharedJar.getName()), progress);
+        if(copied && progress != null){
+            progress.accept(1);
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "copyToDir", copied);
+        return copied;
+    }//end method
+
+    /**
+     * @param sharedJar the newer jar within the shared directory
+     * @param manifest the entry manifest of the shared jar
+     * @return {@code true} if there is no catalog for the shared jar or the checksum of the entry manifest matches the one within the catalog
+     */
+    private static boolean isPublishedManifest(File sharedJar, File manifest) {
+        VersionCatalog catalog = VersionCatalog.find(sharedJar.getParentFile(), VersionCatalog.getPrefix(sharedJar.getName()));
+        if(catalog == null || !sharedJar.getName().equals(catalog.getJarName()) || catalog.getSha256() == null){
+            return true;
+        }//end if
+        try{
+            if(catalog.getEntriesSha256() != null && catalog.getEntriesSha256().equalsIgnoreCase(FileUtility.sha256Hex(manifest))){
+                return true;
+            }//end if
+            myLogger.info("The entry manifest of " + sharedJar.getName() + " was not recorded within its version catalog therefore the whole jar will be copied.");
+        }catch(IOException e){
+            myLogger.log(Level.WARNING, "Could not read the entry manifest " + manifest.getAbsolutePath() + " therefore the whole jar will be copied. Error message is: " + e.getMessage(), e);
+        }//end try...catch
+        return false;
+    }//end method
+
+    /**
+     * This method will copy the whole shared jar into the target file.  A copy that was interrupted is left in place to be resumed the next
+     * time, a copy that does not match the published jar is deleted.
+     *
+     * @param sharedJar the newer jar within the shared directory
+     * @param target the file to write
+     * @param progress receives the fraction (0 to 1) of the jar that has been written or {@code null}
+     * @return {@code true} if the copy is in place
+     */
+    private static boolean copyWhole(File sharedJar, File target, DoubleConsumer progress) {
+        String expectedSha256 = null;
+        VersionCatalog catalog = VersionCatalog.find(sharedJar.getParentFile(), VersionCatalog.getPrefix(sharedJar.getName()));
+        if(catalog != null && sharedJar.getName().equals(catalog.getJarName())){
+            expectedSha256 = catalog.getSha256();
+        }//end if
+        try{
+            VerifiedCopy.copy(sharedJar, target, expectedSha256, 0, progress);
+            return target.isFile();
+        }catch(IOException e){
+            LoggingMgr.getInstance().setAllApplicationLoggersForOneCycle(Level.ALL);
+            myLogger.log(Level.SEVERE, "IOException while attempting to copy " + sharedJar.getName() + " to " + target.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+            return false;
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method will rebuild the shared jar into the target file.  The jar is written to a temporary file first and only moved over the
+     * target once every entry has been verified.
+     *
+     * @param sharedJar the newer jar within the shared directory
+     * @param manifest the entry manifest of the shared jar
+     * @param runningJar the jar of the running application
+     * @param target the file to write
+     * @param progress receives the fraction (0 to 1) of the jar that has been written or {@code null}
+     * @throws IOException if an entry could not be read or does not match the entry manifest
+     */
+    static void rebuild(File sharedJar, File manifest, File runningJar, File target, DoubleConsumer progress) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "rebuild", new Object[]{sharedJar, manifest, runningJar, target});
+        long start = System.currentTimeMillis();
+        List<String[]> entries = readManifest(manifest);
+        Map<String, String> localHashes = hashEntries(runningJar);
+        long expected = 0;
+        for(int i = 0, j = entries.size();i < j;i++){
+            expected += Long.parseLong(entries.get(i)[1]);
+        }//end for
+
+        File temp = new File(target.getPath() + ".part");
+        ZipFile local = null;
+        ZipFile shared = null;
+        ZipOutputStream out = null;
+        long fetched = 0;
+        long total = 0;
+        int changed = 0;
+        boolean verified = false;
+        try{
+            local = new ZipFile(runningJar);
+            out = new ZipOutputStream(new FileOutputStream(temp));
+            byte[] buffer = new byte[64 * 1024];
+            for(int i = 0, j = entries.size();i < j;i++){
+                String hash = entries.get(i)[0];
+                long size = Long.parseLong(entries.get(i)[1]);
+                String name = entries.get(i)[2];
+                ZipFile source = local;
+                if(!hash.equals(localHashes.get(name))){
+                    if(shared == null){
+                        shared = new ZipFile(sharedJar);//only the central directory and the changed entries are read over the network
+                    }//end if
+                    source = shared;
+                    fetched += size;
+                    changed++;
+                }//end if
+                ZipEntry sourceEntry = source.getEntry(name);
+                if(sourceEntry == null){
+                    throw new IOException("Entry " + name + " is listed within the entry manifest but does not exist within " + (source == local ? runningJar.getName() : sharedJar.getName()) + ".");
+                }//end if
+                ZipEntry entry = new ZipEntry(name);
+                entry.setTime(sourceEntry.getTime());
+                out.putNextEntry(entry);
+                MessageDigest digest = newDigest();
+                long written = copy(source.getInputStream(sourceEntry), out, digest, buffer);
+                out.closeEntry();
+                if(written != size || !hash.equals(FileUtility.toHex(digest.digest()))){
+                    throw new IOException("Entry " + name + " does not match the entry manifest.");
+                }//end if
+                total += written;
+                if(progress != null && expected > 0){
+                    progress.accept((double) total / expected);
+                }//end if
+            }//end for
+            out.close();
+            verified = true;
+        }finally{
+            closeQuietly(out);
+            closeQuietly(local);
+            closeQuietly(shared);
+            if(!verified){
+                temp.delete();
+            }//end if
+        }//end try...finally
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        myLogger.info("Rebuilt " + target.getName() + " in " + (System.currentTimeMillis() - start) + " ms. " + changed + " of " + entries.size() + " entries (" + fetched + " of " + total + " bytes) were transferred from the shared directory.");
+        myLogger.exiting(MY_CLASS_NAME, "rebuild");
+    }//end method
+
+    /**
+     * This method will write the jar described by the entry manifest into the target file from the packed companion, decompressing the
+     * packed companion while it is read from the shared directory.  The jar is written to a temporary file first and only moved over the
+     * target once every entry has been verified.
+     *
+     * @param packed the packed companion of the newer jar within the shared directory
+     * @param manifest the entry manifest of the newer jar
+     * @param target the file to write
+     * @param progress receives the fraction (0 to 1) of the jar that has been written or {@code null}
+     * @throws IOException if the packed companion could not be read or an entry does not match the entry manifest
+     */
+    static void unpack(File packed, File manifest, File target, DoubleConsumer progress) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "unpack", new Object[]{packed, manifest, target});
+        long start = System.currentTimeMillis();
+        List<String[]> entries = readManifest(manifest);
+        long expected = 0;
+        for(int i = 0, j = entries.size();i < j;i++){
+            expected += Long.parseLong(entries.get(i)[1]);
+        }//end for
+
+        File temp = new File(target.getPath() + ".part");
+        Inflater inflater = new Inflater();
+        InputStream in = null;
+        ZipOutputStream out = null;
+        long total = 0;
+        boolean verified = false;
+        try{
+            in = new InflaterInputStream(new BufferedInputStream(new FileInputStream(packed), 64 * 1024), inflater, 64 * 1024);
+            out = new ZipOutputStream(new FileOutputStream(temp));
+            byte[] buffer = new byte[64 * 1024];
+            for(int i = 0, j = entries.size();i < j;i++){
+                String hash = entries.get(i)[0];
+                long size = Long.parseLong(entries.get(i)[1]);
+                String name = entries.get(i)[2];
+                out.putNextEntry(new ZipEntry(name));
+                MessageDigest digest = newDigest();
+                long remaining = size;
+                while(remaining > 0){
+                    int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                    if(read == -1){
+                        throw new IOException(packed.getName() + " ended before the entry " + name + " was read.");
+                    }//end if
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }//end while
+                out.closeEntry();
+                if(!hash.equals(FileUtility.toHex(digest.digest()))){
+                    throw new IOException("Entry " + name + " does not match the entry manifest.");
+                }//end if
+                total += size;
+                if(progress != null && expected > 0){
+                    progress.accept((double) total / expected);
+                }//end if
+            }//end for
+            if(in.read() != -1){
+                throw new IOException(packed.getName() + " holds more than the entries listed within the entry manifest.");
+            }//end if
+            out.close();
+            verified = true;
+        }finally{
+            closeQuietly(out);
+            closeQuietly(in);
+            inflater.end();
+            if(!verified){
+                temp.delete();
+            }//end if
+        }//end try...finally
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        myLogger.info("Unpacked " + target.getName() + " in " + (System.currentTimeMillis() - start) + " ms. " + packed.length() + " bytes were transferred from the shared directory for " + total + " bytes of entries.");
+        myLogger.exiting(MY_CLASS_NAME, "unpack");
+    }//end method
+
+    /**
+     * @param manifest the entry manifest
+     * @return each entry as {hash, size, name} in the order it is stored within the jar
+     * @throws IOException if the entry manifest could not be read or is not valid
+     */
+    private static List<String[]> readManifest(File manifest) throws IOException {
+        List<String[]> entries = new ArrayList<String[]>();
+        Set<String> names = new HashSet<String>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(manifest), StandardCharsets.UTF_8));
+        try{
+            String line = reader.readLine();
+            if(!HEADER.equals(line)){
+                throw new IOException(manifest.getName() + " is not an entry manifest.");
+            }//end if
+            while((line = reader.readLine()) != null){
+                if(line.isEmpty()){
+                    continue;
+                }//end if
+                String[] entry = line.split(" ", 3);
+                if(entry.length != 3 || entry[0].length() != 64 || !names.add(entry[2])){
+                    throw new IOException(manifest.getName() + " contains an invalid line: " + line);
+                }//end if
+                entries.add(entry);
+            }//end while
+        }finally{
+            reader.close();
+        }//end try...finally
+        return entries;
+    }//end method
+
+    /**
+     * @param jar the jar to hash
+     * @return the SHA-256 hash of every entry keyed by entry name
+     * @throws IOException if the jar could not be read
+     */
+    private static Map<String, String> hashEntries(File jar) throws IOException {
+        Map<String, String> hashes = new HashMap<String, String>();
+        ZipFile zip = new ZipFile(jar);
+        try{
+            byte[] buffer = new byte[64 * 1024];
+            for(Enumeration<? extends ZipEntry> e = zip.entries();e.hasMoreElements();){
+                ZipEntry entry = e.nextElement();
+                MessageDigest digest = newDigest();
+                copy(zip.getInputStream(entry), null, digest, buffer);
+                hashes.put(entry.getName(), FileUtility.toHex(digest.digest()));
+            }//end for
+        }finally{
+            zip.close();
+        }//end try...finally
+        return hashes;
+    }//end method
+
+    /**
+     * This method will read the input stream to the end, hashing everything read if there is a digest and writing it to the output stream if
+     * there is one.  The input stream is always closed.
+     *
+     * @param in the stream to read
+     * @param out the stream to write to or {@code null}
+     * @param digest the digest to update or {@code null}
+     * @param buffer the buffer to use
+     * @return the number of bytes read
+     * @throws IOException if the stream could not be read or written
+     */
+    private static long copy(InputStream in, OutputStream out, MessageDigest digest, byte[] buffer) throws IOException {
+        long count = 0;
+        try{
+            int read;
+            while((read = in.read(buffer)) != -1){
+                if(digest != null){
+                    digest.update(buffer, 0, read);
+                }//end if
+                if(out != null){
+                    out.write(buffer, 0, read);
+                }//end if
+                count += read;
+            }//end while
+        }finally{
+            in.close();
+        }//end try...finally
+        return count;
+    }//end method
+
+    /**
+     * @return a new SHA-256 digest
+     * @throws IOException if SHA-256 is not supported
+     */
+    private static MessageDigest newDigest() throws IOException {
+        try{
+            return MessageDigest.getInstance("SHA-256");
+        }catch(NoSuchAlgorithmException e){
+            throw new IOException("SHA-256 is not supported by this JVM.", e);
+        }//end try...catch
+    }//end method
+
+    /**
+     * @param closeable the resource to close or {@code null}
+     */
+    private static void closeQuietly(Closeable closeable) {
+        if(closeable != null){
+            try{
+                closeable.close();
+            }catch(IOException e){
+                myLogger.log(Level.FINE, "IOException while trying to close " + closeable + ". Error message is: " + e.getMessage(), e);
+            }//end try...catch
+        }//end if
+    }//end method
+
+}//end class
@@ -0,0 +1,291 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * JarResourceIndex class - A process wide index of the entries within a jar file.
+ *
+ * <p>The jar is opened and its central directory is read once when the index is first requested, and that one handle is kept open for
+ * the life of the process so that extracting resources never opens and parses the jar again.  Entries can then be looked up by
+ * their full name or by their file name (the last segment of the entry name) without scanning the jar again.  The index of the running
+ * application jar and the SimpleFX Framework jar are obtained with {@link #forApplication()} and {@link #forFramework()}; when the
+ * framework is packaged inside of the application jar both methods return the same index.</p>
+ *
+ * <p>Only jars that stay in place for the life of the process should be indexed.  Jars that live within a shared directory are not indexed
+ * so that the process never holds a lock on a file that may be replaced with a newer version.  The update, refactor and delete processes
+ * only rename or delete a jar once the JVM that had it open has exited, nevertheless {@link #closeAll()} must be called right before one of
+ * those processes is started so that no handle is left open while the running application exits.  An index whose handle was closed opens
+ * the jar again the next time a stream is requested, for example when starting the process failed and the application keeps running.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     JarResourceIndex index = JarResourceIndex.forApplication();
+ *     JarEntry entry = index.findByFileName("application.properties");
+ *     if(entry != null){
+ *         properties.load(index.getInputStream(entry));
+ *     }
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class JarResourceIndex {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.JarResourceIndex";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+    private static final Map<String, JarResourceIndex> indexes = new ConcurrentHashMap<String, JarResourceIndex>();
+
+    private final File file;
+    private final Manifest manifest;
+    private JarFile jarFile;
+    private final Map<String, JarEntry> entriesByName;
+    private final Map<String, List<JarEntry>> entriesByFileName;
+    private final List<JarEntry> entries;
+
+    /**
+     * Creates a JarResourceIndex by opening the jar and reading every entry and the manifest of the jar.  The jar is left open.
+     *
+     * @param file the jar file to index
+     * @throws IOException if the jar could not be opened
+     */
+    private JarResourceIndex(File file) throws IOException {
+        long start = System.currentTimeMillis();
+        this.file = file;
+        Map<String, JarEntry> byName = new HashMap<String, JarEntry>();
+        Map<String, List<JarEntry>> byFileName = new HashMap<String, List<JarEntry>>();
+        List<JarEntry> all = new ArrayList<JarEntry>();
+        JarFile jarFile = new JarFile(file);
+        try{
+            this.manifest = jarFile.getManifest();
+            Enumeration<JarEntry> jarEntries = jarFile.entries();
+            while(jarEntries.hasMoreElements()){
+                JarEntry entry = jarEntries.nextElement();
+                all.add(entry);
+                byName.put(entry.getName(), entry);
+                if(!entry.isDirectory()){
+                    String fileName = entry.getName().substring(entry.getName().lastIndexOf('/') + 1);
+                    List<JarEntry> sameName = byFileName.get(fileName);
+                    if(sameName == null){
+                        sameName = new ArrayList<JarEntry>(1);
+                        byFileName.put(fileName, sameName);
+                    }//end if
+                    sameName.add(entry);
+                }//end if
+            }//end while
+        }catch(IOException | RuntimeException e){
+            jarFile.close();
+            throw e;
+        }//end try...catch
+        this.jarFile = jarFile;
+        this.entriesByName = byName;
+        this.entriesByFileName = byFileName;
+        this.entries = Collections.unmodifiableList(all);
+        myLogger.info("Indexed " + all.size() + " entries of " + file.getPath() + " in " + (System.currentTimeMillis() - start) + " ms.");
+    }//end constructor
+
+    /**
+     * This method will return the index of the jar located at the given path, creating it if this is the first time it was requested.
+     *
+     * @param path the path to the jar file
+     * @return the shared index of the jar
+     * @throws IOException if the jar could not be opened
+     */
+    public static JarResourceIndex forJar(String path) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "forJar", path);
+        File file = new File(path).getCanonicalFile();
+        String key = file.getPath();
+        JarResourceIndex index = indexes.get(key);
+        if(index == null){
+            synchronized(indexes){
+                index = indexes.get(key);
+                if(index == null){
+                    index = new JarResourceIndex(file);
+                    indexes.put(key, index);
+                }//end if
+            }//end synchronized
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "forJar", index);
+        return index;
+    }//end method
+
+    /**
+     * @return the index of the running application jar ({@link Constants#APP_FILE_LOCATION})
+     * @throws IOException if the jar could not be opened
+     */
+    public static JarResourceIndex forApplication() throws IOException {
+        return forJar(Constants.APP_FILE_LOCATION);
+    }//end method
+
+    /**
+     * @return the index of the jar containing the SimpleFX Framework ({@link Constants#FRAMEWORK_FILE_LOCATION})
+     * @throws IOException if the jar could not be opened
+     */
+    public static JarResourceIndex forFramework() throws IOException {
+        return forJar(Constants.FRAMEWORK_FILE_LOCATION);
+    }//end method
+
+    /**
+     * This method will close the open handle of every index.  It must be called right before a process that renames, deletes or relaunches
+     * the indexed jars is started.
+     */
+    public static void closeAll() {
+        myLogger.entering(MY_CLASS_NAME, "closeAll");
+        synchronized(indexes){
+            for(JarResourceIndex index : indexes.values()){
+                index.close();
+            }//end for
+        }//end synchronized
+        myLogger.exiting(MY_CLASS_NAME, "closeAll");
+    }//end method
+
+    /**
+     * @param name the full name of the entry (eg. com/omo/free/app/resources/application.properties)
+     * @return the entry or {@code null} if the jar does not contain it
+     */
+    public JarEntry getEntry(String name) {
+        return entriesByName.get(name);
+    }//end method
+
+    /**
+     * This method will return the first entry, in the order the entries are stored within the jar, with the given file name.
+     *
+     * @param fileName the file name of the entry without any directories (eg. application.properties)
+     * @return the entry or {@code null} if the jar does not contain it
+     */
+    public JarEntry findByFileName(String fileName) {
+        List<JarEntry> sameName = entriesByFileName.get(fileName);
+        return sameName == null ? null : sameName.get(0);
+    }//end method
+
+    /**
+     * This method will return the first entry with the given file name whose path contains one of the preferred directories.  If none of
+     * the entries are within a preferred directory the first entry with the given file name is returned.
+     *
+     * @param fileName the file name of the entry without any directories
+     * @param preferredDirectories the directories to prefer (eg. splash/)
+     * @return the entry or {@code null} if the jar does not contain it
+     */
+    public JarEntry findByFileName(String fileName, String... preferredDirectories) {
+        List<JarEntry> sameName = entriesByFileName.get(fileName);
+        if(sameName == null){
+            return null;
+        }//end if
+        for(int i = 0, j = sameName.size();i < j;i++){
+            for(int k = 0;k < preferredDirectories.length;k++){
+                if(sameName.get(i).getName().contains(preferredDirectories[k])){
+                    return sameName.get(i);
+                }//end if
+            }//end for
+        }//end for
+        return sameName.get(0);
+    }//end method
+
+    /**
+     * This method will return the first entry whose name contains the given text.  This is a linear search and is only meant as a fall back
+     * for callers that pass in partial paths rather than file names.
+     *
+     * @param text the text that the entry name must contain
+     * @return the entry or {@code null} if the jar does not contain it
+     */
+    public JarEntry findContaining(String text) {
+        for(int i = 0, j = entries.size();i < j;i++){
+            if(entries.get(i).getName().contains(text)){
+                return entries.get(i);
+            }//end if
+        }//end for
+        return null;
+    }//end method
+
+    /**
+     * @return an unmodifiable list of every entry in the order they are stored within the jar
+     */
+    public List<JarEntry> getEntries() {
+        return entries;
+    }//end method
+
+    /**
+     * This method will return a stream of the entry's content read through the open handle of the jar.
+     *
+     * @param entry the entry to read
+     * @return an input stream of the entry's content which must be closed by the caller
+     * @throws IOException if the entry could not be read
+     */
+    public InputStream getInputStream(JarEntry entry) throws IOException {
+        InputStream in = getJarFile().getInputStream(entry);
+        if(in == null){
+            throw new IOException("The entry " + entry.getName() + " no longer exists within " + file.getPath());
+        }//end if
+        return in;
+    }//end method
+
+    /**
+     * @return the open handle of the jar, the jar is opened again if {@link #closeAll()} closed it
+     * @throws IOException if the jar could not be opened
+     */
+    private synchronized JarFile getJarFile() throws IOException {
+        if(jarFile == null){
+            myLogger.fine("Opening " + file.getPath() + " again as its handle was closed.");
+            jarFile = new JarFile(file);
+        }//end if
+        return jarFile;
+    }//end method
+
+    /**
+     * This method will close the open handle of the jar.
+     */
+    private synchronized void close() {
+        if(jarFile != null){
+            try{
+                jarFile.close();
+            }catch(IOException e){
+                myLogger.log(Level.WARNING, "IOException occurred while trying to close " + file.getPath() + ".  Error message is: " + e.getMessage(), e);
+            }//end try...catch
+            jarFile = null;
+        }//end if
+    }//end method
+
+    /**
+     * @return the manifest of the jar as it was when the jar was indexed or {@code null} if it does not have one
+     * @throws IOException if the manifest could not be read
+     */
+    public Manifest getManifest() throws IOException {
+        return manifest;
+    }//end method
+
+    /**
+     * @return the main attributes of the manifest or {@code null} if the jar does not have a manifest
+     * @throws IOException if the manifest could not be read
+     */
+    public Attributes getMainAttributes() throws IOException {
+        return manifest == null ? null : manifest.getMainAttributes();
+    }//end method
+
+    /**
+     * @return the indexed jar file
+     */
+    public File getFile() {
+        return file;
+    }//end method
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override public String toString() {
+        return "JarResourceIndex [file=" + file + ", entries=" + entries.size() + "]";
+    }//end method
+
+}//end class
@@ -0,0 +1,186 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ShareProbe class - Looks at files on a shared directory without letting an unreachable file server hold up the caller.
+ *
+ * <p>Asking Windows about a file on a UNC path of a DFS or file server that can not be reached blocks for 20 to 60 seconds before it fails.
+ * Every look at a file through this class is run on a background thread and the caller gets its answer within a hard deadline
+ * ({@link #DEFAULT_DEADLINE_MILLIS} by default).  When the deadline passes the file is treated as unreachable and the server that holds it is
+ * remembered as unreachable for {@link #COOL_DOWN_MILLIS} milliseconds.  During that time every look at a file on that server is answered
+ * as unreachable right away without going to the network.</p>
+ *
+ * <p>The time every look took is kept per server and can be read with {@link #getLastLatencyMillis(File)} along with the number of looks
+ * that ran past their deadline ({@link #getTimeoutCount()}).</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     File[] jars = ShareProbe.listFiles(sharedDir, filter);//null when the shared directory does not answer within the deadline
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class ShareProbe {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.ShareProbe";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The default number of milliseconds a look at a file is given. */
+    public static final long DEFAULT_DEADLINE_MILLIS = 1500;
+    /** The number of milliseconds a server that did not answer is treated as unreachable. */
+    public static final long COOL_DOWN_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "SFXShareProbe");
+        thread.setDaemon(true);//a look at a dead server can block long past its deadline
+        return thread;
+    });
+    private static final Map<String, Long> unreachableUntil = new ConcurrentHashMap<String, Long>();
+    private static final Map<String, Long> lastLatency = new ConcurrentHashMap<String, Long>();
+    private static final AtomicLong timeouts = new AtomicLong();
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private ShareProbe() {}//end constructor
+
+    /**
+     * @param directory the directory to look at
+     * @return {@code true} if the directory exists and answered within the default deadline
+     */
+    public static boolean isDirectory(File directory) {
+        return isDirectory(directory, DEFAULT_DEADLINE_MILLIS);
+    }//end method
+
+    /**
+     * @param directory the directory to look at
+     * @param deadlineMillis the number of milliseconds to wait for an answer
+     * @return {@code true} if the directory exists and answered within the deadline
+     */
+    public static boolean isDirectory(File directory, long deadlineMillis) {
+        return probe(directory, deadlineMillis, () -> directory.isDirectory(), Boolean.FALSE).booleanValue();
+    }//end method
+
+    /**
+     * @param file the file to look at
+     * @return {@code true} if the file exists and answered within the default deadline
+     */
+    public static boolean exists(File file) {
+        return probe(file, DEFAULT_DEADLINE_MILLIS, () -> file.exists(), Boolean.FALSE).booleanValue();
+    }//end method
+
+    /**
+     * @param file the file to look at
+     * @return the last modified time of the file or 0 if it does not exist or did not answer within the default deadline
+     */
+    public static long lastModified(File file) {
+        return probe(file, DEFAULT_DEADLINE_MILLIS, () -> file.lastModified(), Long.valueOf(0)).longValue();
+    }//end method
+
+    /**
+     * @param file the file to look at
+     * @return the size of the file or 0 if it does not exist or did not answer within the default deadline
+     */
+    public static long length(File file) {
+        return probe(file, DEFAULT_DEADLINE_MILLIS, () -> file.length(), Long.valueOf(0)).longValue();
+    }//end method
+
+    /**
+     * @param directory the directory to list
+     * @param filter the filter the names must pass or {@code null} for every file
+     * @return the files within the directory or {@code null} if the directory does not exist or did not answer within the default deadline
+     */
+    public static File[] listFiles(File directory, FilenameFilter filter) {
+        return probe(directory, DEFAULT_DEADLINE_MILLIS, () -> directory.listFiles(filter), null);
+    }//end method
+
+    /**
+     * This method will run a look at a file on a background thread and wait up to the deadline for its answer.
+     *
+     * @param file the file that is looked at
+     * @param deadlineMillis the number of milliseconds to wait for an answer
+     * @param look the look at the file
+     * @param whenUnreachable the answer when the file did not answer in time or its server is cooling down
+     * @param <T> the type of the answer
+     * @return the answer
+     */
+    public static <T> T probe(File file, long deadlineMillis, Callable<T> look, T whenUnreachable) {
+        String server = getServer(file);
+        Long until = unreachableUntil.get(server);
+        if(until != null){
+            if(System.currentTimeMillis() < until.longValue()){
+                myLogger.fine(server + " did not answer recently therefore " + file.getPath() + " is treated as unreachable.");
+                return whenUnreachable;
+            }//end if
+            unreachableUntil.remove(server);
+        }//end if
+
+        long start = System.currentTimeMillis();
+        Future<T> answer = executor.submit(look);
+        try{
+            T result = answer.get(deadlineMillis, TimeUnit.MILLISECONDS);
+            lastLatency.put(server, System.currentTimeMillis() - start);
+            return result;
+        }catch(TimeoutException e){
+            answer.cancel(true);
+            timeouts.incrementAndGet();
+            lastLatency.put(server, System.currentTimeMillis() - start);
+            unreachableUntil.put(server, System.currentTimeMillis() + COOL_DOWN_MILLIS);
+            myLogger.warning(server + " did not answer a look at " + file.getPath() + " within " + deadlineMillis + " ms therefore it is treated as unreachable for the next " + TimeUnit.MILLISECONDS.toSeconds(COOL_DOWN_MILLIS) + " seconds.");
+        }catch(ExecutionException e){
+            myLogger.log(Level.WARNING, "Exception while looking at " + file.getPath() + ". Error message is: " + e.getMessage(), e);
+        }catch(InterruptedException e){
+            answer.cancel(true);
+            Thread.currentThread().interrupt();
+        }//end try...catch
+        return whenUnreachable;
+    }//end method
+
+    /**
+     * @param file a file on the server
+     * @return the number of milliseconds the last look at a file on the same server took or -1 if nothing has been looked at there
+     */
+    public static long getLastLatencyMillis(File file) {
+        Long latency = lastLatency.get(getServer(file));
+        return latency == null ? -1 : latency.longValue();
+    }//end method
+
+    /**
+     * @return the number of looks that ran past their deadline since the application started
+     */
+    public static long getTimeoutCount() {
+        return timeouts.get();
+    }//end method
+
+    /**
+     * @param file a file
+     * @return the server of a UNC path, for example {@code //server}, or the root of any other path
+     */
+    static String getServer(File file) {
+        String path = file.getPath().replace('\\', '/');
+        if(path.startsWith("//")){
+            int end = path.indexOf('/', 2);
+            return (end == -1 ? path : path.substring(0, end)).toLowerCase();
+        }//end if
+        File root = file.getAbsoluteFile();
+        while(root.getParentFile() != null){
+            root = root.getParentFile();
+        }//end while
+        return root.getPath();
+    }//end method
+
+}//end class
@@ -0,0 +1,327 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.function.DoubleConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * VerifiedCopy class - Copies a file while computing its SHA-256 checksum in the same pass and checks the copy before it is put in place.
+ *
+ * <p>The copy is written to {@code <target>.part} through a large direct buffer and every few megabytes the written bytes are forced to disk
+ * and the offset is recorded within {@code <target>.part.checkpoint} along with the path, size and last modified time of the source.  When a
+ * copy is interrupted, by a dropped connection to the shared directory or by the application being closed, the next copy of the same
+ * unchanged source keeps the bytes up to the recorded offset, hashes them from the local disk and only reads the rest of the source.  A
+ * failed read is retried from the last checkpoint a few times before giving up.</p>
+ *
+ * <p>Once the source has been read the size of the copy is compared with the source and, when one is given, the checksum of the copy is
+ * compared with the published checksum.  Only a copy that matches is moved over the target.  A copy that does not match is deleted along
+ * with its checkpoint so that the next copy starts over.</p>
+ *
+ * <p><b>Example</b></p>
+ * <pre><code>
+ *     String sha256 = VerifiedCopy.copy(sharedJar, new File(tempDir, sharedJar.getName()), catalog.getSha256());
+ * </code></pre>
+ *
+ * @author Richard Salas JCCC
+ * @see VersionCatalog#getSha256()
+ */
+public final class VerifiedCopy {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.VerifiedCopy";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The suffix of the partially written copy. */
+    public static final String PART_SUFFIX = ".part";
+    /** The suffix of the checkpoint of a partially written copy. */
+    public static final String CHECKPOINT_SUFFIX = ".part.checkpoint";
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final long CHECKPOINT_BYTES = 8L * 1024 * 1024;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_PAUSE_MILLIS = 1000;
+
+    /**
+     * Constructor is private so that this class can not be initialized from a client.
+     */
+    private VerifiedCopy() {}//end constructor
+
+    /**
+     * This method will copy the source file over the target file as fast as the source can be read.
+     *
+     * @param source the file to copy
+     * @param target the file to write
+     * @param expectedSha256 the published SHA-256 checksum of the source or {@code null} if only the size is to be checked
+     * @return the SHA-256 checksum of the copy
+     * @throws IOException if the source could not be copied or the copy does not match
+     */
+    public static String copy(File source, File target, String expectedSha256) throws IOException {
+        return copy(source, target, expectedSha256, 0, null);
+    }//end method
+
+    /**
+     * This method will copy the source file over the target file.
+     *
+     * @param source the file to copy
+     * @param target the file to write
+     * @param expectedSha256 the published SHA-256 checksum of the source or {@code null} if only the size is to be checked
+     * @param bytesPerSecond the maximum number of bytes to read per second or 0 for no limit
+     * @param progress receives the fraction (0 to 1) of the source that has been copied or {@code null}
+     * @return the SHA-256 checksum of the copy
+     * @throws IOException if the source could not be copied or the copy does not match
+     */
+    public static String copy(File source, File target, String expectedSha256, long bytesPerSecond, DoubleConsumer progress) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "copy", new Object[]{source, target, expectedSha256, bytesPerSecond});
+        long start = System.currentTimeMillis();
+        long size = source.length();
+        long lastModified = source.lastModified();
+        if(lastModified == 0){
+            throw new IOException("The file " + source.getAbsolutePath() + " does not exist or can not be reached.");
+        }//end if
+        File part = new File(target.getPath() + PART_SUFFIX);
+        File checkpoint = new File(target.getPath() + CHECKPOINT_SUFFIX);
+
+        MessageDigest digest = null;
+        long copied = 0;
+        for(int attempt = 1;;attempt++){
+            digest = newDigest();
+            try{
+                copied = transfer(source, size, lastModified, part, checkpoint, digest, bytesPerSecond, progress);
+                break;
+            }catch(InterruptedIOException e){
+                throw e;
+            }catch(IOException e){
+                if(attempt >= MAX_ATTEMPTS){
+                    throw e;
+                }//end if
+                myLogger.log(Level.WARNING, "Attempt " + attempt + " to copy " + source.getAbsolutePath() + " failed and will be resumed from the last checkpoint. Error message is: " + e.getMessage(), e);
+                pause(RETRY_PAUSE_MILLIS * attempt);
+            }//end try...catch
+        }//end for
+
+        String sha256 = FileUtility.toHex(digest.digest());
+        if(copied != size || source.length() != size || source.lastModified() != lastModified){
+            discard(part, checkpoint);
+            throw new IOException("The file " + source.getAbsolutePath() + " changed while it was being copied.");
+        }//end if
+        if(expectedSha256 != null && !expectedSha256.equalsIgnoreCase(sha256)){
+            discard(part, checkpoint);
+            throw new IOException("Checksum of the copy of " + source.getAbsolutePath() + " is " + sha256 + " but the published checksum is " + expectedSha256 + ".");
+        }//end if
+        Files.move(part.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        checkpoint.delete();
+        myLogger.info("Copied and verified " + source.getName() + " (" + size + " bytes) in " + (System.currentTimeMillis() - start) + " ms.");
+        myLogger.exiting(MY_CLASS_NAME, "copy", sha256);
+        return sha256;
+    }//end method
+
+    /**
+     * This method will copy the source into the partial copy starting from the last checkpoint of an earlier copy of the same source.
+     *
+     * @param source the file to copy
+     * @param size the size of the source when the copy started
+     * @param lastModified the last modified time of the source when the copy started
+     * @param part the partial copy
+     * @param checkpoint the checkpoint of the partial copy
+     * @param digest receives every byte of the copy
+     * @param bytesPerSecond the maximum number of bytes to read per second or 0 for no limit
+     * @param progress receives the fraction (0 to 1) of the source that has been copied or {@code null}
+     * @return the number of bytes within the partial copy
+     * @throws IOException if the source could not be read or the copy could not be written
+     */
+    private static long transfer(File source, long size, long lastModified, File part, File checkpoint, MessageDigest digest, long bytesPerSecond, DoubleConsumer progress) throws IOException {
+        long offset = findResumeOffset(source, size, lastModified, part, checkpoint);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        FileChannel in = null;
+        FileChannel out = null;
+        try{
+            out = FileChannel.open(part.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            out.truncate(offset);
+            if(offset > 0){
+                hashExisting(out, offset, digest, buffer);//a local read of the bytes kept from the earlier copy
+                myLogger.info("Resuming the copy of " + source.getName() + " at byte " + offset + " of " + size + ".");
+            }//end if
+            out.position(offset);
+            in = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+            in.position(offset);
+
+            long copied = offset;
+            long checkpointed = offset;
+            long start = System.currentTimeMillis();
+            int read;
+            while((read = in.read(buffer)) != -1){
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while(buffer.hasRemaining()){
+                    out.write(buffer);
+                }//end while
+                buffer.clear();
+                copied += read;
+                if(copied - checkpointed >= CHECKPOINT_BYTES){
+                    out.force(false);//the checkpoint must never be ahead of what is on disk
+                    writeCheckpoint(checkpoint, source, size, lastModified, copied);
+                    checkpointed = copied;
+                }//end if
+                if(progress != null && size > 0){
+                    progress.accept(Math.min(1.0, (double) copied / size));
+                }//end if
+                if(bytesPerSecond > 0){
+                    long ahead = ((copied - offset) * 1000 / bytesPerSecond) - (System.currentTimeMillis() - start);
+                    if(ahead > 0){
+                        pause(ahead);
+                    }//end if
+                }//end if
+            }//end while
+            out.force(false);
+            writeCheckpoint(checkpoint, source, size, lastModified, copied);
+            return copied;
+        }finally{
+            if(in != null){
+                try{
+                    in.close();
+                }catch(IOException e){
+                    myLogger.log(Level.FINE, "IOException while trying to close " + source.getAbsolutePath() + ". Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+            if(out != null){
+                out.close();
+            }//end if
+        }//end try...finally
+    }//end method
+
+    /**
+     * @param source the file to copy
+     * @param size the size of the source
+     * @param lastModified the last modified time of the source
+     * @param part the partial copy
+     * @param checkpoint the checkpoint of the partial copy
+     * @return the number of bytes of the partial copy that can be kept or 0 if the copy has to start over
+     */
+    private static long findResumeOffset(File source, long size, long lastModified, File part, File checkpoint) {
+        if(!part.isFile() || !checkpoint.isFile()){
+            return 0;
+        }//end if
+        Properties properties = new Properties();
+        InputStream in = null;
+        try{
+            in = new FileInputStream(checkpoint);
+            properties.load(in);
+            boolean sameSource = source.getAbsolutePath().equals(properties.getProperty("source"))
+                    && String.valueOf(size).equals(properties.getProperty("size"))
+                    && String.valueOf(lastModified).equals(properties.getProperty("lastModified"));
+            long offset = Long.parseLong(properties.getProperty("offset", "0"));
+            if(sameSource && offset > 0 && offset <= size && offset <= part.length()){
+                return offset;
+            }//end if
+        }catch(IOException | NumberFormatException e){
+            myLogger.log(Level.FINE, "Could not read the checkpoint " + checkpoint.getAbsolutePath() + " therefore the copy starts over. Error message is: " + e.getMessage(), e);
+        }finally{
+            if(in != null){
+                try{
+                    in.close();
+                }catch(IOException e){
+                    myLogger.log(Level.FINEST, "IOException while trying to close the checkpoint. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return 0;
+    }//end method
+
+    /**
+     * @param channel the partial copy
+     * @param length the number of bytes to hash from the start of the partial copy
+     * @param digest receives the bytes
+     * @param buffer the buffer to read through
+     * @throws IOException if the partial copy could not be read
+     */
+    private static void hashExisting(FileChannel channel, long length, MessageDigest digest, ByteBuffer buffer) throws IOException {
+        long position = 0;
+        while(position < length){
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), length - position));
+            int read = channel.read(buffer, position);
+            if(read == -1){
+                throw new IOException("The partial copy is shorter than its checkpoint.");
+            }//end if
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }//end while
+        buffer.clear();
+    }//end method
+
+    /**
+     * @param checkpoint the checkpoint to write
+     * @param source the file being copied
+     * @param size the size of the source
+     * @param lastModified the last modified time of the source
+     * @param offset the number of bytes of the partial copy that are on disk
+     * @throws IOException if the checkpoint could not be written
+     */
+    private static void writeCheckpoint(File checkpoint, File source, long size, long lastModified, long offset) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source", source.getAbsolutePath());
+        properties.setProperty("size", String.valueOf(size));
+        properties.setProperty("lastModified", String.valueOf(lastModified));
+        properties.setProperty("offset", String.valueOf(offset));
+        File temp = new File(checkpoint.getPath() + ".tmp");
+        OutputStream out = new FileOutputStream(temp);
+        try{
+            properties.store(out, "SimpleFX copy checkpoint");
+        }finally{
+            out.close();
+        }//end try...finally
+        Files.move(temp.toPath(), checkpoint.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }//end method
+
+    /**
+     * @param part the partial copy to delete
+     * @param checkpoint the checkpoint to delete
+     */
+    private static void discard(File part, File checkpoint) {
+        if(!part.delete() && part.exists()){
+            myLogger.warning("Could not delete the partial copy " + part.getAbsolutePath());
+        }//end if
+        checkpoint.delete();
+    }//end method
+
+    /**
+     * @param millis the number of milliseconds to pause
+     * @throws InterruptedIOException if interrupted while pausing
+     */
+    private static void pause(long millis) throws InterruptedIOException {
+        try{
+            Thread.sleep(millis);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The copy was interrupted.");
+        }//end try...catch
+    }//end method
+
+    /**
+     * @return a new SHA-256 digest
+     * @throws IOException if SHA-256 is not supported
+     */
+    private static MessageDigest newDigest() throws IOException {
+        try{
+            return MessageDigest.getInstance("SHA-256");
+        }catch(NoSuchAlgorithmException e){
+            throw new IOException("SHA-256 is not supported by this JVM.", e);
+        }//end try...catch
+    }//end method
+
+}//end class
@@ -0,0 +1,319 @@
+package com.omo.free.simple.fx.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * VersionCatalog class - The small file published next to the jars of an application within the shared directory that describes the latest
+ * version of that application.
+ *
+ * <p>The catalog is named after the prefix of the application jar, so the catalog of {@code MyAppv1.3.jar} is {@code MyAppv1.catalog}, and
+ * contains the name of the latest jar along with its Implementation-Version, build timestamp, size and SHA-256 checksum.  The build writes
+ * the catalog whenever it packages or publishes a jar (refer to {@link #main(String[])}).  A client finds out whether there is a newer
+ * version with a single read of the catalog instead of listing the shared directory and opening the jars that are found there.</p>
+ *
+ * <p>The catalog also carries the rollout policy of the version.  <b>rollout.percent</b> is the percentage of clients that are offered the
+ * version (100 by default), <b>rollout.window.minutes</b> is the window after publishing over which the offers are spread out (0 by default)
+ * and <b>rollout.max.concurrent</b> is the number of clients that may copy the version at the same time (0 by default for no limit).</p>
+ *
+ * <p>When the build wrote the entry manifest of the jar before the catalog the SHA-256 checksum of the entry manifest is recorded as
+ * <b>entries.sha256</b> (refer to {@link JarDelta}).</p>
+ *
+ * <p>Catalogs that have been read are cached for the life of the process and are only read again when the last modified time of the
+ * catalog file changes.</p>
+ *
+ * @author Richard Salas JCCC
+ */
+public final class VersionCatalog {
+
+    private static final String MY_CLASS_NAME = "com.omo.free.simple.fx.util.VersionCatalog";
+    private static Logger myLogger = Logger.getLogger(MY_CLASS_NAME);
+
+    /** The suffix of a catalog file. */
+    public static final String CATALOG_SUFFIX = ".catalog";
+
+    private static final Pattern JAR_NAME_PATTERN = Pattern.compile("^(.*)(v\\d+)(\\.\\d+)(\\.jar)$");
+    private static final Map<String, VersionCatalog> cache = new ConcurrentHashMap<String, VersionCatalog>();
+
+    private final long lastModified;
+    private final String jarName;
+    private final String version;
+    private final long built;
+    private final long size;
+    private final String sha256;
+    private final long published;
+    private final int rolloutPercent;
+    private final long rolloutWindowMinutes;
+    private final int rolloutMaxConcurrent;
+    private final String entriesSha256;
+
+    /**
+     * Creates a VersionCatalog.
+     *
+     * @param lastModified the last modified time of the catalog file this catalog was read from
+     * @param properties the contents of the catalog file
+     */
+    private VersionCatalog(long lastModified, Properties properties) {
+        this.lastModified = lastModified;
+        this.jarName = properties.getProperty("jar");
+        this.version = properties.getProperty("version");
+        this.built = Long.parseLong(properties.getProperty("built", "0"));
+        this.size = Long.parseLong(properties.getProperty("size", "-1"));
+        this.sha256 = properties.getProperty("sha256");
+        this.published = Long.parseLong(properties.getProperty("published", String.valueOf(built)));
+        this.rolloutPercent = Integer.parseInt(properties.getProperty("rollout.percent", "100"));
+        this.rolloutWindowMinutes = Long.parseLong(properties.getProperty("rollout.window.minutes", "0"));
+        this.rolloutMaxConcurrent = Integer.parseInt(properties.getProperty("rollout.max.concurrent", "0"));
+        this.entriesSha256 = properties.getProperty("entries.sha256");
+    }//end constructor
+
+    /**
+     * This method is called by the build to write the catalog of a jar into the directory that contains the jar.
+     *
+     * <p>args[0] = the jar, args[1] = rollout.percent, args[2] = rollout.window.minutes, args[3] = rollout.max.concurrent (all optional)</p>
+     *
+     * @param args the command line arguments
+     * @throws IOException if the jar could not be read or the catalog could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if(args.length < 1){
+            System.err.println("Usage: VersionCatalog <jar> [rollout percent] [rollout window minutes] [rollout max concurrent]");
+            System.exit(1);
+        }//end if
+        int percent = args.length > 1 ? Integer.parseInt(args[1].trim()) : 100;
+        long windowMinutes = args.length > 2 ? Long.parseLong(args[2].trim()) : 0;
+        int maxConcurrent = args.length > 3 ? Integer.parseInt(args[3].trim()) : 0;
+        File catalog = write(new File(args[0]), percent, windowMinutes, maxConcurrent);
+        System.out.println("Wrote version catalog " + catalog.getAbsolutePath());
+    }//end method
+
+    /**
+     * This method will write the catalog of a jar into the directory that contains the jar.  The catalog is written to a temporary file and
+     * then moved into place so that a client never reads a partially written catalog.
+     *
+     * @param jar the jar to describe
+     * @return the catalog file that was written
+     * @throws IOException if the jar could not be read or the catalog could not be written
+     */
+    public static File write(File jar) throws IOException {
+        return write(jar, 100, 0, 0);
+    }//end method
+
+    /**
+     * This method will write the catalog of a jar along with its rollout policy into the directory that contains the jar.
+     *
+     * @param jar the jar to describe
+     * @param rolloutPercent the percentage of clients that are offered the jar
+     * @param rolloutWindowMinutes the number of minutes after publishing over which the offers are spread out
+     * @param rolloutMaxConcurrent the number of clients that may copy the jar at the same time or 0 for no limit
+     * @return the catalog file that was written
+     * @throws IOException if the jar could not be read or the catalog could not be written
+     */
+    public static File write(File jar, int rolloutPercent, long rolloutWindowMinutes, int rolloutMaxConcurrent) throws IOException {
+        myLogger.entering(MY_CLASS_NAME, "write", new Object[]{jar, rolloutPercent, rolloutWindowMinutes, rolloutMaxConcurrent});
+        File absoluteJar = jar.getAbsoluteFile();
+        String version = null;
+        JarFile jarFile = new JarFile(absoluteJar);
+        try{
+            Manifest manifest = jarFile.getManifest();
+            if(manifest != null){
+                version = manifest.getMainAttributes().getValue(Attributes.Name.IMPLEMENTATION_VERSION);
+            }//end if
+        }finally{
+            jarFile.close();
+        }//end try...finally
+
+        Properties properties = new Properties();
+        properties.setProperty("jar", absoluteJar.getName());
+        if(version != null){
+            properties.setProperty("version", version);
+        }//end if
+        properties.setProperty("built", String.valueOf(absoluteJar.lastModified()));
+        properties.setProperty("size", String.valueOf(absoluteJar.length()));
+        properties.setProperty("sha256", FileUtility.sha256Hex(absoluteJar));
+        properties.setProperty("published", String.valueOf(System.currentTimeMillis()));
+        properties.setProperty("rollout.percent", String.valueOf(Math.max(0, Math.min(100, rolloutPercent))));
+        properties.setProperty("rollout.window.minutes", String.valueOf(Math.max(0, rolloutWindowMinutes)));
+        properties.setProperty("rollout.max.concurrent", String.valueOf(Math.max(0, rolloutMaxConcurrent)));
+        File entries = new File(absoluteJar.getPath() + JarDelta.MANIFEST_SUFFIX);
+        if(entries.isFile() && entries.lastModified() >= absoluteJar.lastModified()){//an entry manifest older than the jar describes an earlier build
+            properties.setProperty("entries.sha256", FileUtility.sha256Hex(entries));
+        }//end if
+
+        File catalog = new File(absoluteJar.getParentFile(), getPrefix(absoluteJar.getName()) + CATALOG_SUFFIX);
+        File temp = new File(catalog.getPath() + ".tmp");
+        OutputStream out = new FileOutputStream(temp);
+        try{
+            properties.store(out, "SimpleFX version catalog");
+        }finally{
+            out.close();
+        }//end try...finally
+        Files.move(temp.toPath(), catalog.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        myLogger.exiting(MY_CLASS_NAME, "write", catalog);
+        return catalog;
+    }//end method
+
+    /**
+     * This method will return the catalog of an application within the shared directory.
+     *
+     * @param sharedDirectory the shared directory
+     * @param prefix the prefix of the application jar, for example {@code MyAppv1}
+     * @return the catalog or {@code null} if no valid catalog has been published
+     */
+    public static VersionCatalog find(File sharedDirectory, String prefix) {
+        myLogger.entering(MY_CLASS_NAME, "find", new Object[]{sharedDirectory, prefix});
+        File file = new File(sharedDirectory, prefix + CATALOG_SUFFIX);
+        String key = file.getAbsolutePath();
+        VersionCatalog catalog = null;
+        long lastModified = ShareProbe.lastModified(file);//0 when the catalog does not exist or can not be reached in time
+        if(lastModified != 0){
+            catalog = cache.get(key);
+            if(catalog == null || catalog.lastModified != lastModified){
+                catalog = read(file, lastModified);
+                if(catalog != null){
+                    cache.put(key, catalog);
+                }else{
+                    cache.remove(key);
+                }//end if
+            }//end if
+        }else{
+            cache.remove(key);
+        }//end if
+        myLogger.exiting(MY_CLASS_NAME, "find", catalog);
+        return catalog;
+    }//end method
+
+    /**
+     * @param file the catalog file
+     * @param lastModified the last modified time of the catalog file
+     * @return the catalog or {@code null} if it could not be read or is not valid
+     */
+    private static VersionCatalog read(File file, long lastModified) {
+        VersionCatalog catalog = null;
+        InputStream in = null;
+        try{
+            in = new FileInputStream(file);
+            Properties properties = new Properties();
+            properties.load(in);
+            catalog = new VersionCatalog(lastModified, properties);
+            if(catalog.jarName == null || catalog.version == null){
+                myLogger.warning("Version catalog " + file.getAbsolutePath() + " does not name a jar and its version therefore it is being ignored.");
+                catalog = null;
+            }//end if
+        }catch(IOException | NumberFormatException e){
+            myLogger.log(Level.WARNING, "Could not read the version catalog " + file.getAbsolutePath() + " therefore it is being ignored. Error message is: " + e.getMessage(), e);
+        }finally{
+            if(in != null){
+                try{
+                    in.close();
+                }catch(IOException e){
+                    myLogger.log(Level.FINE, "IOException while trying to close the version catalog. Error message is: " + e.getMessage(), e);
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return catalog;
+    }//end method
+
+    /**
+     * @param jarName the name of an application jar, for example {@code MyAppv1.3.jar}
+     * @return the prefix of the jar, for example {@code MyAppv1}, or the name without {@code .jar} when the name is not versioned
+     */
+    public static String getPrefix(String jarName) {
+        Matcher m = JAR_NAME_PATTERN.matcher(jarName);
+        if(m.find()){
+            return m.group(1) + m.group(2);
+        }//end if
+        return jarName.endsWith(".jar") ? jarName.substring(0, jarName.length() - 4) : jarName;
+    }//end method
+
+    /**
+     * @return the name of the latest jar
+     */
+    public String getJarName() {
+        return jarName;
+    }//end method
+
+    /**
+     * @return the Implementation-Version of the latest jar
+     */
+    public String getVersion() {
+        return version;
+    }//end method
+
+    /**
+     * @return the time the latest jar was built in milliseconds
+     */
+    public long getBuilt() {
+        return built;
+    }//end method
+
+    /**
+     * @return the size of the latest jar in bytes or -1 if it is not known
+     */
+    public long getSize() {
+        return size;
+    }//end method
+
+    /**
+     * @return the SHA-256 checksum of the latest jar or {@code null} if it is not known
+     */
+    public String getSha256() {
+        return sha256;
+    }//end method
+
+    /**
+     * @return the time the catalog was written in milliseconds, the build time of the jar for catalogs written before this was recorded
+     */
+    public long getPublished() {
+        return published;
+    }//end method
+
+    /**
+     * @return the percentage of clients that are offered the latest jar
+     */
+    public int getRolloutPercent() {
+        return rolloutPercent;
+    }//end method
+
+    /**
+     * @return the number of minutes after publishing over which the offers are spread out
+     */
+    public long getRolloutWindowMinutes() {
+        return rolloutWindowMinutes;
+    }//end method
+
+    /**
+     * @return the number of clients that may copy the latest jar at the same time or 0 for no limit
+     */
+    public int getRolloutMaxConcurrent() {
+        return rolloutMaxConcurrent;
+    }//end method
+
+    /**
+     * @return the SHA-256 checksum of the entry manifest of the latest jar or {@code null} if it was not recorded (refer to {@link JarDelta})
+     */
+    public String getEntriesSha256() {
+        return entriesSha256;
+    }//end method
+
+    @Override public String toString() {
+        return "VersionCatalog[jar=" + jarName + ", version=" + version + ", size=" + size + ", rollout=" + rolloutPercent + "%]";
+    }//end method
+
+}//end class
@@ -0,0 +1,281 @@
+/**
+ *
+ */
+package splash;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class used for applying an update once the older version of an application has exited.
+ *
+ * <p>The older version copies the newer jar into its temp.dir.holder directory, extracts this class into its resources directory and starts
+ * it.  This class then waits for the older version to exit, renames the newer jar into the directory of the older jar, deletes the older
+ * jar and relaunches the application exactly once with the JVM options the older version was running with.  The rename is atomic when the
+ * temp.dir.holder directory is on the same drive as the application, otherwise the newer jar is copied next to the older jar first and then
+ * renamed so that a partially written jar is never launched.  When the newer jar can not be put in place the older version is relaunched.</p>
+ *
+ * <p>The progress is sent to the updating splash screen ({@link AppUpdateSplash}) which is closed once the application has been
+ * relaunched.</p>
+ *
+ * <p>NOTE: Only the AppUpdateApplier.class file is extracted for applying an update so this class must not contain any inner classes and
+ * must not use any class outside of the JDK.</p>
+ *
+ * @author Richard Salas
+ */
+public class AppUpdateApplier {
+
+    /** Separates the JVM options from the application arguments on the command line. */
+    public static final String ARGUMENTS_SEPARATOR = "--";
+
+    private static final long PARENT_WAIT_MILLIS = 10000;
+    private static final long RELEASE_WAIT_MILLIS = 30000;
+
+    private static File debugLog;
+
+    /**
+     * Default constructor
+     */
+    public AppUpdateApplier() {
+    }//end constructor
+
+    /**
+     * Main method to apply an update.
+     *
+     * @param args array of arguments passed into the applier, refer to the comment at the start of this method
+     */
+    public static void main(String[] args) {
+        //args[0]=older jar; args[1]=newer jar within temp.dir.holder; args[2]=splash status file or -; args[3]=debug true|false;
+        //args[4]=java executable; args[5..]=JVM options; --; application arguments
+        if(args == null || args.length < 5){
+            System.err.println("Usage: AppUpdateApplier <older jar> <newer jar> <status file|-> <debug> <java> [JVM options] -- [application arguments]");
+            System.exit(1);
+        }//end if
+        File olderJar = new File(args[0]).getAbsoluteFile();
+        File newerJar = new File(args[1]).getAbsoluteFile();
+        String statusFile = "-".equals(args[2]) ? null : args[2];
+        File directory = olderJar.getParentFile();
+        if("true".equals(args[3])){
+            debugLog = new File(directory, "debug.log");
+        }//end if
+        log("**************************Start Applier Log*****************************");
+        log("Command Line Arguments " + Arrays.toString(args));
+
+        boolean parentExited = awaitParentExit();
+        log("Older version exited: " + parentExited);
+        send(statusFile, "PROGRESS 90 Replacing the older version");
+
+        File launchJar = olderJar;
+        File targetJar = new File(directory, newerJar.getName());
+        if(replace(newerJar, targetJar)){
+            launchJar = targetJar;
+            if(!olderJar.equals(targetJar)){
+                log("Delete of " + olderJar + ": " + retry(() -> !olderJar.exists() || olderJar.delete()));
+            }//end if
+        }else{
+            log("The newer jar could not be put in place therefore the older version is relaunched.");
+        }//end if
+        File transferDirectory = newerJar.getParentFile();
+        if(transferDirectory.delete()){
+            log("Deleted " + transferDirectory);
+        }//end if
+
+        List<String> command = new ArrayList<String>();
+        command.add(args[4]);
+        int i = 5;
+        for(;i < args.length && !ARGUMENTS_SEPARATOR.equals(args[i]);i++){
+            command.add(args[i]);
+        }//end for
+        command.add("-jar");
+        command.add(launchJar.getName());
+        for(i++;i < args.length;i++){
+            command.add(args[i]);
+        }//end for
+        send(statusFile, "PROGRESS 100 Starting the newer version");
+        log("Relaunching with " + command);
+        try{
+            new ProcessBuilder(command).directory(directory).start();
+        }catch(IOException e){
+            log("IOException trying to relaunch the application. Exception is " + e.getMessage());
+        }//end try...catch
+        if(!send(statusFile, "FINISHED") && statusFile != null){
+            writeFinished(statusFile);
+        }//end if
+        log("**************************End Applier Log*****************************");
+        System.exit(0);
+    }//end method
+
+    /**
+     * This method will put the newer jar in place.  The jar is renamed when the rename can be done atomically, otherwise it is copied next to
+     * the target and then renamed.
+     *
+     * @param newerJar the newer jar within temp.dir.holder
+     * @param targetJar the file the newer jar is put into
+     * @return true if the newer jar is in place
+     */
+    private static boolean replace(File newerJar, File targetJar) {
+        if(!newerJar.isFile()){
+            log("The newer jar " + newerJar + " does not exist.");
+            return false;
+        }//end if
+        boolean replaced = retry(() -> {
+            try{
+                Files.move(newerJar.toPath(), targetJar.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }catch(AtomicMoveNotSupportedException e){
+                File part = new File(targetJar.getPath() + ".part");
+                Files.copy(newerJar.toPath(), part.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.move(part.toPath(), targetJar.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                newerJar.delete();
+            }//end try...catch
+            return true;
+        });
+        log("Replace of " + targetJar + " with " + newerJar + ": " + replaced);
+        return replaced;
+    }//end method
+
+    /**
+     * This method will keep trying the action with a growing pause between attempts until it succeeds or 30 seconds pass.  The older
+     * version may still hold its jar for a moment after it has exited.
+     *
+     * @param action the action to try
+     * @return true if the action succeeded
+     */
+    private static boolean retry(Callable<Boolean> action) {
+        long deadline = System.currentTimeMillis() + RELEASE_WAIT_MILLIS;
+        long pause = 10;
+        while(true){
+            try{
+                if(action.call().booleanValue()){
+                    return true;
+                }//end if
+            }catch(Exception e){
+                log("Attempt failed. Exception is " + e.getMessage());
+            }//end try...catch
+            if(System.currentTimeMillis() >= deadline){
+                return false;
+            }//end if
+            try{
+                Thread.sleep(pause);
+            }catch(InterruptedException e){
+                return false;
+            }//end try...catch
+            pause = Math.min(pause * 2, 1000);
+        }//end while
+    }//end method
+
+    /**
+     * This method will wait for the older version to exit by watching for the end of standard input, which the older version feeds.
+     *
+     * @return true if the older version has exited
+     */
+    private static boolean awaitParentExit() {
+        if(System.console() != null){
+            return false;//started by hand from a console
+        }//end if
+        CountDownLatch exited = new CountDownLatch(1);
+        Thread watcher = new Thread(() -> {
+            try{
+                byte[] buffer = new byte[512];
+                while(System.in.read(buffer) != -1){
+                    //nothing is written to standard input
+                }//end while
+            }catch(IOException e){
+                //treated the same as the older version having exited
+            }//end try...catch
+            exited.countDown();
+        }, "SFXParentWatch");
+        watcher.setDaemon(true);
+        watcher.start();
+        try{
+            return exited.await(PARENT_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        }catch(InterruptedException e){
+            return false;
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method will send a message to the updating splash screen over the port it wrote into its status file.
+     *
+     * @param statusFile the status file of the updating splash screen or null
+     * @param message the message to send
+     * @return true if the message was delivered
+     */
+    private static boolean send(String statusFile, String message) {
+        if(statusFile == null){
+            return false;
+        }//end if
+        int port = 0;
+        try(BufferedReader br = new BufferedReader(new FileReader(statusFile))){
+            String line = br.readLine();
+            if(line != null && line.startsWith("PORT:")){
+                port = Integer.parseInt(line.substring(5).trim());
+            }//end if
+        }catch(IOException | NumberFormatException e){
+            log("Could not read the port of the updating splash screen. Exception is " + e.getMessage());
+        }//end try...catch
+        if(port == 0){
+            return false;
+        }//end if
+        try(Socket socket = new Socket()){
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1000);
+            Writer writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            writer.write(message);
+            writer.write('\n');
+            writer.flush();
+            return true;
+        }catch(IOException e){
+            log("Could not send " + message + " to the updating splash screen. Exception is " + e.getMessage());
+            return false;
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method will write FINISHED into the status file for a splash screen that does not listen on a port.
+     *
+     * @param statusFile the status file of the updating splash screen
+     */
+    private static void writeFinished(String statusFile) {
+        try(BufferedWriter bw = new BufferedWriter(new FileWriter(statusFile))){
+            bw.write("FINISHED");
+        }catch(IOException e){
+            log("IOException trying to write finished to the following file: " + statusFile + ". Exception is " + e.getMessage());
+        }//end try...catch
+    }//end method
+
+    /**
+     * This method will append a line to the debug log when debugging is turned on.
+     *
+     * @param line the line to append
+     */
+    private static void log(String line) {
+        if(debugLog == null){
+            return;
+        }//end if
+        try(BufferedWriter bw = new BufferedWriter(new FileWriter(debugLog, true))){
+            bw.write(line);
+            bw.newLine();
+        }catch(IOException e){
+            System.err.println("IOException trying to write to the debug log. Exception is " + e.getMessage());
+        }//end try...catch
+    }//end method
+
+}//end class
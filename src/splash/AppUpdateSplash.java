@@ -12,12 +12,27 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 
 /**
  * Class used for Displaying a splash screen to the user upon updating their application.
+ *
+ * <p>The splash screen listens on a loopback port and writes PORT:port into the splash/updatestatus.dat file.  The update process connects
+ * to that port to send its progress (PROGRESS percent phase) and to close the splash screen (FINISHED).  The status file is still checked
+ * every couple of seconds for FINISHED so that an update process from an older version of the framework can close it as well.  If the port
+ * can not be opened the status file is checked on every frame like before.</p>
+ *
+ * <p>NOTE: Only the AppUpdateSplash.class file is extracted for the splash screen so this class must not contain any inner classes.</p>
+ *
  * @author Richard Salas
  */
 public class AppUpdateSplash {
@@ -25,7 +40,12 @@ public class AppUpdateSplash {
     private static String DISPLAY_MESSAGE = "";
     private static final String[] ANIMATE = {".", ". .", ". . .", ". . . .", ". . . . .", ". . . . . .", ". . . . . . .", ". . . . . . . .", ". . . . . . . . ."};
 
+    private static final long STATUS_FILE_CHECK_MILLIS = 2000;
+
     private static String START_IN;
+    private static int progress = -1;
+    private static String phase;
+    private static boolean finished;
     /**
      * Default constructor
      */
@@ -80,16 +100,26 @@ public class AppUpdateSplash {
             return;
         }//end if
 
+        ServerSocket statusServer = openStatusServer();
+        long nextStatusFileCheck = 0;
         int animatePos = 0;
         while(true && System.currentTimeMillis() < thresholdTime){//this loop will terminate at 4 minutes no matter what!!!
-            if(!updateFinished()){
+            if(System.currentTimeMillis() >= nextStatusFileCheck){
+                finished = finished || updateFinished();
+                nextStatusFileCheck = System.currentTimeMillis() + (statusServer != null ? STATUS_FILE_CHECK_MILLIS : 0);
+            }//end if
+            if(!finished){
                 animateSplashScreen(uSplashGraphics, animatePos);
                 updateSplash.update();
-                try{
-                    Thread.sleep(150);
-                }catch(Exception e){
-                    System.err.println("Exception occurred while putting thread to sleep. Error is: " + e.getMessage());
-                }//end try...catch
+                if(statusServer != null){
+                    receiveStatus(statusServer);//returns as soon as a message arrives or after 150 milliseconds
+                }else{
+                    try{
+                        Thread.sleep(150);
+                    }catch(Exception e){
+                        System.err.println("Exception occurred while putting thread to sleep. Error is: " + e.getMessage());
+                    }//end try...catch
+                }//end if
                 // the animated periods array need to be set back to zero once threshold is reached
                 if(animatePos >= 8){
                     animatePos = 0;
@@ -100,9 +130,88 @@ public class AppUpdateSplash {
                 break;
             }//end if
         }//end while
+        if(statusServer != null){
+            try{
+                statusServer.close();
+            }catch(IOException e){
+                System.err.println("IOException occurred while trying to close the status port. Error is: " + e.getMessage());
+            }//end try...catch
+        }//end if
         updateSplash.close();//close the resources for the splash.
     }
 
+    /**
+     * This method will open the loopback port that the update process sends its status to and write the port into the updatestatus.dat file.
+     * @return the server socket or null if the port could not be opened in which case only the status file is used.
+     */
+    private static ServerSocket openStatusServer() {
+        ServerSocket server = null;
+        FileWriter writer = null;
+        try{
+            server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            server.setSoTimeout(150);
+            writer = new FileWriter(Paths.get(START_IN, "splash/updatestatus.dat").toFile());
+            writer.write("PORT:" + server.getLocalPort());
+            writer.close();
+            writer = null;
+        }catch(IOException e){
+            System.err.println("IOException occurred while trying to open the status port therefore the updatestatus.dat file will be used. Error is: " + e.getMessage());
+            if(server != null){
+                try{
+                    server.close();
+                }catch(IOException e1){
+                    System.err.println("IOException occurred while trying to close the status port. Error is: " + e1.getMessage());
+                }//end try...catch
+                server = null;
+            }//end if
+        }finally{
+            if(writer != null){
+                try{
+                    writer.close();
+                }catch(IOException e){
+                    System.err.println("IOException occurred while trying to close the writer. Error is: " + e.getMessage());
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+        return server;
+    }//end method
+
+    /**
+     * This method will wait for the next status message from the update process and apply it.
+     * @param server the server socket the update process connects to.
+     */
+    private static void receiveStatus(ServerSocket server) {
+        Socket socket = null;
+        try{
+            socket = server.accept();
+            socket.setSoTimeout(1000);
+            BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line = null;
+            while((line = br.readLine()) != null){
+                line = line.trim();
+                if("FINISHED".equals(line)){
+                    finished = true;
+                }else if(line.startsWith("PROGRESS ")){
+                    String[] parts = line.split(" ", 3);
+                    progress = Integer.parseInt(parts[1]);
+                    phase = parts.length > 2 ? parts[2] : null;
+                }//end if
+            }//end while
+        }catch(SocketTimeoutException e){
+            //no message arrived, time to draw the next frame
+        }catch(IOException | NumberFormatException e){
+            System.err.println("Exception occurred while trying to read a status message. Error is: " + e.getMessage());
+        }finally{
+            if(socket != null){
+                try{
+                    socket.close();
+                }catch(IOException e){
+                    System.err.println("IOException occurred while trying to close the status connection. Error is: " + e.getMessage());
+                }//end try...catch
+            }//end if
+        }//end try...catch...finally
+    }//end method
+
     /**
      * This will animate and draw the string to the screen for user to see.
      * @param graphics the graphics object used to modify what the user sees.
@@ -114,7 +223,15 @@ public class AppUpdateSplash {
         graphics.setPaintMode();
         graphics.setColor(Color.WHITE);
         graphics.setFont(new Font("Arial", Font.BOLD, 11));
-        graphics.drawString(DISPLAY_MESSAGE + ANIMATE[animatePos], 80, 402);
+        if(progress >= 0 && phase != null){
+            graphics.drawString(phase + " " + progress + "% " + ANIMATE[animatePos], 80, 402);
+        }else{
+            graphics.drawString(DISPLAY_MESSAGE + ANIMATE[animatePos], 80, 402);
+        }//end if
+        if(progress >= 0){
+            graphics.drawRect(80, 406, 407, 4);
+            graphics.fillRect(80, 406, (int) (407 * (progress / 100.0)), 4);
+        }//end if
     }
 
     /**